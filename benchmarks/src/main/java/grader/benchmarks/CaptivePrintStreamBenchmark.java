@@ -0,0 +1,72 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.stepthrough.CaptivePrintStream;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures capturing a program's output: printing the given number of lines into a
+ * CaptivePrintStream and then reading everything back. Chatty programs print thousands
+ * of lines, so this should stay roughly linear in the number of lines.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaptivePrintStreamBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int lines;
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+
+    @Benchmark
+    public String captureLines() {
+        CaptivePrintStream capture = new CaptivePrintStream(this.sink);
+
+        for (int i = 0; i < this.lines; ++i) {
+            capture.print("Enter a number: ");
+            capture.println(i);
+        }
+
+        capture.stopCollecting(false);
+        return capture.peek();
+    }
+
+}
@@ -0,0 +1,412 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Writes a synthetic cohort of eLC submissions for the "Calculator" assignment graded
+ * by {@link CohortScript}, for load testing. Every file is named the way eLC names
+ * downloads ({@code id-id - Name - Date - Calculator.java}), and the cohort is made
+ * from a fixed seed, so the same arguments always produce the same folder.
+ *
+ * Usage:
+ *
+ *     java -cp benchmarks.jar grader.benchmarks.CohortGenerator <folder>
+ *          [--students <n>] [--seed <n>] [--mix <kind>=<weight>,...]
+ *
+ * The kinds are listed in {@link Kind}; the default mix is
+ * {@value #DEFAULT_MIX}.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class CohortGenerator {
+
+    /**
+     * The kinds of submission that can be generated.
+     */
+    public enum Kind {
+        /** Passes every test. */
+        CORRECT,
+
+        /** Missing a semicolon, so it has to be graded by hand. */
+        COMPILE_ERROR,
+
+        /** factorial(0) throws an exception. */
+        EXCEPTION,
+
+        /** isPrime() never returns for some inputs, so it times out. */
+        INFINITE_LOOP,
+
+        /** main() prints tens of thousands of lines before its answer. */
+        OUTPUT_FLOOD,
+
+        /** Somebody else's correct submission, with new comments and spacing. */
+        COPIED;
+
+        public String getName() {
+            return this.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+
+        public static Kind fromName(String name) {
+            return Kind.valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+
+    public static final String DEFAULT_MIX
+            = "correct=60,compile-error=5,exception=10,infinite-loop=5,output-flood=5,"
+              + "copied=15";
+
+    private static final String[] MONTHS = { "Sep", "Oct", "Nov" };
+
+    private final Random random;
+
+    private final EnumMap<Kind, Integer> mix;
+
+    /**
+     * Correct programs written so far, for copying.
+     */
+    private final ArrayList<String> originals;
+
+
+    public CohortGenerator(long seed, EnumMap<Kind, Integer> mix) {
+        this.random = new Random(seed);
+        this.mix = mix;
+        this.originals = new ArrayList<>();
+    }
+
+
+    /**
+     * Parses a mix like "correct=60,copied=15". Kinds that aren't mentioned get a
+     * weight of 0.
+     *
+     * @param mix (String) the mix.
+     * @return (EnumMap<Kind, Integer>) the weight of each kind.
+     *
+     * @throws IllegalArgumentException thrown if the mix is malformed.
+     */
+    public static EnumMap<Kind, Integer> parseMix(String mix) {
+        EnumMap<Kind, Integer> weights = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            weights.put(kind, 0);
+        }
+
+        int total = 0;
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected <kind>=<weight>, not '"
+                                                   + part + "'");
+            }
+
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights can't be negative");
+            }
+
+            weights.put(Kind.fromName(pair[0].trim()), weight);
+            total += weight;
+        }
+
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        return weights;
+    }
+
+
+    /**
+     * Writes the given number of submissions into a folder.
+     *
+     * @param folder   (Path) the folder. It's created if necessary.
+     * @param students (int)  how many students to generate.
+     *
+     * @return (EnumMap<Kind, Integer>) how many of each kind were written.
+     *
+     * @throws IOException thrown if a file can't be written.
+     */
+    public EnumMap<Kind, Integer> generate(Path folder, int students) throws IOException {
+        Files.createDirectories(folder);
+
+        EnumMap<Kind, Integer> counts = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            counts.put(kind, 0);
+        }
+
+        for (int i = 0; i < students; ++i) {
+            Kind kind = this.pick();
+
+            /**
+             * There has to be someone to copy from.
+             */
+            if (kind == Kind.COPIED && this.originals.isEmpty()) {
+                kind = Kind.CORRECT;
+            }
+
+            String name = Samples.FIRST_NAMES[this.random.nextInt(
+                                  Samples.FIRST_NAMES.length)] + " "
+                          + Samples.LAST_NAMES[this.random.nextInt(
+                                  Samples.LAST_NAMES.length)];
+            String date = MONTHS[this.random.nextInt(MONTHS.length)] + " "
+                          + (1 + this.random.nextInt(28)) + ", 2018 "
+                          + (1 + this.random.nextInt(12))
+                          + String.format("%02d", this.random.nextInt(60))
+                          + (this.random.nextBoolean() ? " AM" : " PM");
+
+            /**
+             * The student number goes in the name too, so every student is distinct.
+             */
+            String fileName = (100000 + i) + "-" + (200000 + i) + " - " + name + " "
+                              + toLetters(i) + " - " + date + " - Calculator.java";
+
+            Files.write(folder.resolve(fileName),
+                        this.write(kind).getBytes(StandardCharsets.UTF_8));
+            counts.merge(kind, 1, Integer::sum);
+        }
+
+        return counts;
+    }
+
+
+    /**
+     * Chooses a kind according to the mix.
+     */
+    private Kind pick() {
+        int total = 0;
+        for (int weight : this.mix.values()) {
+            total += weight;
+        }
+
+        int roll = this.random.nextInt(total);
+        for (Kind kind : Kind.values()) {
+            roll -= this.mix.get(kind);
+            if (roll < 0) {
+                return kind;
+            }
+        }
+
+        return Kind.CORRECT;
+    }
+
+
+    /**
+     * Writes one program of the given kind. Correct parts are chosen at random from a
+     * few equivalent ways of writing them, so that honest submissions differ from each
+     * other.
+     */
+    private String write(Kind kind) {
+        if (kind == Kind.COPIED) {
+            String original = this.originals.get(this.random.nextInt(
+                    this.originals.size()));
+
+            return "// My own work, honest.\n"
+                   + original.replace("    ", "  ")
+                             .replace("// ", "// NOTE: ");
+        }
+
+        String n = pickOne("n", "number", "value", "x");
+        StringBuilder code = new StringBuilder();
+        code.append("/*\n * Calculator.java\n * ").append(pickOne(
+                        "CSCI 1301 Project 2", "Project 2: Calculator",
+                        "Academic Honesty Policy acknowledged"))
+            .append("\n */\n")
+            .append("import java.util.Scanner;\n\n")
+            .append("public class Calculator {\n\n");
+
+        code.append("    // Adds two numbers.\n")
+            .append("    public static Integer add(Integer a, Integer b) {\n")
+            .append("        return a + b;\n")
+            .append("    }\n\n");
+
+        code.append("    // Computes ").append(n).append("!\n")
+            .append("    public static Integer factorial(Integer ").append(n)
+            .append(") {\n");
+        if (kind == Kind.EXCEPTION) {
+            code.append("        int[] products = new int[").append(n).append("];\n")
+                .append("        products[0] = 1;\n")
+                .append("        for (int i = 1; i < ").append(n).append("; ++i) {\n")
+                .append("            products[i] = products[i - 1] * (i + 1);\n")
+                .append("        }\n")
+                .append("        return products[").append(n).append(" - 1];\n");
+        } else if (this.random.nextBoolean()) {
+            code.append("        int result = 1;\n")
+                .append("        for (int i = 2; i <= ").append(n).append("; i++) {\n")
+                .append("            result *= i;\n")
+                .append("        }\n")
+                .append("        return result;\n");
+        } else {
+            code.append("        return ").append(n).append(" <= 1 ? 1 : ").append(n)
+                .append(" * factorial(").append(n).append(" - 1);\n");
+        }
+        code.append("    }\n\n");
+
+        code.append("    // Checks whether ").append(n).append(" is prime.\n")
+            .append("    public static Boolean isPrime(Integer ").append(n)
+            .append(") {\n")
+            .append("        if (").append(n).append(" < 2) {\n")
+            .append("            return false;\n")
+            .append("        }\n")
+            .append("        int d = 2;\n")
+            .append("        while (d * d <= ").append(n).append(") {\n")
+            .append("            if (").append(n).append(" % d == 0) {\n")
+            .append("                return false;\n")
+            .append("            }\n");
+        if (kind == Kind.INFINITE_LOOP) {
+            code.append("            d = d * 1;\n");
+        } else {
+            code.append("            d++;\n");
+        }
+        code.append("        }\n")
+            .append("        return true;\n")
+            .append("    }\n\n");
+
+        code.append("    // Reverses a string.\n")
+            .append("    public static String reverse(String text) {\n");
+        if (this.random.nextBoolean()) {
+            code.append("        return new StringBuilder(text).reverse().toString();\n");
+        } else {
+            code.append("        String result = \"\";\n")
+                .append("        for (int i = text.length() - 1; i >= 0; --i) {\n")
+                .append("            result += text.charAt(i);\n")
+                .append("        }\n")
+                .append("        return result;\n");
+        }
+        code.append("    }\n\n");
+
+        code.append("    // Finds the greatest common divisor.\n")
+            .append("    public static Integer gcd(Integer a, Integer b) {\n")
+            .append("        while (b != 0) {\n")
+            .append("            int t = a % b;\n")
+            .append("            a = b;\n")
+            .append("            b = t;\n")
+            .append("        }\n")
+            .append("        return a")
+            .append(kind == Kind.COMPILE_ERROR ? "\n" : ";\n")
+            .append("    }\n\n");
+
+        code.append("    public static void main(String[] args) {\n")
+            .append("        Scanner in = new Scanner(System.in);\n")
+            .append("        System.out.print(\"Enter a number: \");\n")
+            .append("        int ").append(n).append(" = in.nextInt();\n");
+        if (kind == Kind.OUTPUT_FLOOD) {
+            code.append("        for (int i = 0; i < 20000; ++i) {\n")
+                .append("            System.out.println(\"debug: i = \" + i);\n")
+                .append("        }\n");
+        }
+        code.append("        System.out.println(").append(n).append(" + \"! = \" + ")
+            .append("factorial(").append(n).append("));\n")
+            .append("    }\n\n")
+            .append("}\n");
+
+        String program = code.toString();
+        if (kind == Kind.CORRECT) {
+            this.originals.add(program);
+        }
+
+        return program;
+    }
+
+
+    private String pickOne(String... options) {
+        return options[this.random.nextInt(options.length)];
+    }
+
+
+    /**
+     * Spells a number with letters (0 = "A", 25 = "Z", 26 = "AA", ...), so that it can
+     * go in a student's name without being mistaken for a date or an ID.
+     */
+    private static String toLetters(int number) {
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.insert(0, (char) ('A' + number % 26));
+            number = number / 26 - 1;
+        } while (number >= 0);
+
+        return letters.toString();
+    }
+
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args[0].startsWith("-")) {
+            System.out.println("Usage: CohortGenerator <folder> [--students <n>] "
+                               + "[--seed <n>] [--mix <kind>=<weight>,...]");
+            System.out.println("Default mix: " + DEFAULT_MIX);
+            return;
+        }
+
+        Path folder = Paths.get(args[0]);
+        int students = 600;
+        long seed = 1301;
+        String mix = DEFAULT_MIX;
+
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--students":
+                    students = Integer.parseInt(args[i + 1]);
+                    break;
+
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+
+                case "--mix":
+                    mix = args[i + 1];
+                    break;
+
+                default:
+                    System.out.println("Unknown option " + args[i]);
+                    return;
+            }
+        }
+
+        EnumMap<Kind, Integer> counts = new CohortGenerator(seed, parseMix(mix))
+                .generate(folder, students);
+
+        System.out.println("Wrote " + students + " submissions to " + folder + ":");
+        for (Kind kind : Kind.values()) {
+            if (counts.get(kind) > 0) {
+                System.out.println(String.format("  %-14s %d", kind.getName(),
+                                                 counts.get(kind)));
+            }
+        }
+    }
+
+}
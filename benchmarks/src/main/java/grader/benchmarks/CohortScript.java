@@ -0,0 +1,141 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.backend.TestCase;
+import grader.backend.TestSuite;
+import grader.stepthrough.ExecutionInspector;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The grading script for the cohorts written by {@link CohortGenerator}. It can be
+ * passed to AutoGrade by name:
+ *
+ *     java -cp benchmarks.jar grader.AutoGrade grader.benchmarks.CohortScript <folder>
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class CohortScript implements TestSuite {
+
+    @Override
+    public boolean fileBelongs(File file) {
+        return file.getName().endsWith(".java");
+    }
+
+
+    @Override
+    public boolean fileBelongsToStudent(File file) {
+        return file.getName().endsWith("Calculator.java");
+    }
+
+
+    @Override
+    public List<TestCase> listTestCases() {
+        return Arrays.asList(
+            TestCase.named("add")
+                    .describeAs("add(2, 3) should return 5.")
+                    .worth(10)
+                    .withInputs(2, 3)
+                    .checks(c -> Integer.valueOf(5).equals(
+                            c.call(null, Integer.class, "add", 2, 3))),
+
+            TestCase.named("factorial")
+                    .describeAs("factorial(5) should return 120.")
+                    .worth(15)
+                    .withInputs(5)
+                    .checks(c -> Integer.valueOf(120).equals(
+                            c.call(null, Integer.class, "factorial", 5))),
+
+            TestCase.named("factorial-zero")
+                    .describeAs("factorial(0) should return 1.")
+                    .worth(10)
+                    .withInputs(0)
+                    .checks(c -> Integer.valueOf(1).equals(
+                            c.call(null, Integer.class, "factorial", 0))),
+
+            TestCase.named("prime")
+                    .describeAs("isPrime() is wrong for 2, 9 or 97.")
+                    .worth(15)
+                    .withInputs(2, 9, 97)
+                    .checks(c -> Boolean.TRUE.equals(
+                                         c.call(null, Boolean.class, "isPrime", 2))
+                                 && Boolean.FALSE.equals(
+                                         c.call(null, Boolean.class, "isPrime", 9))
+                                 && Boolean.TRUE.equals(
+                                         c.call(null, Boolean.class, "isPrime", 97))),
+
+            TestCase.named("reverse")
+                    .describeAs("reverse(\"grader\") should return \"redarg\".")
+                    .worth(10)
+                    .withInputs("grader")
+                    .checks(c -> "redarg".equals(
+                            c.call(null, String.class, "reverse", "grader"))),
+
+            TestCase.named("gcd")
+                    .describeAs("gcd(84, 36) should return 12.")
+                    .worth(10)
+                    .withInputs(84, 36)
+                    .checks(c -> Integer.valueOf(12).equals(
+                            c.call(null, Integer.class, "gcd", 84, 36))),
+
+            /**
+             * ExecutionInspector swaps out System.in and System.out, so this one can't
+             * share them with the other tests.
+             */
+            TestCase.named("main")
+                    .describeAs("Entering 5 should print 5! = 120.")
+                    .worth(20)
+                    .withInputs("5")
+                    .exclusive()
+                    .checks(c -> {
+                        InputStream in = System.in;
+                        PrintStream out = System.out;
+                        ExecutionInspector inspector = new ExecutionInspector(
+                                c.getSubject(), Collections.singletonList("5"));
+
+                        try {
+                            inspector.run();
+                        } finally {
+                            System.setIn(in);
+                            System.setOut(out);
+                        }
+
+                        return inspector.getOutputCapture().peek().contains("120");
+                    })
+        );
+    }
+
+}
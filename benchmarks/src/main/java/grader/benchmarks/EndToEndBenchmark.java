@@ -0,0 +1,397 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.AutoGrade;
+import grader.backend.Student;
+import grader.backend.SubmissionIngester;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Grades a whole cohort from {@link CohortGenerator} end to end and reports how many
+ * students were graded per second, along with the peak resident set size and
+ * metaspace of the JVM that did the grading. Four configurations are measured, each
+ * in a JVM of its own:
+ *
+ *  - in-process, serial:   one JVM grades the cohort over and over (after a warm-up
+ *                          round), running one test at a time.
+ *  - in-process, parallel: the same, with several tests running at once.
+ *  - forked, serial:       a fresh JVM runs AutoGrade for every round, the way a TA
+ *                          does from the command line, startup and all.
+ *  - forked, parallel:     the same, with several tests running at once.
+ *
+ * Usage:
+ *
+ *     java -cp benchmarks.jar grader.benchmarks.EndToEndBenchmark <folder>
+ *          [--rounds <n>] [--threads <n>] [--timeout <seconds>]
+ *
+ * Peak RSS is read from /proc, so it's only reported on Linux. Note that a student's
+ * infinite loop keeps running after it times out, so in-process rounds pay for every
+ * earlier round's loops as well; forked runs start with a clean slate.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class EndToEndBenchmark {
+
+    /**
+     * How children report back: "RESULT <students> <nanos> <rss KB> <metaspace>".
+     */
+    private static final String RESULT = "RESULT";
+
+    private static final String IN_PROCESS = "in-process";
+
+    private static final String FORKED = "forked";
+
+
+    private EndToEndBenchmark() { }
+
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || args[0].startsWith("-")) {
+            System.out.println("Usage: EndToEndBenchmark <folder> [--rounds <n>] "
+                               + "[--threads <n>] [--timeout <seconds>]");
+            return;
+        }
+
+        Path folder = Paths.get(args[0]).toAbsolutePath();
+        int rounds = 3;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int timeout = 1;
+        String child = null;
+
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--rounds":
+                    rounds = Integer.parseInt(args[i + 1]);
+                    break;
+
+                case "--threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+
+                case "--timeout":
+                    timeout = Integer.parseInt(args[i + 1]);
+                    break;
+
+                case "--child":
+                    child = args[i + 1];
+                    break;
+
+                default:
+                    System.out.println("Unknown option " + args[i]);
+                    return;
+            }
+        }
+
+        if (IN_PROCESS.equals(child)) {
+            gradeInProcess(folder, rounds, threads, timeout);
+        } else if (FORKED.equals(child)) {
+            gradeForked(folder, threads, timeout);
+        } else {
+            compare(folder, rounds, threads, timeout);
+        }
+    }
+
+
+    /**
+     * Runs every configuration in child JVMs and prints a table of the results.
+     */
+    private static void compare(Path folder, int rounds, int threads, int timeout)
+            throws IOException, InterruptedException {
+        System.out.println(String.format("%-11s %7s %11s %9s %10s %10s", "Mode",
+                "Threads", "Students/s", "Seconds", "Peak RSS", "Metaspace"));
+
+        for (String mode : new String[] { IN_PROCESS, FORKED }) {
+            for (int count : threads > 1 ? new int[] { 1, threads } : new int[] { 1 }) {
+                List<String> command = new ArrayList<>();
+                command.add(ProcessHandle.current().info().command().orElse("java"));
+                command.add("-cp");
+                command.add(absoluteClassPath());
+                command.add(EndToEndBenchmark.class.getName());
+                command.add(folder.toString());
+                command.add("--threads");
+                command.add("" + count);
+                command.add("--timeout");
+                command.add("" + timeout);
+                command.add("--child");
+                command.add(mode);
+
+                /**
+                 * A forked run grades the cohort once and exits, so it takes one JVM
+                 * per round. An in-process run does every round itself.
+                 */
+                long students = 0, nanos = 0, rss = -1, metaspace = -1;
+                int processes = mode.equals(FORKED) ? rounds : 1;
+                if (mode.equals(IN_PROCESS)) {
+                    command.add("--rounds");
+                    command.add("" + rounds);
+                }
+
+                for (int i = 0; i < processes; ++i) {
+                    long start = System.nanoTime();
+                    List<long[]> results = runChild(command, mode.equals(FORKED));
+                    long wall = System.nanoTime() - start;
+
+                    for (long[] result : results) {
+                        students += result[0];
+                        nanos += mode.equals(FORKED) ? 0 : result[1];
+                        rss = Math.max(rss, result[2]);
+                        metaspace = Math.max(metaspace, result[3]);
+                    }
+
+                    if (mode.equals(FORKED)) {
+                        nanos += wall;
+                    }
+                }
+
+                double seconds = nanos / 1e9;
+                System.out.println(String.format("%-11s %7d %11.1f %9.2f %10s %10s",
+                        mode, count, seconds > 0 ? students / seconds : 0, seconds,
+                        rss < 0 ? "n/a" : (rss / 1024) + " MB",
+                        metaspace < 0 ? "n/a" : (metaspace >> 20) + " MB"));
+            }
+        }
+    }
+
+
+    /**
+     * Runs one child JVM and collects the results it reports. Everything else it
+     * prints is thrown away.
+     *
+     * @param inTemp (boolean) whether to run the child in a temporary folder, since
+     *               AutoGrade writes grades.txt to its working directory.
+     */
+    private static List<long[]> runChild(List<String> command, boolean inTemp)
+            throws IOException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        Path temp = null;
+        if (inTemp) {
+            temp = Files.createTempDirectory("autograde-e2e");
+            builder.directory(temp.toFile());
+        }
+
+        Process process = builder.start();
+        process.getOutputStream().close();
+
+        List<long[]> results = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT + " ")) {
+                    String[] parts = line.split(" ");
+                    results.add(new long[] {
+                            Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                            Long.parseLong(parts[3]), Long.parseLong(parts[4])
+                    });
+                }
+            }
+        }
+
+        int status = process.waitFor();
+        if (temp != null) {
+            deleteRecursively(temp);
+        }
+
+        if (results.isEmpty()) {
+            throw new IOException(command.get(command.size() - 1) + " run exited with "
+                                  + "status " + status + " without reporting a result");
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Grades the cohort in this JVM: once to warm up, then once per round. Each round
+     * starts from a clean slate thanks to {@link AutoGrade#reset()}.
+     */
+    private static void gradeInProcess(Path folder, int rounds, int threads,
+                                       int timeout) throws IOException {
+        PrintStream out = System.out;
+        PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+
+        for (int round = 0; round <= rounds; ++round) {
+            AutoGrade.reset();
+            deleteRecursively(folder.resolve(".autograde"));
+
+            AutoGrade.TIMEOUT_SECONDS = timeout;
+            AutoGrade.THREADS = threads;
+            AutoGrade.SHOW_COLORS = false;
+            AutoGrade.DIRECTORY_WARNING_ACKNOWLEDGED = true;
+            AutoGrade.WORKING_DIRECTORY = folder.toFile();
+            AutoGrade.GRADING_SCRIPT = new CohortScript();
+
+            System.setOut(quiet);
+            long start = System.nanoTime();
+            try {
+                SubmissionIngester ingester
+                        = new SubmissionIngester(AutoGrade.GRADING_SCRIPT)
+                                .warnAboutStrayFiles(false)
+                                .ingest(folder);
+
+                for (Student student : ingester.getStudents()) {
+                    AutoGrade.enroll(student);
+                }
+
+                for (Student student : AutoGrade.accessRoster()) {
+                    AutoGrade.grade(student);
+                }
+            } finally {
+                System.setOut(out);
+            }
+
+            long elapsed = System.nanoTime() - start;
+
+            /**
+             * Round 0 is the warm-up, so it isn't reported.
+             */
+            if (round > 0) {
+                report(AutoGrade.accessRoster().size(), elapsed);
+            }
+        }
+
+        AutoGrade.reset();
+        System.exit(0);
+    }
+
+
+    /**
+     * Grades the cohort once, the same way as running AutoGrade from the command line.
+     * AutoGrade exits when it's done, so the result is reported by a shutdown hook.
+     */
+    private static void gradeForked(Path folder, int threads, int timeout)
+            throws IOException {
+        deleteRecursively(folder.resolve(".autograde"));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                report(AutoGrade.accessRoster().size(), 0)));
+
+        AutoGrade.main(new String[] {
+                CohortScript.class.getName(), folder.toString(), "--auto-quit",
+                "--no-color", "--no-help", "--no-warnings", "--threads", "" + threads,
+                "--timeout", "" + timeout
+        });
+    }
+
+
+    /**
+     * Forked children run in another folder, so relative class path entries (like
+     * "target/benchmarks.jar") have to be resolved first.
+     */
+    private static String absoluteClassPath() {
+        StringBuilder classPath = new StringBuilder();
+        for (String entry : System.getProperty("java.class.path")
+                                  .split(File.pathSeparator)) {
+            if (classPath.length() > 0) {
+                classPath.append(File.pathSeparator);
+            }
+
+            classPath.append(new File(entry).getAbsolutePath());
+        }
+
+        return classPath.toString();
+    }
+
+
+    private static void report(int students, long nanos) {
+        System.out.println(RESULT + " " + students + " " + nanos + " " + peakRss() + " "
+                           + peakMetaspace());
+    }
+
+
+    /**
+     * @return (long) this JVM's peak resident set size in kilobytes, or -1 if it
+     *         can't be read.
+     */
+    private static long peakRss() {
+        Path status = Paths.get("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmHWM:"))
+                        .map(line -> line.replaceAll("[^0-9]", ""))
+                        .mapToLong(Long::parseLong)
+                        .findFirst()
+                        .orElse(-1);
+        }
+
+        catch (final IOException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+
+    /**
+     * @return (long) the most metaspace this JVM has used, in bytes, or -1 if the
+     *         JVM doesn't have one.
+     */
+    private static long peakMetaspace() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().equals("Metaspace")) {
+                return pool.getPeakUsage().getUsed();
+            }
+        }
+
+        return -1;
+    }
+
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder())
+                .map(Path::toFile)
+                .forEach(File::delete);
+        }
+    }
+
+}
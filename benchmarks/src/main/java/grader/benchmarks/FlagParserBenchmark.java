@@ -0,0 +1,71 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.AutoGrade;
+import grader.flag.FlagParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing command lines: AutoGrade's own arguments on startup, and the short
+ * commands typed at the internal command line.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlagParserBenchmark {
+
+    private final String[] startup = {
+            "Script.java", "submissions", "--timeout", "5", "-dq", "--no-color",
+            "--threads", "4", "--dedupe"
+    };
+
+    private final String[] command = { "select", "Ada", "Alan", "Grace" };
+
+
+    @Benchmark
+    public FlagParser startupArguments() {
+        return new FlagParser(AutoGrade.COMMAND_OPTIONS, this.startup);
+    }
+
+
+    @Benchmark
+    public FlagParser commandWithoutFlags() {
+        return new FlagParser(this.command);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.AutoGrade;
+import grader.articles.ArticleManager;
+import grader.articles.HelpBundle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures showing the 'select' help article, which embeds the select-args map (a
+ * 'let' summation of the article's own arguments and the command's flags), the first
+ * time and every time after. After the first time, the article comes out of
+ * ArticleManager's render cache.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelpArticleBenchmark {
+
+    private static final String ARTICLE = "ARTICLE:select";
+
+    private static final int WIDTH = 80;
+
+    @Param({ "true", "false" })
+    public boolean colors;
+
+    private ArticleManager articles;
+
+
+    /**
+     * A fresh set of articles for every call, so that nothing has been rendered yet.
+     */
+    @State(Scope.Thread)
+    public static class Unrendered {
+
+        ArticleManager articles;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            this.articles = HelpBundle.load();
+        }
+
+    }
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AutoGrade.SHOW_COLORS = this.colors;
+        this.articles = HelpBundle.load();
+        this.articles.getElement(ARTICLE, WIDTH);
+    }
+
+
+    @Benchmark
+    public String firstRender(Unrendered unrendered) {
+        return unrendered.articles.getElement(ARTICLE, WIDTH);
+    }
+
+
+    @Benchmark
+    public String cached() {
+        return this.articles.getElement(ARTICLE, WIDTH);
+    }
+
+}
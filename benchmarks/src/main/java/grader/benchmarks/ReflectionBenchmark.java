@@ -0,0 +1,121 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.AutoGrade;
+import grader.reflect.ReflectionAssistant;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Measures what it costs to call a student's method through ReflectionAssistant,
+ * compared with calling it directly or through plain reflection. The timed variant
+ * starts a thread per call to enforce the time limit, so the difference between it and
+ * {@link #testMethodNoTimeout()} is the cost of the timeout thread.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionBenchmark {
+
+    /**
+     * Stands in for a student's class.
+     */
+    public static class Subject {
+
+        public Integer add(Integer a, Integer b) {
+            return a + b;
+        }
+
+    }
+
+
+    private Subject subject;
+
+    private Method add;
+
+    private Integer a = 2, b = 3;
+
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        this.subject = new Subject();
+        this.add = Subject.class.getMethod("add", Integer.class, Integer.class);
+        AutoGrade.TIMEOUT_SECONDS = 3;
+    }
+
+
+    @Benchmark
+    public Integer directCall() {
+        return this.subject.add(this.a, this.b);
+    }
+
+
+    @Benchmark
+    public Object methodInvoke() throws ReflectiveOperationException {
+        return this.add.invoke(this.subject, this.a, this.b);
+    }
+
+
+    @Benchmark
+    public Integer testMethodNoTimeout() throws InvocationTargetException {
+        return ReflectionAssistant.testMethodNoTimeout(Subject.class, this.subject,
+                Integer.class, "add", this.a, this.b);
+    }
+
+
+    @Benchmark
+    public Integer testMethod() throws InvocationTargetException, TimeoutException {
+        return ReflectionAssistant.testMethod(Subject.class, this.subject,
+                Integer.class, "add", this.a, this.b);
+    }
+
+
+    /**
+     * The bare cost of the timeout thread: starting a thread and waiting for it.
+     */
+    @Benchmark
+    public Thread timeoutThreadStartup() throws InterruptedException {
+        Thread thread = new Thread(() -> { });
+        thread.start();
+        thread.join(AutoGrade.TIMEOUT_SECONDS * 1000L);
+        return thread;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.AutoGrade;
+import grader.backend.ELCSubmission;
+import grader.backend.Feedback;
+import grader.backend.Student;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Generates the sample submissions and students that the benchmarks work on. Everything
+ * is generated from a fixed seed, so every run measures the same input.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+final class Samples {
+
+    static final String[] FIRST_NAMES = {
+            "Ada", "Alan", "Barbara", "Claude", "Donald", "Edsger", "Frances", "Grace",
+            "John", "Katherine", "Leslie", "Margaret", "Niklaus", "Radia", "Tony"
+    };
+
+    static final String[] LAST_NAMES = {
+            "Allen", "Dijkstra", "Hamilton", "Hoare", "Hopper", "Johnson", "Knuth",
+            "Lamport", "Liskov", "Lovelace", "McCarthy", "Perlman", "Shannon",
+            "Turing", "Wirth"
+    };
+
+
+    private Samples() { }
+
+
+    /**
+     * Writes a plausible student program with the given number of methods. It has the
+     * things AutoGrade's source utilities care about: comments of both kinds, string
+     * and char literals (including escapes), nested blocks and imports.
+     *
+     * @param directory (Path) where to write the file.
+     * @param methods   (int)  how many methods to generate.
+     *
+     * @return (File) the file, named the way eLC names downloads.
+     */
+    static File writeProgram(Path directory, int methods) throws IOException {
+        StringBuilder source = new StringBuilder();
+        source.append("/*\n * Academic Honesty Policy: I wrote this myself.\n */\n")
+              .append("import java.util.Scanner;\nimport java.util.ArrayList;\n\n")
+              .append("public class Main {\n\n");
+
+        for (int i = 0; i < methods; ++i) {
+            source.append("    // Computes something important, version ").append(i)
+                  .append(".\n")
+                  .append("    public static int method").append(i)
+                  .append("(int count, String label) {\n")
+                  .append("        int total = 0; /* running total */\n")
+                  .append("        for (int j = 0; j < count; ++j) {\n")
+                  .append("            if (label.charAt(0) == '\\'' || j % 2 == 0) {\n")
+                  .append("                total += j * ").append(i).append(";\n")
+                  .append("            } else {\n")
+                  .append("                System.out.println(")
+                  .append("\"for \\\"odd\\\" j: \" + j);\n")
+                  .append("            }\n")
+                  .append("        }\n\n")
+                  .append("        return total;\n")
+                  .append("    }\n\n");
+        }
+
+        source.append("    public static void main(String[] args) {\n")
+              .append("        Scanner in = new Scanner(System.in);\n")
+              .append("        System.out.println(method0(in.nextInt(), \"x\"));\n")
+              .append("    }\n\n}\n");
+
+        File file = directory.resolve("1234-5678 - Ada Lovelace - Sep 4, 2018 1012 PM"
+                                      + " - Main.java").toFile();
+        Files.write(file.toPath(), source.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+
+    /**
+     * Enrolls the given number of graded students with random names and grades.
+     *
+     * @param count (int) how many students to enroll.
+     *
+     * @return (ArrayList<Student>) the students, in the order they were enrolled.
+     */
+    static ArrayList<Student> enrollStudents(int count) {
+        Random random = new Random(42);
+        ArrayList<Student> students = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            /**
+             * The number keeps names unique without disturbing the last names.
+             */
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + i + " "
+                          + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            File file = new File(i + "-" + i + " - " + name
+                                 + " - Sep 4, 2018 1012 PM - Main.java");
+
+            Student student = new Student(new ELCSubmission(file));
+            AutoGrade.enroll(student);
+
+            Feedback feedback = new Feedback("Benchmark");
+            feedback.assignGrade(random.nextInt(1001) / 10.0);
+            student.setScore(feedback);
+
+            students.add(student);
+        }
+
+        return students;
+    }
+
+}
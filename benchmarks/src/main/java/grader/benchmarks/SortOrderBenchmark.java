@@ -0,0 +1,102 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.AutoGrade;
+import grader.backend.Feedback;
+import grader.backend.Student;
+import grader.frontend.SortOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sorting the whole class. {@link #sort()} is the common case, where the grade
+ * table's cached ordering is still good; {@link #sortAfterRegrade()} changes one grade
+ * first, so sorting by grade has to rebuild the ordering.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortOrderBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int students;
+
+    @Param({ "LAST_NAME_ASC", "FIRST_NAME_DESC", "GRADE_DESC" })
+    public SortOrder order;
+
+    private ArrayList<Student> roster;
+
+    private BitSet everyone;
+
+    private int regraded;
+
+
+    /**
+     * Each trial runs in its own JVM, so AutoGrade's roster starts out empty.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.roster = Samples.enrollStudents(this.students);
+        this.everyone = AutoGrade.accessGradeTable().everyone();
+    }
+
+
+    @Benchmark
+    public ArrayList<Student> sort() {
+        return this.order.sort(this.everyone);
+    }
+
+
+    @Benchmark
+    public ArrayList<Student> sortCollection() {
+        return this.order.sort(this.roster);
+    }
+
+
+    @Benchmark
+    public ArrayList<Student> sortAfterRegrade() {
+        Student student = this.roster.get(this.regraded++ % this.roster.size());
+        Feedback feedback = new Feedback("Benchmark");
+        feedback.assignGrade(this.regraded % 101);
+        student.setScore(feedback);
+
+        return this.order.sort(this.everyone);
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.backend.ManualGradingError;
+import grader.reflect.SourceUtilities;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the line-by-line source utilities that StyleAnalysis and the normalizing
+ * and fingerprinting code lean on.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourceUtilitiesBenchmark {
+
+    /**
+     * The number of methods in the sample program; each is about a dozen lines.
+     */
+    @Param({ "10", "100" })
+    public int methods;
+
+    private Path directory;
+
+    private File file;
+
+    private List<String> lines;
+
+
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("autograde-bench");
+        this.file = Samples.writeProgram(this.directory, this.methods);
+        this.lines = Files.readAllLines(this.file.toPath());
+    }
+
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file.toPath());
+        Files.deleteIfExists(this.directory);
+    }
+
+
+    @Benchmark
+    public ArrayList<String> getSource() throws ManualGradingError {
+        return SourceUtilities.getSource(this.file, false, false);
+    }
+
+
+    @Benchmark
+    public ArrayList<String> getSourceWithoutImportsOrStrings()
+            throws ManualGradingError {
+        return SourceUtilities.getSource(this.file, true, true);
+    }
+
+
+    @Benchmark
+    public void stripStrings(Blackhole blackhole) {
+        for (String line : this.lines) {
+            blackhole.consume(SourceUtilities.stripStrings(line));
+        }
+    }
+
+
+    @Benchmark
+    public void containsSyntacticElement(Blackhole blackhole) {
+        for (String line : this.lines) {
+            blackhole.consume(SourceUtilities.containsSyntacticElement(line, "for"));
+        }
+    }
+
+}
@@ -0,0 +1,318 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.AutoGrade;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Measures how long a fresh AutoGrade JVM takes to grade its first student, with and
+ * without the class-data-sharing archive that the build makes (AutoGrade.jsa; see
+ * src/main/resources/cds.sh). Each round starts one JVM per configuration, taking
+ * turns so that neither gets a warmer disk cache, and grades a small generated cohort
+ * from scratch. The median of each is reported, along with how long the whole run
+ * took.
+ *
+ * Usage:
+ *
+ *     java -cp benchmarks.jar grader.benchmarks.StartupBenchmark <AutoGrade.jar>
+ *          [--rounds <n>] [--students <n>]
+ *
+ * The archive is expected next to the jar, as 'mvn package' leaves it. It only
+ * matches the jar by its canonical path, so that's the path the children are given.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class StartupBenchmark {
+
+    /**
+     * What a child prints once its first student is graded.
+     */
+    private static final String FIRST = "FIRST";
+
+    /**
+     * AutoGrade prints this before grading each student, and once more at the end.
+     */
+    private static final String PROGRESS = "Progress: ";
+
+    private static final String CHILD = "--child";
+
+
+    private StartupBenchmark() { }
+
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals(CHILD)) {
+            gradeInChild(args[1]);
+            return;
+        }
+
+        if (args.length == 0 || args[0].startsWith("-")) {
+            System.out.println("Usage: StartupBenchmark <AutoGrade.jar> [--rounds <n>] "
+                               + "[--students <n>]");
+            return;
+        }
+
+        Path jar = Paths.get(args[0]).toRealPath();
+        int rounds = 10;
+        int students = 5;
+
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--rounds":
+                    rounds = Integer.parseInt(args[i + 1]);
+                    break;
+
+                case "--students":
+                    students = Integer.parseInt(args[i + 1]);
+                    break;
+
+                default:
+                    System.out.println("Unknown option " + args[i]);
+                    return;
+            }
+        }
+
+        String name = jar.getFileName().toString();
+        Path archive = jar.resolveSibling(name.replaceAll("\\.jar$", "") + ".jsa");
+        if (!Files.isRegularFile(archive)) {
+            System.out.println("No archive at " + archive + "; run 'mvn package' at the "
+                               + "top level (with Java 13 or later) to make one.");
+            return;
+        }
+
+        Path cohort = Files.createTempDirectory("autograde-startup");
+        try {
+            new CohortGenerator(1301, CohortGenerator.parseMix("correct=1"))
+                    .generate(cohort, students);
+            compare(jar, archive, cohort, rounds);
+        } finally {
+            deleteRecursively(cohort);
+        }
+    }
+
+
+    private static void compare(Path jar, Path archive, Path cohort, int rounds)
+            throws IOException, InterruptedException {
+        List<String> plain = command(jar, null, cohort);
+        List<String> shared = command(jar, archive, cohort);
+
+        /**
+         * One untimed run each, so that both start with the jar and the archive in the
+         * disk cache.
+         */
+        runChild(plain, cohort);
+        runChild(shared, cohort);
+
+        long[][] plainTimes = new long[rounds][];
+        long[][] sharedTimes = new long[rounds][];
+        for (int i = 0; i < rounds; ++i) {
+            plainTimes[i] = runChild(plain, cohort);
+            sharedTimes[i] = runChild(shared, cohort);
+        }
+
+        System.out.println(String.format("%-14s %19s %12s", "Archive",
+                                         "First student (ms)", "Total (ms)"));
+        report("none", plainTimes);
+        report(archive.getFileName().toString(), sharedTimes);
+    }
+
+
+    /**
+     * The command for one child: this class, run by a JVM that loads AutoGrade from the
+     * jar rather than from benchmarks.jar. Java allows entries after the ones that were
+     * archived, so putting benchmarks.jar second doesn't spoil the archive.
+     *
+     * @param archive (Path) the archive to use, or null for none.
+     */
+    private static List<String> command(Path jar, Path archive, Path cohort)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+
+        if (archive != null) {
+            command.addAll(Arrays.asList("-XX:SharedArchiveFile=" + archive,
+                                         "-Xshare:auto", "-Xlog:cds=off",
+                                         "-Xlog:cds+dynamic=off"));
+        }
+
+        command.add("-cp");
+        command.add(jar + File.pathSeparator + ownJar());
+        command.add(StartupBenchmark.class.getName());
+        command.add(CHILD);
+        command.add(cohort.toString());
+        return command;
+    }
+
+
+    /**
+     * Runs one child in a temporary folder, since AutoGrade writes grades.txt to its
+     * working directory, after throwing away the results saved by the last one.
+     *
+     * @return (long[]) nanoseconds until the first student was graded, and until the
+     *         child exited.
+     */
+    private static long[] runChild(List<String> command, Path cohort)
+            throws IOException, InterruptedException {
+        deleteRecursively(cohort.resolve(".autograde"));
+
+        Path temp = Files.createTempDirectory("autograde-startup-run");
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true)
+                                                            .directory(temp.toFile());
+
+        long start = System.nanoTime();
+        long first = -1;
+        Process process = builder.start();
+        process.getOutputStream().close();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (first < 0 && line.equals(FIRST)) {
+                    first = System.nanoTime() - start;
+                }
+            }
+        }
+
+        int status = process.waitFor();
+        long total = System.nanoTime() - start;
+        deleteRecursively(temp);
+
+        if (first < 0) {
+            throw new IOException("A child exited with status " + status + " without "
+                                  + "grading anyone");
+        }
+
+        return new long[] { first, total };
+    }
+
+
+    /**
+     * Grades the cohort the way the command line does. AutoGrade's output is thrown
+     * away, except to notice when the second progress bar goes by: that's the first
+     * student done.
+     */
+    private static void gradeInChild(String cohort) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            private int seen = 0;
+            private int matched = 0;
+
+            @Override
+            public void write(int b) {
+                if (this.seen >= 2) {
+                    return;
+                }
+
+                this.matched = b == PROGRESS.charAt(this.matched) ? this.matched + 1
+                             : b == PROGRESS.charAt(0) ? 1 : 0;
+
+                if (this.matched == PROGRESS.length()) {
+                    this.matched = 0;
+                    if (++this.seen == 2) {
+                        out.println(FIRST);
+                        out.flush();
+                    }
+                }
+            }
+        }, true));
+
+        AutoGrade.main(new String[] {
+                CohortScript.class.getName(), cohort, "--auto-quit", "--no-color",
+                "--no-help", "--no-warnings"
+        });
+    }
+
+
+    private static void report(String name, long[][] times) {
+        long[] first = new long[times.length];
+        long[] total = new long[times.length];
+        for (int i = 0; i < times.length; ++i) {
+            first[i] = times[i][0];
+            total[i] = times[i][1];
+        }
+
+        System.out.println(String.format("%-14s %19d %12d", name,
+                                         median(first) / 1_000_000,
+                                         median(total) / 1_000_000));
+    }
+
+
+    private static long median(long[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+
+    /**
+     * @return (String) the canonical path of the jar (or folder) this class came from.
+     */
+    private static String ownJar() throws IOException {
+        try {
+            return Paths.get(StartupBenchmark.class.getProtectionDomain().getCodeSource()
+                                                   .getLocation().toURI())
+                        .toRealPath().toString();
+        }
+
+        catch (final java.net.URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder())
+                .map(Path::toFile)
+                .forEach(File::delete);
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.benchmarks;
+
+import grader.backend.ELCSubmission;
+import grader.backend.Feedback;
+import grader.backend.ManualGradingError;
+import grader.backend.Student;
+import grader.scripts.ancillary.StyleAnalysis;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures StyleAnalysis scoring one student's submission from start to finish:
+ * reading the file, the indentation score and the commenting score.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StyleAnalysisBenchmark {
+
+    @Param({ "10", "100" })
+    public int methods;
+
+    private Path directory;
+
+    private File file;
+
+    private Student student;
+
+    private StyleAnalysis analysis;
+
+
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("autograde-bench");
+        this.file = Samples.writeProgram(this.directory, this.methods);
+        this.student = new Student(new ELCSubmission(this.file));
+        this.analysis = new StyleAnalysis();
+    }
+
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file.toPath());
+        Files.deleteIfExists(this.directory);
+    }
+
+
+    @Benchmark
+    public Feedback score() throws ManualGradingError {
+        /**
+         * Start from fresh feedback each time, so that notes don't pile up.
+         */
+        this.student.setScore(new Feedback("Benchmark"));
+        return this.analysis.addAdditionalFeedback(this.student);
+    }
+
+}
@@ -28,23 +28,47 @@
 package grader;
 
 import grader.articles.ArticleManager;
+import grader.articles.HelpBundle;
 import grader.backend.*;
+import grader.daemon.Daemon;
 import grader.flag.FlagParser;
 import grader.flag.FlagSet;
 import grader.frontend.Channel;
 import grader.frontend.CommandHandler;
+import grader.frontend.EditorPreference;
+import grader.frontend.ResultExporter;
 import grader.frontend.SortOrder;
+import grader.jfr.FlightRecording;
+import grader.jfr.GradeAssigned;
+import grader.metrics.Metrics;
+import grader.metrics.MetricsReporter;
+import grader.reflect.CheckSource;
+import grader.reflect.InternalClassLoader;
 import grader.reflect.InternalCompiler;
 import grader.reflect.ReflectionAssistant;
 import grader.reflect.SourceUtilities;
 import grader.stability.ExitBlocker;
 import grader.stability.ExitException;
+import grader.stability.SessionClosed;
 import grader.util.Helper;
 
+import javax.management.JMException;
 import java.io.*;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 import static grader.frontend.Color.*;
 
@@ -110,9 +134,7 @@ public class AutoGrade {
     /**
      * Determines whether the program immediately exports and quits after it finishes
      * grading. This value is controlled by the {@code --auto-quit} command.
-     *
-     *
-     * TODO: Implement this functionality.
+     * Results are written to grades.txt in the current directory.
      */
     public static boolean EXPORT_AND_QUIT_AUTOMATICALLY = true;
 
@@ -124,6 +146,62 @@ public class AutoGrade {
     public static boolean PIPE = false;
 
 
+    /**
+     * Determines whether AutoGrade keeps watching the submissions folder after the
+     * initial round of grading, grading new and resubmitted files as they arrive. This
+     * value is controlled by the {@code --watch} flag.
+     */
+    public static boolean WATCH = false;
+
+
+    /**
+     * Determines whether results from the last run are reused for students whose
+     * submissions haven't changed since. This value is controlled by the
+     * {@code --incremental} flag.
+     */
+    public static boolean INCREMENTAL = false;
+
+
+    /**
+     * The number of a submission's tests that can run at the same time, for grading
+     * scripts that declare their tests individually (see {@link TestSuite}). This
+     * value is controlled by the {@code --threads} flag, and defaults to the number of
+     * processors.
+     */
+    public static int THREADS = runtime.availableProcessors();
+
+
+    /**
+     * Determines whether students with identical submissions (ignoring comments and
+     * whitespace) are graded once, with the feedback copied to the rest. This value is
+     * controlled by the {@code --dedupe} flag.
+     */
+    public static boolean DEDUPE = false;
+
+
+    /**
+     * Determines whether a breakdown of where the grading time went is printed once
+     * grading finishes. This value is controlled by the {@code --stats} flag.
+     */
+    public static boolean STATS = false;
+
+
+    /**
+     * Determines whether AutoGrade emits its own Java Flight Recorder events (see the
+     * grader.jfr package). This value is controlled by the {@code --jfr} and
+     * {@code --jfr-events} flags.
+     */
+    public static boolean JFR_EVENTS = false;
+
+
+    /**
+     * Determines whether AutoGrade keeps count of what it's done (see the
+     * grader.metrics package). This value is controlled by the {@code --metrics} and
+     * {@code --jmx} flags.
+     */
+    public static boolean METRICS = false;
+
+
     /**
      * Determines whether the program shows colors or not. It may be useful to disable
      * this if the terminal doesn't support colors. This value is controlled by the
@@ -157,11 +235,35 @@ public class AutoGrade {
     /**
      * Determines where AutoGrade finds student submissions to grade. By default, it's
      * the current directory. This value is controlled by the optional second argument
-     * to {@code ./autograde}, {@code [submission-folder]}.
+     * to {@code ./autograde}, {@code [submission-folder]}. This may also be the .zip
+     * file downloaded from eLC, in which case the submissions are read straight out of
+     * the archive.
      */
     public static File WORKING_DIRECTORY = null;
 
 
+    /**
+     * The directory that relative paths given by the user are relative to, or null for
+     * the JVM's own working directory. A JVM can't change its working directory, so
+     * the daemon (see grader.daemon) sets this to the launcher's instead.
+     */
+    public static File CALLER_DIRECTORY = null;
+
+
+    /**
+     * The open zip file system, if {@link #WORKING_DIRECTORY} is an archive.
+     */
+    private static FileSystem archive = null;
+
+
+    /**
+     * Watches the submissions folder with --watch. It starts listening before the
+     * folder is first read, so that nothing arriving during the initial round of
+     * grading is missed, but only starts grading once that round is over.
+     */
+    private static SubmissionWatcher watcher = null;
+
+
     /**
      * This value is set to {@code false} if the user has not acknowledged the risk of
      * running AutoGrade in a folder that doesn't contain exclusively eLC submissions.
@@ -192,6 +294,27 @@ public class AutoGrade {
     private static HashMap<String, Student> students = new HashMap<>();
 
 
+    /**
+     * This list contains every student in the order in which they were ingested. A
+     * student's position in this list is their {@link Student#getIndex() index}, which
+     * allows sets of students to be stored as bitsets.
+     */
+    private static ArrayList<Student> roster = new ArrayList<>();
+
+
+    /**
+     * Holds each student's grade and sort keys in columnar form, so that sorting and
+     * filtering don't have to go through each Student object.
+     */
+    private static GradeTable gradeTable = new GradeTable();
+
+
+    /**
+     * Fingerprints of every student's code, for the 'similar' command.
+     */
+    private static SimilarityIndex similarityIndex = new SimilarityIndex();
+
+
     /**
      * Order in which results will be exported to a text file.
      */
@@ -212,6 +335,71 @@ public class AutoGrade {
     private static ArticleManager articles = null;
 
 
+    /**
+     * Extra scripts (like StyleAnalysis) that add feedback after the grading script.
+     */
+    private static ArrayList<AncillaryScript> ancillaryScripts = new ArrayList<>();
+
+
+    /**
+     * Guards the students, the roster and their results while submissions are being
+     * graded in the background (see {@link #WATCH}). Commands hold this lock while
+     * they execute.
+     */
+    private static final Object lock = new Object();
+
+
+    /**
+     * Where graded results are kept between sessions. Created on first use.
+     */
+    private static ResultStore resultStore = null;
+
+
+    /**
+     * How often the checkpoint is forced to disk during grading, in milliseconds.
+     * Records are written as soon as each student is graded either way; forcing only
+     * matters if the whole machine goes down.
+     */
+    private static final long CHECKPOINT_FORCE_MILLIS = 2000;
+
+
+    /**
+     * Closes the checkpoint if AutoGrade is shut down mid-run (e.g., with Ctrl-C).
+     */
+    private static Thread checkpointHook = null;
+
+
+    private static ResultStore checkpointStore = null;
+
+
+    /**
+     * Remembers the outcome of each test of a {@link TestSuite} against each
+     * submission. Created on first use.
+     */
+    private static TestMemo testMemo = null;
+
+
+    /**
+     * Groups of students with identical submissions, if {@link #DEDUPE} is enabled.
+     */
+    private static DuplicateGroups duplicates = new DuplicateGroups();
+
+
+    /**
+     * Hashes of the code of the grading script and each ancillary script, in the order
+     * they were loaded. See {@link #scriptFingerprint()}.
+     */
+    private static ArrayList<byte[]> scriptHashes = new ArrayList<>();
+
+
+    /**
+     * Grading scripts compiled so far, by their code and javac arguments. These are
+     * kept across runs (unlike nearly everything else, {@link #reset()} leaves them
+     * alone), so that the daemon compiles an unchanged script only once.
+     */
+    private static final HashMap<String, Class<?>> compiledScripts = new HashMap<>();
+
+
     /**
      *
      */
@@ -261,7 +449,54 @@ public class AutoGrade {
                         .withParamName("\"<args...>\"")
                         .describeAs("special arguments to give javac when compiling " +
                                     "the grading script. Surround with quotes if you're "
-                                    + "providing more than one argument");
+                                    + "providing more than one argument")
+                    .accepts("watch")
+                        .describeAs("keep watching the submission folder and grade " +
+                                    "new submissions as they arrive")
+                    .accepts("resume")
+                        .withAliases("r")
+                        .describeAs("reload the results saved by the last run on this " +
+                                    "submission folder instead of grading again")
+                    .accepts("incremental")
+                        .withAliases("i")
+                        .describeAs("only grade students whose submissions changed " +
+                                    "since the last run; reuse everyone else's results")
+                    .accepts("threads", "" + runtime.availableProcessors())
+                        .withParamName("<threads>")
+                        .describeAs("how many of a submission's tests can run at " +
+                                    "once, if the grading script lists its tests")
+                    .accepts("dedupe")
+                        .describeAs("grade identical submissions (ignoring comments " +
+                                    "and whitespace) once, and list who shares one")
+                    .accepts("stats")
+                        .describeAs("show how long each phase of grading took, and " +
+                                    "who took longest, once grading finishes")
+                    .accepts("jfr", "")
+                        .withParamName("<file.jfr>")
+                        .describeAs("record a Java Flight Recorder profile of the " +
+                                    "run, including AutoGrade's own events")
+                    .accepts("jfr-events")
+                        .describeAs("emit AutoGrade's Flight Recorder events for a " +
+                                    "recording started some other way")
+                    .accepts("trace", "")
+                        .withParamName("<out.json>")
+                        .describeAs("record a timeline of what each thread was doing, " +
+                                    "for chrome://tracing or Perfetto")
+                    .accepts("metrics", "")
+                        .withParamName("<file.prom>")
+                        .describeAs("keep writing grading counters to the given file " +
+                                    "for Prometheus's textfile collector")
+                    .accepts("jmx")
+                        .describeAs("publish grading counters over JMX, as " +
+                                    MetricsReporter.OBJECT_NAME)
+                    .accepts("daemon")
+                        .describeAs("stay running in the background, so that the " +
+                                    "autograde launcher can skip starting Java")
+                    .accepts("stop-daemon")
+                        .describeAs("stop the daemon started with --daemon")
+                    .disallowTogether("watch", "auto-quit")
+                    .disallowTogether("watch", "resume")
+                    .disallowTogether("incremental", "resume");
 
 
     public static void main(String[] args) {
@@ -287,15 +522,35 @@ public class AutoGrade {
         FlagParser args;
         try {
             args = new FlagParser(COMMAND_OPTIONS, array);
-
-            articles = new ArticleManager();
-            InputStream helpFile = AutoGrade.class.getResourceAsStream("/help.txt");
-            articles.addFile(new InputStreamReader(helpFile), false);
         } catch (final RuntimeException e) {
             System.out.println(e.getMessage());
             return;
         }
 
+        /**
+         * Neither of these needs a grading script. The launcher sends --stop-daemon to
+         * the daemon itself, so reaching this point means there isn't one.
+         */
+        if (args.hasFlag("daemon")) {
+            if (Daemon.isServing()) {
+                System.out.println("This is already the daemon.");
+                return;
+            }
+
+            try {
+                Daemon.serve(Daemon.defaultSocket());
+            } catch (final IOException e) {
+                System.out.println("Could not start the daemon: " + e.getMessage());
+            }
+
+            return;
+        }
+
+        if (args.hasFlag("stop-daemon")) {
+            System.out.println("No AutoGrade daemon is running.");
+            return;
+        }
+
         /**
          * If the command is not formatted correctly, then show command usage and exit.
          */
@@ -316,6 +571,14 @@ public class AutoGrade {
         ENABLE_ANCILLARY_SCRIPTS       = !args.hasFlag("no-ancillary");
         CENSOR                         =  args.hasFlag("censor");
         PIPE                           =  args.hasFlag("cat");
+        WATCH                          =  args.hasFlag("watch");
+        INCREMENTAL                    =  args.hasFlag("incremental");
+        DEDUPE                         =  args.hasFlag("dedupe");
+        STATS                          =  args.hasFlag("stats");
+        JFR_EVENTS                     =  args.hasFlag("jfr")
+                                       || args.hasFlag("jfr-events");
+        METRICS                        =  args.hasFlag("metrics")
+                                       || args.hasFlag("jmx");
         JAVAC_ARGS                     =  args.hasFlag("javac") ? args.getValue("javac")
                                                                 : null;
 
@@ -324,9 +587,9 @@ public class AutoGrade {
          * 
          */
         if (args.length() == 1) {
-            WORKING_DIRECTORY = new File("");
+            WORKING_DIRECTORY = resolve(".");
         } else {
-            WORKING_DIRECTORY = new File(args.get(1));
+            WORKING_DIRECTORY = resolve(args.get(1));
         }
 
         if (args.hasFlag("timeout")) {
@@ -339,6 +602,54 @@ public class AutoGrade {
             }
         }
 
+        if (args.hasFlag("threads")) {
+            try {
+                THREADS = Integer.parseInt(args.getValue("threads"));
+            } catch (final NumberFormatException e) {
+                THREADS = 0;
+            }
+
+            if (THREADS < 1) {
+                System.out.println("Invalid input for option --threads (must be a " +
+                        "positive integer)");
+                return;
+            }
+        }
+
+        if (args.hasFlag("jfr")) {
+            try {
+                FlightRecording.start(resolve(args.getValue("jfr")).toPath());
+            } catch (final IOException | RuntimeException e) {
+                System.out.println("Could not start a Flight Recorder recording: "
+                                   + e.getMessage());
+                return;
+            }
+        }
+
+        if (args.hasFlag("trace")) {
+            Trace.start(resolve(args.getValue("trace")).toPath());
+        }
+
+        if (args.hasFlag("metrics")) {
+            try {
+                MetricsReporter.startTextfile(
+                        resolve(args.getValue("metrics")).toPath());
+            } catch (final IOException | RuntimeException e) {
+                System.out.println("Could not write metrics: " + e.getMessage());
+                return;
+            }
+        }
+
+        if (args.hasFlag("jmx")) {
+            try {
+                MetricsReporter.registerMBean();
+            } catch (final JMException | RuntimeException e) {
+                System.out.println("Could not publish metrics over JMX: "
+                                   + e.getMessage());
+                return;
+            }
+        }
+
         /**
          *
          */
@@ -346,7 +657,7 @@ public class AutoGrade {
             Class gradingClass;
             String scriptFilename = args.get(0);
 
-            File scriptFile = new File(scriptFilename);
+            File scriptFile = resolve(scriptFilename);
             
             if (scriptFilename.toLowerCase().endsWith(".java")) {
                 if (!scriptFile.exists()) {
@@ -354,8 +665,7 @@ public class AutoGrade {
                     return;
                 }
 
-                gradingClass = InternalCompiler.compile(scriptFile,
-                        (JAVAC_ARGS != null) ? JAVAC_ARGS : "-cp .:AutoGrade.jar");
+                gradingClass = compileScript(scriptFile);
             } else {
                 ClassLoader loader = AutoGrade.class.getClassLoader();
                 gradingClass = loader.loadClass(args.get(0));
@@ -373,6 +683,7 @@ public class AutoGrade {
 
             GRADING_SCRIPT =
                     (Script) ReflectionAssistant.constructObjectNoTimeout(gradingClass);
+            fingerprintScript(scriptFile, gradingClass);
         } catch (final ClassNotFoundException ex) {
             loadingError(args.get(0), "The specified class could not be found");
             return;
@@ -420,21 +731,19 @@ public class AutoGrade {
         /**
          * Load any extra scripts (like the StyleAnalysis script).
          */
-        ArrayList<AncillaryScript> ancillaryScripts = new ArrayList<>();
         if (ENABLE_ANCILLARY_SCRIPTS) {
             String[] scriptsToLoad = GRADING_SCRIPT.listAncillaryScripts();
             for (String scriptName : scriptsToLoad) {
                 try {
-                    File scriptFile = new File(scriptName + ".java");
+                    File scriptFile = resolve(scriptName + ".java");
                     AncillaryScript newScript;
                     Class newScriptClass;
 
                     if (scriptFile.exists()) {
                         // TODO: Adjust
-                        newScriptClass = InternalCompiler.compile(scriptFile,
-                                (JAVAC_ARGS != null) ? JAVAC_ARGS : "-cp .:AutoGrade.jar");
+                        newScriptClass = compileScript(scriptFile);
                     } else {
-                        scriptFile = new File(scriptName + ".class");
+                        scriptFile = resolve(scriptName + ".class");
 
                         if (!scriptFile.exists()) {
                             System.out.println("Could not locate the ancillary script " +
@@ -465,6 +774,7 @@ public class AutoGrade {
                                     .constructObjectNoTimeout(newScriptClass);
 
                     ancillaryScripts.add(newScript);
+                    fingerprintScript(scriptFile, newScriptClass);
                     System.out.println("Ancillary script '" + scriptName + "' loaded!");
                 }
 
@@ -504,11 +814,12 @@ public class AutoGrade {
 
 
         /**
-         *
+         * Restoring the results doesn't need the grading script, but commands like
+         * 'run' do, so it's loaded first. An unchanged script comes out of the compiled
+         * script cache, so that costs little.
          */
-        if (!AutoGrade.WORKING_DIRECTORY.isDirectory()) {
-            System.out.println("Error: the submissions \"folder\" specified isn't " +
-                    "actually a directory!");
+        if (args.hasFlag("resume") && resumeSession()) {
+            startSession();
             return;
         }
 
@@ -516,41 +827,59 @@ public class AutoGrade {
         /**
          *
          */
-        for (File file : AutoGrade.WORKING_DIRECTORY.listFiles()) {
-            if (!GRADING_SCRIPT.fileBelongs(file)
-                    && !file.getName().equals("index.html")) {
-                if (!AutoGrade.DIRECTORY_WARNING_ACKNOWLEDGED) {
-                    showDirectoryWarning();
-                }
+        boolean fromArchive = isArchive(AutoGrade.WORKING_DIRECTORY);
 
-                continue;
-            }
+        if (!AutoGrade.WORKING_DIRECTORY.isDirectory() && !fromArchive) {
+            System.out.println("Error: the submissions \"folder\" specified isn't " +
+                    "actually a directory or a .zip file!");
+            return;
+        }
 
-            if (!GRADING_SCRIPT.fileBelongsToStudent(file)) {
-                continue;
-            }
+        if (fromArchive && WATCH) {
+            System.out.println("Error: --watch needs a submissions folder; archives " +
+                    "can't receive new submissions.");
+            return;
+        }
 
-            String studentName = Student.determineStudentName(file);
-            if (studentName.contains("unable to determine student name")) {
-                unassociatedFiles.add(file);
-                continue;
-            }
+        accessResultStore().setFingerprint(scriptFingerprint());
+
+        if (WATCH) {
+            watchSubmissions();
+        }
 
-            ELCSubmission submission = new ELCSubmission(file);
 
-            if (!students.containsKey(studentName.toLowerCase())) {
-                Student newStudent = new Student(submission);
-                students.put(studentName.toLowerCase(), newStudent);
+        /**
+         *
+         */
+        Timings.reset();
+        SubmissionIngester ingester = new SubmissionIngester(GRADING_SCRIPT);
+
+        try {
+            if (fromArchive) {
+                archive = ingester.ingestArchive(AutoGrade.WORKING_DIRECTORY);
             } else {
-                students.get(studentName.toLowerCase()).addFile(submission);
+                ingester.ingest(AutoGrade.WORKING_DIRECTORY.toPath());
             }
         }
 
+        catch (final IOException e) {
+            System.out.println("Error: could not read the submissions folder: "
+                               + e.getMessage());
+            return;
+        }
+
+        for (Student student : ingester.getStudents()) {
+            enroll(student);
+        }
+
+        unassociatedFiles.addAll(ingester.getUnassociatedFiles());
+        int duplicatesRemoved = ingester.getSupersededCount();
+
 
         /**
          *
          */
-        if (students.isEmpty()) {
+        if (students.isEmpty() && !WATCH) {
             System.out.println("Could not identify any student submissions " +
                     "automatically! Please make sure that their files' names are " +
                     "formatted correctly by downloading them directly from eLC.");
@@ -558,61 +887,91 @@ public class AutoGrade {
         }
 
 
+        /**
+         *
+         */
+        BitSet reused = INCREMENTAL ? reusePreviousResults() : new BitSet();
+        reused.or(recoverCheckpoint(reused));
+        int toGrade = students.size() - reused.cardinality();
+
+        ResultStore.Appender checkpoint = openCheckpoint();
+        boolean stoppedEarly = false;
+
+
         /**
          *
          */
         PrintStream oldOut = System.out;
-        int validGrades = 0, invalidGrades = 0, duplicatesRemoved = 0;
+        int validGrades = 0, invalidGrades = 0;
         for (String studentName : students.keySet()) {
             Student student = students.get(studentName);
+            if (reused.get(student.getIndex())) {
+                continue;
+            }
 
             /**
              *
              */
             System.out.print(getProgressBar(student.getName(),
-                    (validGrades + invalidGrades + 1), students.keySet().size()));
+                    (validGrades + invalidGrades + 1), toGrade));
 
             /**
              *
              */
             try {
-                duplicatesRemoved += student.cleanUpDuplicates();
-                student.setScore(GRADING_SCRIPT.gradeSubmission(student));
-
-
-                for (AncillaryScript bonusScript : ancillaryScripts) {
-                    student.getFeedback()
-                           .setSource(bonusScript.getClass().getSimpleName());
-
-                    student.setScore(bonusScript.addAdditionalFeedback(student));
+                if (grade(student)) {
+                    ++validGrades;
+                } else {
+                    ++invalidGrades;
                 }
-
-                ++validGrades;
             }
 
-            /**
-             *
-             */
-            catch (final ManualGradingError | ExitException e) {
-                System.setOut(oldOut);
-                student.appendException(e);
-                ++invalidGrades;
-            }
-            
             catch (final Throwable t) {
                 System.setOut(oldOut);
                 t.printStackTrace();
+                stoppedEarly = true;
                 break;
             }
+
+            /**
+             * Log the result right away, so that it survives if AutoGrade doesn't.
+             */
+            if (checkpoint != null) {
+                try {
+                    checkpoint.append(student);
+                } catch (final IOException e) {
+                    System.setOut(oldOut);
+                    System.out.println(RED + "Checkpointing failed: " + e.getMessage()
+                                       + RESET);
+                    closeCheckpoint(checkpoint);
+                    checkpoint = null;
+                }
+            }
+        }
+
+        if (checkpoint != null) {
+            closeCheckpoint(checkpoint);
         }
 
         /**
          *
          */
-        System.out.print(getProgressBar(null, students.keySet().size() + 1,
-                students.keySet().size()));
+        if (toGrade > 0) {
+            System.out.print(getProgressBar(null, toGrade + 1, toGrade));
+            System.out.println();
+        }
 
-        System.out.println();
+        if (testMemo != null) {
+            reportTestMemo();
+        }
+
+        if (STATS) {
+            reportTimings();
+        }
+
+        if (DEDUPE) {
+            reportDuplicates();
+        }
 
         if (duplicatesRemoved > 0) {
             System.out.println("Removed " + duplicatesRemoved + " duplicate "
@@ -620,10 +979,31 @@ public class AutoGrade {
                 + " from consideration.");
         }
 
+        /**
+         * Fold the finished run into the result store. If the run stopped early, the
+         * checkpoint is left alone so the next run can pick up from it.
+         */
+        if (stoppedEarly) {
+            System.out.println(YELLOW + "Grading stopped early. Rerun AutoGrade the " +
+                    "same way to pick up where it left off." + RESET);
+        } else {
+            try {
+                accessResultStore().rewrite(roster);
+                accessCheckpointStore().delete();
+                System.out.println("Results saved; rerun with --resume to come back " +
+                        "to them.");
+            }
+
+            catch (final IOException e) {
+                System.out.println(RED + "Could not save results: " + e.getMessage()
+                                   + RESET);
+            }
+        }
+
         /**
          *
          */
-        if (validGrades == 0) {
+        if (validGrades == 0 && reused.isEmpty() && !WATCH) {
             System.out.println("None of the students' submissions could be graded " +
                     "automatically! Exiting...");
             return;
@@ -632,7 +1012,10 @@ public class AutoGrade {
         /**
          *
          */
-        if (invalidGrades == 0) {
+        if (validGrades + invalidGrades == 0) {
+            System.out.println(reused.isEmpty() ? "No submissions yet."
+                                                : "Nothing needed to be regraded.");
+        } else if (invalidGrades == 0) {
             System.out.println("All " + validGrades + " submissions were automatically gradable!");
         } else {
             int total = validGrades + invalidGrades;
@@ -642,75 +1025,897 @@ public class AutoGrade {
                     + (total != 1 ? " (out of " + total + ")." : "."));
         }
 
-        /**
-         *
-         */
-        if (EXPORT_AND_QUIT_AUTOMATICALLY) {
-            // TODO
-
-            return;
-        }
-
-        try {
-            CommandHandler.startAcceptingCommands();
-        }
-
-        catch (final Throwable t) {
-            System.out.println(RED + "Fatal error: " + t.getMessage() + RESET);
-            close();
-        }
+        startSession();
     }
 
 
     /**
+     * Carries over results from the last run for every student whose submission files
+     * are exactly the same as they were then. Nothing is reused if the grading scripts
+     * or grading settings have changed in the meantime.
      *
+     * @return (BitSet) the indices of the students whose results were reused.
      */
-    public static void close() {
-        ArrayList<String> unsuccessfulDeletions = new ArrayList<>();
+    private static BitSet reusePreviousResults() {
+        BitSet reused = new BitSet();
+        ResultStore store = accessResultStore();
+        LinkedHashMap<String, Student> previous;
 
-        for (File f : byproductFiles) {
-            if (!f.delete()) {
-                unsuccessfulDeletions.add(f.getName());
-            }
+        try {
+            previous = store.load(AutoGrade::locateSubmission);
         }
 
-        if (!unsuccessfulDeletions.isEmpty()) {
-            System.out.println("Could not delete " +
-                    Helper.elegantPrintList(unsuccessfulDeletions));
+        catch (final IOException e) {
+            System.out.println("Could not read the last run's results (" + e.getMessage()
+                               + "); grading everyone.");
+            return reused;
         }
 
-        /**
-         * Funnily enough, setting a SecurityManager to block System.exit() calls ended
-         * up blocking OUR System.exit() call, too!
-         */
-        SecurityManager sm = System.getSecurityManager();
+        if (previous.isEmpty()) {
+            System.out.println("No results from a previous run; grading everyone.");
+            return reused;
+        }
 
-        if (sm instanceof ExitBlocker) {
-            ((ExitBlocker) sm).permitExit();
+        if (!Arrays.equals(store.getStoredFingerprint(), scriptFingerprint())) {
+            System.out.println("The grading scripts or settings have changed since the " +
+                    "last run; grading everyone.");
+            return reused;
         }
 
-        System.exit(0);
-    }
+        for (Student student : roster) {
+            Student before = previous.get(student.getTrueName().toLowerCase());
 
+            try {
+                if (before != null && student.sameSubmissionsAs(before)) {
+                    student.adoptResults(before);
+                    reused.set(student.getIndex());
+                }
+            }
 
-    /**
-     *
-     * @param file
-     */
-    public static void addByproductFile(File file) {
-        if (!byproductFiles.contains(file)) {
-            byproductFiles.add(file);
+            catch (final IOException e) {
+                // Can't tell if it changed, so grade it again.
+            }
         }
+
+        System.out.println("Reusing " + reused.cardinality() + " unchanged "
+                + (reused.cardinality() == 1 ? "result" : "results") + "; "
+                + (roster.size() - reused.cardinality()) + " to grade.");
+
+        return reused;
     }
 
 
     /**
+     * If the last run on these submissions was cut short, carries over the results it
+     * checkpointed, so that those students aren't graded again.
      *
-     * @param file
-     * @return
+     * @param alreadyDone (BitSet) students that already have results; these are left
+     *                    alone.
+     *
+     * @return (BitSet) the indices of the students whose results were recovered.
      */
-    public static boolean isByproductFile(File file) {
-        return byproductFiles.contains(file);
+    private static BitSet recoverCheckpoint(BitSet alreadyDone) {
+        BitSet recovered = new BitSet();
+        ResultStore checkpoint = accessCheckpointStore();
+
+        if (!checkpoint.exists()) {
+            return recovered;
+        }
+
+        try {
+            LinkedHashMap<String, Student> previous
+                    = checkpoint.load(AutoGrade::locateSubmission);
+
+            if (!Arrays.equals(checkpoint.getStoredFingerprint(), scriptFingerprint())) {
+                System.out.println("Discarding the checkpoint from an interrupted run, " +
+                        "since the grading scripts or settings have changed.");
+                checkpoint.delete();
+                return recovered;
+            }
+
+            for (Student student : roster) {
+                if (alreadyDone.get(student.getIndex())) {
+                    continue;
+                }
+
+                Student before = previous.get(student.getTrueName().toLowerCase());
+                if (before != null && student.sameSubmissionsAs(before)) {
+                    student.adoptResults(before);
+                    recovered.set(student.getIndex());
+                }
+            }
+        }
+
+        catch (final IOException e) {
+            System.out.println("Could not read the checkpoint from an interrupted run ("
+                               + e.getMessage() + "); grading those students again.");
+            return recovered;
+        }
+
+        if (!recovered.isEmpty()) {
+            System.out.println("Picking up an interrupted run: " + recovered.cardinality()
+                    + (recovered.cardinality() == 1 ? " student was" : " students were")
+                    + " already graded.");
+        }
+
+        return recovered;
+    }
+
+
+    /**
+     * Opens the checkpoint for the grading loop, and makes sure it's closed properly
+     * even if AutoGrade is shut down partway through.
+     *
+     * @return (ResultStore.Appender) the checkpoint, or null if it couldn't be opened.
+     */
+    private static ResultStore.Appender openCheckpoint() {
+        try {
+            ResultStore.Appender checkpoint = accessCheckpointStore().openAppender()
+                    .forceEvery(CHECKPOINT_FORCE_MILLIS);
+
+            checkpointHook = new Thread(checkpoint::close, "AutoGrade-checkpoint");
+            Runtime.getRuntime().addShutdownHook(checkpointHook);
+            return checkpoint;
+        }
+
+        catch (final IOException e) {
+            System.out.println(RED + "Could not open a checkpoint (" + e.getMessage()
+                    + "); progress will be lost if grading is interrupted." + RESET);
+            return null;
+        }
+    }
+
+
+    private static void closeCheckpoint(ResultStore.Appender checkpoint) {
+        checkpoint.close();
+
+        if (checkpointHook != null) {
+            Runtime.getRuntime().removeShutdownHook(checkpointHook);
+            checkpointHook = null;
+        }
+    }
+
+
+    /**
+     * Returns the write-ahead log of the run in progress. Each student's result is
+     * appended to it as soon as they're graded, and it's folded into the result store
+     * (and deleted) once the run finishes.
+     *
+     * @return (ResultStore) the checkpoint store.
+     */
+    public static ResultStore accessCheckpointStore() {
+        if (checkpointStore == null) {
+            File directory = stateDirectory();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                System.out.println(RED + "Could not create " + directory.getPath()
+                                   + RESET);
+            }
+
+            checkpointStore = new ResultStore(new File(directory, "checkpoint.bin")
+                                                      .toPath());
+            checkpointStore.setFingerprint(scriptFingerprint());
+        }
+
+        return checkpointStore;
+    }
+
+
+    /**
+     * Records the code of a grading or ancillary script in the fingerprint of the
+     * scripts doing the grading, and registers its source so that the tests written in
+     * it can be told apart (see {@link CheckSource}).
+     *
+     * @param file   (File) the .java or .class file the script came from. If it doesn't
+     *               exist, the class's bytecode is used instead.
+     * @param loaded (Class<?>) the loaded script.
+     */
+    private static void fingerprintScript(File file, Class<?> loaded) {
+        scriptHashes.add(hashScript(file, loaded));
+        CheckSource.register(loaded, file);
+    }
+
+
+    /**
+     * Hashes the code of a script: its source file if it has one, or else its bytecode.
+     * If neither can be read, its name has to do.
+     */
+    private static byte[] hashScript(File file, Class<?> loaded) {
+        String resource = "/" + loaded.getName().replace('.', '/') + ".class";
+
+        try {
+            if (file != null && file.isFile()) {
+                return Helper.sha256(Files.readAllBytes(file.toPath()));
+            }
+
+            try (InputStream code = loaded.getResourceAsStream(resource)) {
+                if (code != null) {
+                    return Helper.sha256(code.readAllBytes());
+                }
+            }
+        }
+
+        catch (final IOException e) {
+            // Fall through and settle for the name.
+        }
+
+        return Helper.sha256(loaded.getName().getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Identifies the grading scripts and the settings that affect grading. If this
+     * changes between runs, old results can't be trusted.
+     *
+     * @return (byte[]) the 32-byte fingerprint.
+     */
+    public static byte[] scriptFingerprint() {
+        byte[][] parts = scriptHashes.toArray(new byte[scriptHashes.size() + 1][]);
+        parts[parts.length - 1] = gradingSettings().getBytes(StandardCharsets.UTF_8);
+
+        return Helper.sha256(parts);
+    }
+
+
+    /**
+     * Describes the settings that can change the outcome of grading a submission.
+     *
+     * @return (String) the settings.
+     */
+    public static String gradingSettings() {
+        return "timeout=" + TIMEOUT_SECONDS + ";javac=" + JAVAC_ARGS;
+    }
+
+
+    /**
+     * Reloads the results of a previous session from the result store instead of
+     * grading anything.
+     *
+     * @return (boolean) true if a session was restored; false if there was nothing to
+     *         restore.
+     */
+    private static boolean resumeSession() {
+        ResultStore store = accessResultStore();
+        if (!store.exists()) {
+            System.out.println("No saved results found in " + store.getFile()
+                               + "; grading from scratch.");
+            return false;
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            if (isArchive(WORKING_DIRECTORY)) {
+                archive = FileSystems.newFileSystem(WORKING_DIRECTORY.toPath(),
+                                                    (ClassLoader) null);
+            }
+
+            for (Student student : store.load(AutoGrade::locateSubmission).values()) {
+                enroll(student);
+            }
+        }
+
+        catch (final IOException e) {
+            System.out.println(RED + "Could not read saved results: " + e.getMessage()
+                               + RESET);
+            return false;
+        }
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Restored " + roster.size()
+                + (roster.size() == 1 ? " student" : " students") + " in " + elapsed
+                + " ms.");
+
+        /**
+         * Students whose files have been deleted since are kept, so that their results
+         * still get exported, but they're worth pointing out.
+         */
+        ArrayList<String> missing = new ArrayList<>();
+        for (String name : store.getMissingSubmissions()) {
+            missing.add(students.get(name.toLowerCase()).getName());
+        }
+
+        if (!missing.isEmpty()) {
+            System.out.println(YELLOW + "Submission files from "
+                    + Helper.elegantPrintList(missing) + " have been deleted since they "
+                    + "were graded. Their saved results were kept, but they can't be "
+                    + "regraded or opened." + RESET);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Starts listening for changes to the submissions folder, if that hasn't happened
+     * already. Nothing is graded until {@link SubmissionWatcher#start()} is called.
+     *
+     * @return (boolean) true if the folder is being watched.
+     */
+    private static boolean watchSubmissions() {
+        if (watcher == null) {
+            try {
+                watcher = new SubmissionWatcher(WORKING_DIRECTORY.toPath());
+            } catch (final IOException e) {
+                System.out.println(RED + "Could not watch the submissions folder: "
+                                   + e.getMessage() + RESET);
+            }
+        }
+
+        return watcher != null;
+    }
+
+
+    /**
+     * Finishes up once every student has a result: summarizes the grades, then either
+     * exports and quits or hands over to the command line.
+     */
+    private static void startSession() {
+        GradeTable.Summary summary = gradeTable.summarize(gradeTable.everyone());
+        if (summary != null) {
+            System.out.println("Grades: " + summary);
+        }
+
+        /**
+         * Write everything out in the default location and leave. close() is used
+         * rather than returning so that students' runaway threads can't keep the JVM
+         * alive. grades.txt from an earlier run is replaced, since regrading the same
+         * folder is the usual reason it's there.
+         */
+        if (EXPORT_AND_QUIT_AUTOMATICALLY) {
+            ArrayList<Student> everyone = exportSortOrder.sort(roster);
+
+            try {
+                new ResultExporter().overwrite(true)
+                                    .exportToFile(resolve("grades.txt").toPath(),
+                                                  everyone);
+                System.out.println("Results exported to grades.txt.");
+            }
+
+            catch (final IOException e) {
+                System.out.println(RED + "Could not export results: " + e.getMessage()
+                                   + RESET);
+            }
+
+            close();
+        }
+
+        if (WATCH && watchSubmissions()) {
+            watcher.start();
+            System.out.println("Watching " + WORKING_DIRECTORY.getPath()
+                               + " for new submissions...");
+        }
+
+        try {
+            CommandHandler.startAcceptingCommands();
+        }
+
+        catch (final SessionClosed e) {
+            throw e;
+        }
+
+        catch (final Throwable t) {
+            System.out.println(RED + "Fatal error: " + t.getMessage() + RESET);
+            close();
+        }
+    }
+
+
+    /**
+     * Grades a single student's submission with the grading script and any ancillary
+     * scripts. Anything the student had from an earlier grading is replaced. Errors
+     * that mean the submission needs to be graded by hand are recorded on the student
+     * rather than thrown.
+     *
+     * @param student (Student) the student to grade.
+     *
+     * @return (boolean) true if the submission was graded automatically; false if it
+     *         needs to be graded manually.
+     */
+    public static boolean grade(Student student) {
+        PrintStream oldOut = System.out;
+        long start = Timings.start();
+        GradeAssigned event = GradeAssigned.start();
+
+        try {
+            student.setScore(null);
+
+            /**
+             * With --dedupe, a student whose submission matches one that's already been
+             * graded gets a copy of that feedback. Ancillary scripts still run below.
+             */
+            Feedback shared = DEDUPE ? duplicates.recall(student) : null;
+            if (shared != null) {
+                student.setScore(shared);
+            } else {
+                student.setScore(GRADING_SCRIPT.gradeSubmission(student));
+
+                if (DEDUPE) {
+                    duplicates.remember(student, student.getFeedback());
+                }
+            }
+
+            for (AncillaryScript bonusScript : ancillaryScripts) {
+                student.getFeedback()
+                       .setSource(bonusScript.getClass().getSimpleName());
+
+                long ancillaryStart = Timings.start();
+                student.setScore(bonusScript.addAdditionalFeedback(student));
+                Timings.record(Timings.Phase.ANCILLARY, ancillaryStart);
+            }
+
+            student.appendException(null);
+            Metrics.studentGraded();
+            return true;
+        }
+
+        catch (final ManualGradingError | ExitException e) {
+            System.setOut(oldOut);
+            student.appendException(e);
+            Metrics.studentFailed();
+            return false;
+        }
+
+        finally {
+            student.setGradingTime(Timings.record(Timings.Phase.GRADING, start));
+            Trace.span(student.getName(), "student", start);
+            student.release();
+
+            if (event != null) {
+                event.finish(student);
+            }
+        }
+    }
+
+
+    /**
+     * Lists the groups of students who turned in identical submissions.
+     */
+    private static void reportDuplicates() {
+        List<List<Student>> groups = duplicates.getDuplicates();
+        if (groups.isEmpty()) {
+            System.out.println("No identical submissions found.");
+            return;
+        }
+
+        int shared = 0;
+        for (List<Student> group : groups) {
+            shared += group.size();
+        }
+
+        System.out.println(YELLOW + "" + shared + " students turned in " + groups.size()
+                + " distinct " + (groups.size() == 1 ? "submission" : "submissions")
+                + " between them; each was graded once:" + RESET);
+
+        for (List<Student> group : groups) {
+            ArrayList<String> names = new ArrayList<>();
+            for (Student student : group) {
+                names.add(student.getName());
+            }
+
+            System.out.println("  " + group.size() + " students: "
+                               + Helper.elegantPrintList(names));
+        }
+    }
+
+
+    /**
+     * Prints how long each phase of grading took, and which students took the longest.
+     */
+    private static void reportTimings() {
+        ArrayList<String> lines = Timings.summarize(roster, 5);
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        System.out.println(GREEN + "Where the time went:" + RESET);
+        for (String line : lines) {
+            System.out.println(line);
+        }
+    }
+
+
+    /**
+     * Reports how many test outcomes were reused rather than rerun during the last round
+     * of grading.
+     */
+    private static void reportTestMemo() {
+        int reused = testMemo.getReusedCount(),
+            total  = reused + testMemo.getExecutedCount();
+
+        if (total > 0 && reused > 0) {
+            System.out.println("Reused " + reused + " of " + total + " test "
+                    + (total == 1 ? "result" : "results") + " from earlier runs.");
+        }
+
+        if (testMemo.getFailure() != null) {
+            System.out.println(RED + "Could not save test results: "
+                               + testMemo.getFailure().getMessage() + RESET);
+        }
+
+        testMemo.resetCounts();
+    }
+
+
+    /**
+     * Determines whether the given submissions "folder" is actually an eLC archive.
+     *
+     * @param file (File) the submissions folder.
+     * @return (boolean) true if it's a .zip file.
+     */
+    public static boolean isArchive(File file) {
+        return file.isFile() && file.getName().toLowerCase().endsWith(".zip");
+    }
+
+
+    /**
+     * Returns the directory where AutoGrade keeps its state for the current submissions.
+     * For a folder, this is a hidden '.autograde' folder inside it; for an archive, it's
+     * a hidden folder beside the archive named after it.
+     *
+     * @return (File) the state directory. It may not exist yet.
+     */
+    public static File stateDirectory() {
+        File submissions = WORKING_DIRECTORY.getAbsoluteFile();
+
+        if (isArchive(submissions)) {
+            return new File(submissions.getParentFile(),
+                            "." + submissions.getName() + ".autograde");
+        }
+
+        return new File(submissions, ".autograde");
+    }
+
+
+    /**
+     * Returns the store holding graded results for the current submissions.
+     *
+     * @return (ResultStore) the result store.
+     */
+    public static ResultStore accessResultStore() {
+        if (resultStore == null) {
+            File directory = stateDirectory();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                System.out.println(RED + "Could not create " + directory.getPath()
+                                   + RESET);
+            }
+
+            resultStore = new ResultStore(new File(directory, "results.bin").toPath());
+        }
+
+        return resultStore;
+    }
+
+
+    /**
+     * Returns the memo of test outcomes for the current submissions.
+     *
+     * @return (TestMemo) the test memo.
+     */
+    public static TestMemo accessTestMemo() {
+        if (testMemo == null) {
+            File directory = stateDirectory();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                System.out.println(RED + "Could not create " + directory.getPath()
+                                   + RESET);
+            }
+
+            testMemo = new TestMemo(new File(directory, "tests.bin").toPath());
+        }
+
+        return testMemo;
+    }
+
+
+    /**
+     * Resolves a path given by the user against {@link #CALLER_DIRECTORY}.
+     *
+     * @param path (String) the path, as given.
+     * @return (File) the file it refers to.
+     */
+    public static File resolve(String path) {
+        File file = new File(path);
+        if (CALLER_DIRECTORY == null || file.isAbsolute()) {
+            return file;
+        }
+
+        return new File(CALLER_DIRECTORY, path);
+    }
+
+
+    /**
+     * Compiles a grading script, or reuses the last compilation of the same code. A
+     * reused script is a fresh copy, so none of its static fields carry over from the
+     * last run.
+     *
+     * @param file (File) the script's .java file.
+     * @return (Class<?>) the compiled script.
+     *
+     * @throws ManualGradingError thrown if the script doesn't compile.
+     */
+    private static Class<?> compileScript(File file) throws ManualGradingError {
+        String javacArgs = (JAVAC_ARGS != null) ? JAVAC_ARGS : defaultJavacArgs();
+
+        String key;
+        try {
+            byte[] hash = Helper.sha256(Files.readAllBytes(file.toPath()),
+                                        javacArgs.getBytes(StandardCharsets.UTF_8));
+            key = file.getAbsolutePath() + '\0'
+                  + Base64.getEncoder().encodeToString(hash);
+        }
+
+        catch (final IOException e) {
+            throw new ManualGradingError("Could not read " + file.getName() + ": "
+                                         + e.getMessage());
+        }
+
+        synchronized (compiledScripts) {
+            Class<?> compiled = compiledScripts.get(key);
+            if (compiled != null) {
+                return InternalClassLoader.freshCopy(compiled);
+            }
+
+            compiled = InternalCompiler.compile(file, javacArgs);
+            compiledScripts.put(key, compiled);
+            return compiled;
+        }
+    }
+
+
+    /**
+     * The class path used to compile grading scripts when --javac isn't given: the
+     * caller's directory and the AutoGrade.jar in it, as always, plus whatever this JVM
+     * was started with, so that the daemon can compile scripts from anywhere.
+     */
+    private static String defaultJavacArgs() {
+        return "-cp " + resolve(".").getPath() + File.pathSeparator
+               + resolve("AutoGrade.jar").getPath() + File.pathSeparator
+               + System.getProperty("java.class.path");
+    }
+
+
+    /**
+     * Finds a submission file by name, wherever the submissions are being read from.
+     *
+     * @param name (String) the file's full name, as downloaded from eLC.
+     * @return (File) the file, or null if it no longer exists.
+     */
+    public static File locateSubmission(String name) {
+        if (archive != null) {
+            Path entry = archive.getPath("/", name);
+            return Files.exists(entry) ? new ArchivedFile(WORKING_DIRECTORY, entry)
+                                       : null;
+        }
+
+        File file = new File(WORKING_DIRECTORY, name);
+        return file.exists() ? file : null;
+    }
+
+
+    /**
+     * Appends a student's latest result to the result store, so that it survives the
+     * end of the session.
+     *
+     * @param student (Student) the student.
+     */
+    public static void recordResult(Student student) {
+        try {
+            accessResultStore().append(Collections.singletonList(student), false);
+        } catch (final IOException e) {
+            System.out.println(RED + "Could not save " + student.getName() + "'s results: "
+                               + e.getMessage() + RESET);
+        }
+    }
+
+
+    /**
+     * Returns the lock guarding the students and their results.
+     *
+     * @return (Object) the lock.
+     */
+    public static Object accessLock() {
+        return lock;
+    }
+
+
+    /**
+     *
+     */
+    public static void close() {
+        ArrayList<String> unsuccessfulDeletions = new ArrayList<>();
+
+        for (File f : byproductFiles) {
+            if (!f.delete()) {
+                unsuccessfulDeletions.add(f.getName());
+            }
+        }
+
+        if (!unsuccessfulDeletions.isEmpty()) {
+            System.out.println("Could not delete " +
+                    Helper.elegantPrintList(unsuccessfulDeletions));
+        }
+
+        /**
+         * Deletes any copies of archived files that were extracted for an editor.
+         */
+        for (Student student : roster) {
+            student.release();
+        }
+
+        if (testMemo != null) {
+            testMemo.close();
+        }
+
+        Oracle.saveAll();
+
+        Path recording = FlightRecording.stop();
+        if (recording != null) {
+            System.out.println("Flight recording saved to " + recording + ".");
+        }
+
+        MetricsReporter.stopTextfile();
+
+        try {
+            Path trace = Trace.stop();
+            if (trace != null) {
+                System.out.println("Trace saved to " + trace + ".");
+            }
+        } catch (final IOException e) {
+            System.out.println("Could not save the trace: " + e.getMessage());
+        }
+
+        if (archive != null) {
+            try {
+                archive.close();
+            } catch (final IOException e) {
+                // Read-only, so there's nothing to lose.
+            }
+        }
+
+        /**
+         * The daemon stays running for the next run; see grader.daemon.
+         */
+        if (Daemon.isServing()) {
+            throw new SessionClosed();
+        }
+
+        /**
+         * Funnily enough, setting a SecurityManager to block System.exit() calls ended
+         * up blocking OUR System.exit() call, too!
+         */
+        SecurityManager sm = System.getSecurityManager();
+
+        if (sm instanceof ExitBlocker) {
+            ((ExitBlocker) sm).permitExit();
+        }
+
+        System.exit(0);
+    }
+
+
+    /**
+     * Forgets every student and result, closes anything left open by the last run,
+     * and puts every setting back to its default, so that submissions can be graded
+     * again from scratch without starting a new JVM. Unlike {@link #close()}, this
+     * never exits. Nothing on disk is touched.
+     */
+    public static void reset() {
+        /**
+         * The watcher grades while holding the lock, so it has to be stopped first.
+         */
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+
+        synchronized (lock) {
+            for (Student student : roster) {
+                student.release();
+            }
+
+            students.clear();
+            roster.clear();
+            COMMAND_OPTIONS.clear();
+            gradeTable = new GradeTable();
+            similarityIndex = new SimilarityIndex();
+            duplicates = new DuplicateGroups();
+            unassociatedFiles.clear();
+            byproductFiles.clear();
+            ancillaryScripts.clear();
+            scriptHashes.clear();
+            CheckSource.forget();
+            CommandHandler.clearSelection();
+
+            if (testMemo != null) {
+                testMemo.close();
+                testMemo = null;
+            }
+
+            if (checkpointHook != null) {
+                Runtime.getRuntime().removeShutdownHook(checkpointHook);
+                checkpointHook = null;
+            }
+
+            resultStore = null;
+            checkpointStore = null;
+
+            /**
+             * Articles keep the colors they were first shown in, and the next session
+             * may not want any.
+             */
+            articles = null;
+
+            if (archive != null) {
+                try {
+                    archive.close();
+                } catch (final IOException e) {
+                    // Read-only, so there's nothing to lose.
+                }
+
+                archive = null;
+            }
+
+            /**
+             * Oracles are only saved by close(), and a session that crashed or was
+             * cancelled never gets there; either way, they belong to that session.
+             */
+            Oracle.forgetAll();
+            TestRunner.shutdown();
+            MetricsReporter.stopTextfile();
+            FlightRecording.stop();
+            Timings.reset();
+
+            try {
+                Trace.stop();
+            } catch (final IOException e) {
+                // Only the timeline of a session that never finished is lost.
+            }
+
+            EditorPreference.PREFERENCE = EditorPreference.VI;
+
+            GRADING_SCRIPT                 = null;
+            WORKING_DIRECTORY              = null;
+            TIMEOUT_SECONDS                = 3;
+            JAVAC_ARGS                     = null;
+            VERBOSE                        = false;
+            PROMPT_AUTO_DELETIONS          = true;
+            EXPORT_AND_QUIT_AUTOMATICALLY  = true;
+            PIPE                           = false;
+            WATCH                          = false;
+            INCREMENTAL                    = false;
+            THREADS                        = runtime.availableProcessors();
+            DEDUPE                         = false;
+            STATS                          = false;
+            JFR_EVENTS                     = false;
+            METRICS                        = false;
+            SHOW_COLORS                    = true;
+            SHOW_HELP                      = true;
+            CENSOR                         = false;
+            ENABLE_ANCILLARY_SCRIPTS       = true;
+            DIRECTORY_WARNING_ACKNOWLEDGED = false;
+            CALLER_DIRECTORY               = null;
+            exportSortOrder                = SortOrder.LAST_NAME_ASC;
+        }
+    }
+
+
+    /**
+     *
+     * @param file
+     */
+    public static void addByproductFile(File file) {
+        if (!byproductFiles.contains(file)) {
+            byproductFiles.add(file);
+        }
+    }
+
+
+    /**
+     *
+     * @param file
+     * @return
+     */
+    public static boolean isByproductFile(File file) {
+        return byproductFiles.contains(file);
     }
 
 
@@ -823,7 +2028,17 @@ public class AutoGrade {
         exportSortOrder = newSortOrder;
     }
 
+    /**
+     * Returns the help articles, loading them the first time they're needed. Most runs
+     * never ask for help, so there's no sense loading them any sooner.
+     *
+     * @return (ArticleManager) the help articles.
+     */
     public static ArticleManager getArticles() {
+        if (articles == null) {
+            articles = HelpBundle.load();
+        }
+
         return articles;
     }
 
@@ -837,6 +2052,51 @@ public class AutoGrade {
     }
 
 
+    /**
+     * Returns every student in order of their {@link Student#getIndex() index}.
+     *
+     * @return (ArrayList<Student>) the roster. This should not be modified directly;
+     *         use {@link #enroll(Student)} instead.
+     */
+    public static ArrayList<Student> accessRoster() {
+        return roster;
+    }
+
+
+    /**
+     * Adds a newly-ingested student to both the map of students and the roster,
+     * assigning them the next available index.
+     *
+     * @param student (Student) the student to add.
+     */
+    public static void enroll(Student student) {
+        student.setIndex(roster.size());
+        roster.add(student);
+        students.put(student.getTrueName().toLowerCase(), student);
+        gradeTable.add(student);
+    }
+
+
+    /**
+     * Returns the columnar store of every student's results.
+     *
+     * @return (GradeTable) the grade table.
+     */
+    public static GradeTable accessGradeTable() {
+        return gradeTable;
+    }
+
+
+    /**
+     * Returns the index used to find similar submissions.
+     *
+     * @return (SimilarityIndex) the similarity index.
+     */
+    public static SimilarityIndex accessSimilarityIndex() {
+        return similarityIndex;
+    }
+
+
     /**
      *
      * @param student
@@ -917,31 +2177,6 @@ public class AutoGrade {
     }
 
 
-    public static ArrayList<File> mostRecentFilesOnly(File directory) {
-        if (!directory.isDirectory()) {
-            return null;
-            // This needs to have been verified beforehand.
-        }
-
-        ArrayList<File> result = new ArrayList<>();
-        HashMap<String, ArrayList<String>> studentFileNames;
-
-        for (File f : directory.listFiles()) {
-            if (!GRADING_SCRIPT.fileBelongsToStudent(f)) {
-                continue;
-            }
-
-            
-        }
-
-
-
-
-
-        return result;
-    }
-
-
     public static boolean validatePackage(String packageName) {
         if (!packageName
                 .matches("[$_a-zA-Z][$_a-zA-Z0-9]*(\\.[$_a-zA-Z][$_a-zA-Z0-9]*)*")) {
@@ -973,7 +2208,7 @@ public class AutoGrade {
 
         System.out.println(GREEN + "Syntax: " + RESET);
         System.out.println(YELLOW + "  " + syntaxStart
-                + " <script> [submission-folder] [flags...]");
+                + " <script> [submission-folder|submissions.zip] [flags...]");
         System.out.println(BLUE + "  (<mandatory>, [optional])");
         System.out.println();
         System.out.println(GREEN + "Flags:");
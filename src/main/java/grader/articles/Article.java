@@ -31,6 +31,7 @@ import grader.frontend.Color;
 import grader.util.Helper;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,18 +52,45 @@ public class Article {
             SYMBOL_REFERENCE_MATCHER = regexForGroupingChars('(', ')', "[^ ]*?"),
             LOOKBEHIND_ASSERTION = "(?<!(?<!\\\\)\\\\)";
 
+    private static final Pattern
+            EMPHASIS_BLUE = Pattern.compile(EMPHASIS_BLUE_MATCHER),
+            EMPHASIS_YELLOW = Pattern.compile(EMPHASIS_YELLOW_MATCHER),
+            SYMBOL_REFERENCE = Pattern.compile(SYMBOL_REFERENCE_MATCHER),
+            ESCAPED_ASTERISK = Pattern.compile(LOOKBEHIND_ASSERTION + "\\\\\\*"),
+            EXTRA_BLANK_LINES = Pattern.compile("\\n *\\n *\\n"),
+            RESET_CODE = Pattern.compile("\\u001B\\[0m");
+
 
     String title;
 
     String body;
 
-    private ArrayList<String> unresolvableElements = new ArrayList<>();
+    /**
+     * The body, compiled by {@link #compile(String)} the first time it's rendered.
+     */
+    private List<Segment> segments = null;
 
     public Article(String title, String unrefinedBody) {
         this.title = title;
         this.body = preparseBody(unrefinedBody);
     }
 
+
+    private Article(String title) {
+        this.title = title;
+    }
+
+
+    /**
+     * Recreates an article from a body that has already been through
+     * {@link #preparseBody(String)}, as stored by {@link HelpBundle}.
+     */
+    static Article preparsed(String title, String body) {
+        Article result = new Article(title);
+        result.body = body;
+        return result;
+    }
+
     /**
      * Converts the contents of
      * @param content
@@ -99,65 +127,118 @@ public class Article {
     }
 
 
-    public void resolveBodyElements(ArticleManager references) {
-        if (references != null) {
-            Pattern resolveSymbolReferences = Pattern.compile(SYMBOL_REFERENCE_MATCHER);
-            Matcher matcher = resolveSymbolReferences.matcher(this.body);
+    /**
+     * Renders this article: its references filled in, then its emphasis and quotes
+     * turned into colors. The body is compiled into segments the first time; after
+     * that, rendering is a walk over the segments and one pass of markup. Callers
+     * should go through {@link ArticleManager#getElement(String, int)}, which keeps
+     * what this returns for next time.
+     *
+     * @param references (ArticleManager) where references are looked up.
+     * @param width      (int)            how wide embedded maps may be.
+     *
+     * @return (String) the rendered article.
+     */
+    String render(ArticleManager references, int width) {
+        if (this.segments == null) {
+            this.segments = compile(this.body);
+        }
 
-            int start = -1, end = -1;
-            String match = null;
-            while (matcher.find()) {
-                if (!unresolvableElements.contains(matcher.group())) {
-                    start = matcher.start();
-                    end = matcher.end();
-                    match = matcher.group();
+        StringBuilder expanded = new StringBuilder();
+        this.expand(this.segments, references, width, expanded);
+        return markUp(expanded.toString());
+    }
 
-                    break;
-                }
+
+    /**
+     * Splits text into segments at its references, like "(CYAN)" or "(MAP:run-args)".
+     * References to nothing in particular, like "(s)", are left in the text.
+     */
+    static List<Segment> compile(String text) {
+        List<Segment> result = new ArrayList<>();
+        Matcher matcher = SYMBOL_REFERENCE.matcher(text);
+
+        int copied = 0;
+        while (matcher.find()) {
+            String symbol = matcher.group();
+            Segment segment = Segment.forReference(symbol.substring(1,
+                                                                    symbol.length() - 1));
+            if (segment == null) {
+                continue;
             }
 
-            if (start != -1) {
-                String reference = match.substring(1, match.length() - 1);
-                if (reference.equalsIgnoreCase("ARTICLE:" + this.title)) {
-                    throw new IllegalArgumentException("An article cannot reference itself");
-                } else {
-                    String resolvedElem = references.getElement(reference);
+            if (matcher.start() > copied) {
+                result.add(Segment.text(text.substring(copied, matcher.start())));
+            }
+
+            result.add(segment);
+            copied = matcher.end();
+        }
+
+        if (copied < text.length()) {
+            result.add(Segment.text(text.substring(copied)));
+        }
+
+        return result;
+    }
+
 
-                    this.body = this.body.substring(0, start)
-                            + resolvedElem
-                            + this.body.substring(end);
+    /**
+     * Fills in references. Whatever a reference stands for may contain references of
+     * its own, so it's compiled and expanded in turn.
+     */
+    private void expand(List<Segment> segments, ArticleManager references, int width,
+                        StringBuilder out) {
+        for (Segment segment : segments) {
+            switch (segment.kind) {
+                case TEXT:
+                    out.append(segment.value);
+                    break;
 
-                    // RECURSIVE CALL
-                    if (resolvedElem.equals("(" + reference + ")")) {
-                        unresolvableElements.add("(" + reference + ")");
+                case COLOR:
+                    out.append(segment.color);
+                    break;
+
+                case MAP:
+                    this.expand(compile(references.renderMap(segment.value, width)),
+                                references, width, out);
+                    break;
+
+                default:
+                    if (segment.value.equalsIgnoreCase("ARTICLE:" + this.title)) {
+                        throw new IllegalArgumentException("An article cannot reference "
+                                                           + "itself");
                     }
 
-                    this.resolveBodyElements(references);
-                    return;
-                }
+                    this.expand(compile(references.getElement(segment.value, width)),
+                                references, width, out);
             }
         }
+    }
 
 
-        Pattern resolveBlueEmphasis = Pattern.compile(EMPHASIS_BLUE_MATCHER);
-        Matcher matcher = resolveBlueEmphasis.matcher(this.body);
+    /**
+     * Turns *emphasis*, `code` and "> " quotes into colors, unescapes "\*", and tidies
+     * up blank lines.
+     */
+    private static String markUp(String text) {
+        String result = text;
+
+        Matcher matcher = EMPHASIS_BLUE.matcher(result);
         while (matcher.find()) {
             String match = matcher.group(),
                     repl = BLUE + match.substring(1, match.length() - 1) + RESET;
-            this.body = this.body.replace(match, repl);
+            result = result.replace(match, repl);
         }
 
-
-        Pattern resolveYellowEmphasis = Pattern.compile(EMPHASIS_YELLOW_MATCHER);
-        matcher = resolveYellowEmphasis.matcher(this.body);
+        matcher = EMPHASIS_YELLOW.matcher(result);
         while (matcher.find()) {
             String match = matcher.group(),
                     repl = YELLOW + match.substring(1, match.length() - 1) + RESET;
-            this.body = this.body.replace(match, repl);
+            result = result.replace(match, repl);
         }
 
-
-        String[] split = this.body.split("\\n");
+        String[] split = result.split("\\n");
         for (int i = 0; i < split.length; ++i) {
             String line = split[i];
             if (line.trim().startsWith("> ")) {
@@ -165,12 +246,9 @@ public class Article {
             }
         }
 
-        this.body = Helper.join("\n", split);
-        this.body = this.body.replaceAll(LOOKBEHIND_ASSERTION + "\\\\\\*", "*");
-
-        this.body = Color.RESET + this.body.replaceAll("\\n *\\n *\\n", "\n\n")
-                                           .replaceFirst("\\u001B\\[0m", "")
-                                           .trim();
+        result = ESCAPED_ASTERISK.matcher(Helper.join("\n", split)).replaceAll("*");
+        result = EXTRA_BLANK_LINES.matcher(result).replaceAll("\n\n");
+        return Color.RESET + RESET_CODE.matcher(result).replaceFirst("").trim();
     }
 
 
@@ -27,20 +27,26 @@
  */
 package grader.articles;
 
+import grader.AutoGrade;
 import grader.backend.ManualGradingError;
 import grader.flag.FlagSet;
+import grader.frontend.Channel;
 import grader.frontend.Color;
 import grader.frontend.CommandHandler;
 import grader.reflect.SourceUtilities;
 import grader.util.Helper;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -58,6 +64,17 @@ public class ArticleManager {
 
     private ArrayList<String> pendingSummationDeclarations = new ArrayList<>();
 
+    /**
+     * Articles as they were last rendered, by name, width and whether colors were on.
+     * An article can embed any map or other article, so adding either forgets them all.
+     */
+    private final HashMap<String, String> rendered = new HashMap<>();
+
+    /**
+     * The articles being rendered right now, to catch articles that embed each other.
+     */
+    private final HashSet<String> rendering = new HashSet<>();
+
     public ArticleManager() {
         this.articles = new HashMap<>();
         this.maps = new HashMap<>();
@@ -65,10 +82,12 @@ public class ArticleManager {
 
     public void addArticle(Article article) {
         this.articles.put(article.getName(), article);
+        this.rendered.clear();
     }
 
     public void addMap(EmbeddedMap map) {
         this.maps.put(map.getName(), map);
+        this.rendered.clear();
     }
 
     public void setVariable(String variable, String value) {
@@ -84,6 +103,18 @@ public class ArticleManager {
     }
 
     public void addFile(Reader r, boolean postponeAllowed) throws RuntimeException {
+        this.parse(r);
+        this.resolveSummations(postponeAllowed);
+    }
+
+
+    /**
+     * Reads the articles, maps and summations from a help file without working out the
+     * summations, which depend on flags and colors that may not be known yet. This is
+     * the part of {@link #addFile(Reader, boolean)} that {@link HelpBundle} does ahead
+     * of time.
+     */
+    void parse(Reader r) throws RuntimeException {
         ArrayList<String> lines;
 
         try {
@@ -141,7 +172,16 @@ public class ArticleManager {
                 this.addMap(newMap);
             }
         }
+    }
 
+
+    /**
+     * Works out the summations declared with 'let' so far, whose maps are all known.
+     *
+     * @param postponeAllowed (boolean) whether a summation naming an unknown map can
+     *                        wait for a later file, rather than being an error.
+     */
+    void resolveSummations(boolean postponeAllowed) throws RuntimeException {
         ArrayList<String> successfulSummations = new ArrayList<>();
         for (String declaration : this.pendingSummationDeclarations) {
             String[] elements = declaration.split(" *[+=:] *", 4);
@@ -177,7 +217,7 @@ public class ArticleManager {
                     EmbeddedMap result
                             = left.combineWith(title, f.flagDescriptions(),
                                                f.orderForArticles());
-                    this.maps.put(title, result);
+                    this.addMap(result);
                     successfulSummations.add(declaration);
                 } else {
                     throw new IllegalArgumentException("No flags for '" + label + "'");
@@ -190,7 +230,69 @@ public class ArticleManager {
 
 
 
+    /**
+     * Writes everything {@link #parse(Reader)} found, for {@link #read(DataInputStream)}.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(this.articles.size());
+        for (Article article : this.articles.values()) {
+            out.writeUTF(article.getName());
+            out.writeUTF(article.getText());
+        }
+
+        out.writeInt(this.maps.size());
+        for (EmbeddedMap map : this.maps.values()) {
+            map.write(out);
+        }
+
+        out.writeInt(this.pendingSummationDeclarations.size());
+        for (String declaration : this.pendingSummationDeclarations) {
+            out.writeUTF(declaration);
+        }
+    }
+
+
+    /**
+     * Reads what {@link #write(DataOutputStream)} wrote. The summations are left for
+     * {@link #resolveSummations(boolean)}.
+     */
+    static ArticleManager read(DataInputStream in) throws IOException {
+        ArticleManager result = new ArticleManager();
+
+        for (int i = in.readInt(); i > 0; --i) {
+            result.addArticle(Article.preparsed(in.readUTF(), in.readUTF()));
+        }
+
+        for (int i = in.readInt(); i > 0; --i) {
+            result.addMap(EmbeddedMap.read(in));
+        }
+
+        for (int i = in.readInt(); i > 0; --i) {
+            result.pendingSummationDeclarations.add(in.readUTF());
+        }
+
+        return result;
+    }
+
+
     public String getElement(String title) {
+        return this.getElement(title, Channel.width());
+    }
+
+
+    /**
+     * Looks up an article, map, command's aliases or command's flags, or a color.
+     *
+     * @param title (String) e.g., "ARTICLE:select", "MAP:run-args" or "CYAN".
+     * @param width (int)    how wide maps (including those in articles) may be.
+     *
+     * @return (String) the element, ready to print, or the title in parentheses if
+     *         it doesn't name anything.
+     *
+     * @throws IllegalArgumentException thrown if the title names an article, map or
+     *                                  command that doesn't exist.
+     */
+    public String getElement(String title, int width) {
         if (title.contains(":")) {
             String[] split = title.split(":", 2);
             switch (split[0].toUpperCase()) {
@@ -200,17 +302,11 @@ public class ArticleManager {
                         throw new IllegalArgumentException("No article '" + split[1] + "'");
                     }
 
-                    Article article = articles.get(split[1]);
-                    article.resolveBodyElements(this);
-                    return article.getText();
+                    return this.render(split[1], width);
 
                 case "MAPS":
                 case "MAP":
-                    if (!maps.containsKey(split[1])) {
-                        throw new IllegalArgumentException("No map '" + split[1] + "'");
-                    }
-
-                    return maps.get(split[1]).toString();
+                    return this.renderMap(split[1], width);
 
                 case "ALIASES":
                 case "ALIAS":
@@ -250,4 +346,40 @@ public class ArticleManager {
         return "(" + title + ")";
     }
 
+
+    /**
+     * Renders an article, or returns it as it was rendered last time with the same
+     * width and colors.
+     */
+    private String render(String name, int width) {
+        String key = name + "@" + width + (AutoGrade.SHOW_COLORS ? "" : "/plain");
+        String text = this.rendered.get(key);
+        if (text != null) {
+            return text;
+        }
+
+        if (!this.rendering.add(name)) {
+            throw new IllegalArgumentException("Article '" + name + "' ends up "
+                                               + "embedding itself");
+        }
+
+        try {
+            text = this.articles.get(name).render(this, width);
+        } finally {
+            this.rendering.remove(name);
+        }
+
+        this.rendered.put(key, text);
+        return text;
+    }
+
+
+    String renderMap(String name, int width) {
+        if (!this.maps.containsKey(name)) {
+            throw new IllegalArgumentException("No map '" + name + "'");
+        }
+
+        return this.maps.get(name).render(width);
+    }
+
 }
@@ -30,6 +30,9 @@ package grader.articles;
 import grader.frontend.Color;
 import grader.util.Helper;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -65,6 +68,43 @@ public class EmbeddedMap {
         return this.name;
     }
 
+
+    /**
+     * Writes this map, entries in order, for {@link #read(DataInputStream)}.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeUTF(this.name);
+
+        out.writeInt(this.contentOrder.size());
+        for (String key : this.contentOrder) {
+            out.writeUTF(key);
+        }
+
+        out.writeInt(this.content.size());
+        for (Map.Entry<String, String> entry : this.content.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue());
+        }
+    }
+
+
+    static EmbeddedMap read(DataInputStream in) throws IOException {
+        EmbeddedMap result = new EmbeddedMap();
+        result.name = in.readUTF();
+
+        result.contentOrder = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; --i) {
+            result.contentOrder.add(in.readUTF());
+        }
+
+        result.content = new HashMap<>();
+        for (int i = in.readInt(); i > 0; --i) {
+            result.content.put(in.readUTF(), in.readUTF());
+        }
+
+        return result;
+    }
+
     public EmbeddedMap combineWith(String name, HashMap<String, String> map,
                                    ArrayList<String> order) {
         EmbeddedMap result = new EmbeddedMap();
@@ -149,4 +189,13 @@ public class EmbeddedMap {
         return Helper.elegantPrintMap(content, contentOrder);
     }
 
+
+    /**
+     * Like {@link #toString()}, but wrapped to the given width rather than 80 columns.
+     */
+    public String render(int width) {
+        return Helper.elegantPrintMap(content, contentOrder, "  ", "  ", Color.CYAN,
+                                      Color.RESET, width, true);
+    }
+
 }
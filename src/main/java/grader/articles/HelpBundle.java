@@ -0,0 +1,175 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.articles;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The help articles, parsed at build time. Parsing help.txt means splitting it into
+ * lines, matching every line against a few patterns, building each article up one
+ * line at a time and reflowing its paragraphs; none of that changes between runs, so
+ * the build does it once and stores the result in help.bundle, next to the classes.
+ * {@link #load()} just reads the result back, and only when a help article is first
+ * asked for.
+ *
+ * What's stored is everything {@link ArticleManager#parse(Reader)} produces: each
+ * article's reflowed body, each map's entries in order, and the 'let' summations. The
+ * summations, and each article's references and emphasis, are still worked out when
+ * they're used, since they depend on colors and the commands' flags.
+ *
+ * The bundle is a magic number and a version, followed by the articles, the maps and
+ * the summations, each preceded by how many there are. Running this class rebuilds it:
+ *
+ *     java grader.articles.HelpBundle <help.txt> <help.bundle>
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class HelpBundle {
+
+    /**
+     * "AGHB", for AutoGrade help bundle.
+     */
+    private static final int MAGIC = 0x41474842;
+
+    private static final int VERSION = 1;
+
+    private static final String BUNDLE = "/help.bundle";
+
+    private static final String SOURCE = "/help.txt";
+
+
+    private HelpBundle() { }
+
+
+    /**
+     * Loads the help articles from the bundle on the class path. When there's no
+     * bundle (when running straight from an IDE, say), help.txt is parsed instead.
+     *
+     * @return (ArticleManager) the articles, with their summations worked out.
+     *
+     * @throws RuntimeException thrown if neither can be found or read.
+     */
+    public static ArticleManager load() throws RuntimeException {
+        ArticleManager result;
+
+        try (InputStream bundle = HelpBundle.class.getResourceAsStream(BUNDLE)) {
+            if (bundle != null) {
+                result = read(new DataInputStream(new BufferedInputStream(bundle)));
+            } else {
+                result = parse(SOURCE);
+            }
+        }
+
+        catch (final IOException e) {
+            throw new RuntimeException("Could not load the help articles: "
+                                       + e.getMessage(), e);
+        }
+
+        result.resolveSummations(false);
+        return result;
+    }
+
+
+    private static ArticleManager read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException(BUNDLE + " is from another version of AutoGrade");
+        }
+
+        return ArticleManager.read(in);
+    }
+
+
+    private static ArticleManager parse(String resource) throws IOException {
+        InputStream source = HelpBundle.class.getResourceAsStream(resource);
+        if (source == null) {
+            throw new IOException("neither " + BUNDLE + " nor " + resource
+                                  + " is on the class path");
+        }
+
+        ArticleManager result = new ArticleManager();
+        try (Reader reader = new InputStreamReader(source, StandardCharsets.UTF_8)) {
+            result.parse(reader);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Parses a help file and writes its bundle. The build runs this after compiling.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: HelpBundle <help.txt> <help.bundle>");
+            return;
+        }
+
+        ArticleManager articles = new ArticleManager();
+        try (Reader reader = Files.newBufferedReader(Paths.get(args[0]),
+                                                     StandardCharsets.UTF_8)) {
+            articles.parse(reader);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            articles.write(out);
+        }
+
+        /**
+         * Read the bundle back the way load() will, so that a mistake in help.txt (a
+         * summation of a map that doesn't exist, say) fails the build rather than the
+         * first 'help'.
+         */
+        read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+                .resolveSummations(false);
+
+        Path output = Paths.get(args[1]);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        Files.write(output, bytes.toByteArray());
+    }
+
+}
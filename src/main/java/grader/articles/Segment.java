@@ -0,0 +1,106 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.articles;
+
+import grader.frontend.Color;
+
+/**
+ * One piece of a compiled {@link Article} body: a run of literal text, a color, an
+ * embedded map, or a reference to anything else {@link ArticleManager#getElement}
+ * knows about (another article, a command's aliases or its flags). Text keeps its
+ * *emphasis* and `code` markup, since that's applied once the references are filled
+ * in.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+final class Segment {
+
+    enum Kind {
+        TEXT,
+        COLOR,
+        MAP,
+        REFERENCE
+    }
+
+
+    final Kind kind;
+
+    /**
+     * The text, the map's name, or the reference (e.g., "ALIASES:run"), depending on
+     * the kind.
+     */
+    final String value;
+
+    final Color color;
+
+
+    private Segment(Kind kind, String value, Color color) {
+        this.kind = kind;
+        this.value = value;
+        this.color = color;
+    }
+
+
+    static Segment text(String text) {
+        return new Segment(Kind.TEXT, text, null);
+    }
+
+
+    /**
+     * Compiles the inside of a "(...)" reference.
+     *
+     * @param reference (String) e.g., "CYAN", "MAP:run-args" or "ARTICLE:select".
+     *
+     * @return (Segment) the segment, or null if the reference doesn't refer to anything
+     *         and should be left in the text as it is.
+     */
+    static Segment forReference(String reference) {
+        if (reference.contains(":")) {
+            String[] split = reference.split(":", 2);
+            switch (split[0].toUpperCase()) {
+                case "MAPS":
+                case "MAP":
+                    return new Segment(Kind.MAP, split[1], null);
+
+                default:
+                    return new Segment(Kind.REFERENCE, reference, null);
+            }
+        }
+
+        for (Color color : Color.values()) {
+            if (reference.equalsIgnoreCase(color.name())) {
+                return new Segment(Kind.COLOR, reference, color);
+            }
+        }
+
+        return null;
+    }
+
+}
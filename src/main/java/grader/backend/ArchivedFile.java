@@ -0,0 +1,267 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file that lives inside an eLC bulk-download archive rather than on disk.
+ * {@link #toPath()} resolves to the entry inside the archive, so anything that reads
+ * through NIO keeps working, and the entry's contents are read from the archive at
+ * most once. AutoGrade's own readers (the compiler, hashing, style analysis) read it
+ * that way, without extracting it.
+ *
+ * java.io readers like FileReader and Scanner open a File's path directly, though, and
+ * this file's path doesn't exist. Grading scripts can read it with
+ * {@link Student#openSubmission(String)} instead. Only text editors, which have to be
+ * handed a real file, get a copy on disk (see {@link #onDisk(File)}).
+ *
+ * Neither the contents nor that copy outlive the student's grading: both are dropped
+ * by {@link #release()}, and read or extracted again if they're needed later.
+ *
+ * Nothing is ever written back into the archive. Submissions that need to survive the
+ * run are extracted next to it instead (see {@link #extract()}).
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class ArchivedFile extends File {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The archive this file was read from.
+     */
+    private final File archive;
+
+    /**
+     * The entry inside the archive's zip file system.
+     */
+    private final transient Path entry;
+
+    /**
+     * The entry's contents, once they have been read.
+     */
+    private transient byte[] contents;
+
+    /**
+     * A copy of this entry on disk, if one has been made.
+     */
+    private transient File extracted;
+
+
+    /**
+     * @param archive (File) the archive containing the entry.
+     * @param entry   (Path) the entry, as a path in the archive's zip file system.
+     */
+    public ArchivedFile(File archive, Path entry) {
+        super(archive, entry.getFileName().toString());
+        this.archive = archive;
+        this.entry = entry;
+    }
+
+
+    public File getArchive() {
+        return this.archive;
+    }
+
+
+    /**
+     * Returns the entry's contents, reading them out of the archive the first time
+     * they're needed.
+     *
+     * @return (byte[]) the uncompressed contents of the entry. This array is shared,
+     *         so it must not be modified.
+     *
+     * @throws IOException thrown if the archive cannot be read.
+     */
+    public synchronized byte[] getContents() throws IOException {
+        if (this.contents == null) {
+            this.contents = Files.readAllBytes(this.entry);
+        }
+
+        return this.contents;
+    }
+
+
+    /**
+     * Writes this entry into the given directory.
+     *
+     * @param directory (File) the directory to write to. It is created if necessary.
+     *
+     * @return (File) the file that was written.
+     *
+     * @throws IOException thrown if the file cannot be written.
+     */
+    public File extractTo(File directory) throws IOException {
+        Files.createDirectories(directory.toPath());
+
+        File destination = new File(directory, this.getName());
+        Files.write(destination.toPath(), this.getContents(),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+
+        return destination;
+    }
+
+
+    /**
+     * Saves this entry to disk in a folder beside the archive, named after it. For
+     * example, entries of "submissions.zip" are extracted into "submissions/".
+     *
+     * @return (File) the extracted file.
+     *
+     * @throws IOException thrown if the file cannot be written.
+     */
+    public File extract() throws IOException {
+        String name = this.archive.getName();
+        int extension = name.lastIndexOf('.');
+        if (extension > 0) {
+            name = name.substring(0, extension);
+        }
+
+        return this.extractTo(new File(this.archive.getAbsoluteFile().getParentFile(),
+                                       name));
+    }
+
+
+    /**
+     * Returns a copy of the given file that exists on disk, for tools like text editors
+     * that can't look inside archives. Files that are already on disk are returned as
+     * they are; archived files are extracted into a temporary directory, which lasts
+     * until the file is {@link #release() released}.
+     *
+     * @param file (File) the file.
+     *
+     * @return (File) a file on disk with the same contents.
+     *
+     * @throws IOException thrown if the file cannot be extracted.
+     */
+    public static File onDisk(File file) throws IOException {
+        if (!(file instanceof ArchivedFile)) {
+            return file;
+        }
+
+        ArchivedFile archived = (ArchivedFile) file;
+        synchronized (archived) {
+            if (archived.extracted == null) {
+                File directory = Files.createTempDirectory("autograde").toFile();
+                archived.extracted = archived.extractTo(directory);
+            }
+
+            return archived.extracted;
+        }
+    }
+
+
+    /**
+     * Forgets this entry's contents and deletes its copy on disk, if it has one. The
+     * daemon never exits, so nothing can be left for deleteOnExit() to clean up.
+     */
+    public synchronized void release() {
+        this.contents = null;
+
+        if (this.extracted != null) {
+            File directory = this.extracted.getParentFile();
+            if (this.extracted.delete() || !this.extracted.exists()) {
+                directory.delete();
+            }
+
+            this.extracted = null;
+        }
+    }
+
+
+    @Override
+    public Path toPath() {
+        return this.entry;
+    }
+
+
+    @Override
+    public URI toURI() {
+        return this.entry.toUri();
+    }
+
+
+    @Override
+    public boolean exists() {
+        return Files.exists(this.entry);
+    }
+
+
+    @Override
+    public boolean isFile() {
+        return Files.isRegularFile(this.entry);
+    }
+
+
+    @Override
+    public boolean isDirectory() {
+        return false;
+    }
+
+
+    @Override
+    public boolean canRead() {
+        return true;
+    }
+
+
+    @Override
+    public boolean canWrite() {
+        return false;
+    }
+
+
+    @Override
+    public long length() {
+        try {
+            return Files.size(this.entry);
+        } catch (final IOException e) {
+            return 0L;
+        }
+    }
+
+
+    /**
+     * Entries can't be removed from the archive, and there is nothing on disk to
+     * remove, so this always fails.
+     */
+    @Override
+    public boolean delete() {
+        return false;
+    }
+
+}
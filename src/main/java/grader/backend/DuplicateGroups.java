@@ -0,0 +1,190 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.reflect.SourceUtilities;
+import grader.util.Helper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Groups students whose submissions are identical once comments and whitespace are
+ * ignored, so that each distinct submission only has to be graded once. The grading
+ * script's feedback for the first student in a group is copied to everyone else in it.
+ * The groups themselves are worth a look for academic honesty purposes.
+ *
+ * Only feedback from the grading script is shared. Ancillary scripts (such as
+ * StyleAnalysis) care about exactly the things that are normalized away, so they still
+ * run for every student. Submissions that can't be graded automatically aren't shared
+ * either, since the reason may be specific to the student.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class DuplicateGroups {
+
+    /**
+     * The students with each normalized submission, in the order they were seen.
+     */
+    private final LinkedHashMap<ByteBuffer, ArrayList<Student>> groups;
+
+    /**
+     * The grading script's feedback for each normalized submission.
+     */
+    private final HashMap<ByteBuffer, Feedback> results;
+
+    /**
+     * The group each student is currently in.
+     */
+    private final IdentityHashMap<Student, ByteBuffer> memberships;
+
+
+    public DuplicateGroups() {
+        this.groups = new LinkedHashMap<>();
+        this.results = new HashMap<>();
+        this.memberships = new IdentityHashMap<>();
+    }
+
+
+    /**
+     * Places the student in the group matching their current submission, and returns
+     * the feedback already given to that group, if there is any.
+     *
+     * @param student (Student) the student about to be graded.
+     * @return (Feedback) a copy of the group's feedback, or null if the student needs
+     *         to be graded.
+     */
+    public synchronized Feedback recall(Student student) {
+        ByteBuffer key = normalizedHash(student);
+        ByteBuffer previous = key == null ? this.memberships.remove(student)
+                                          : this.memberships.put(student, key);
+
+        if (previous != null && !previous.equals(key)) {
+            this.groups.get(previous).remove(student);
+        }
+
+        if (key == null) {
+            return null;
+        }
+
+        ArrayList<Student> group = this.groups.computeIfAbsent(key,
+                                                               k -> new ArrayList<>());
+        if (!group.contains(student)) {
+            group.add(student);
+        }
+
+        Feedback feedback = this.results.get(key);
+        return feedback == null ? null : feedback.copy();
+    }
+
+
+    /**
+     * Records the grading script's feedback for a student, so that it can be copied to
+     * the rest of their group.
+     *
+     * @param student  (Student) the student who was just graded.
+     * @param feedback (Feedback) the grading script's feedback, before any ancillary
+     *                 scripts have added to it.
+     */
+    public synchronized void remember(Student student, Feedback feedback) {
+        ByteBuffer key = this.memberships.get(student);
+
+        if (key != null) {
+            this.results.put(key, feedback.copy());
+        }
+    }
+
+
+    /**
+     * Returns every group with more than one student in it, largest first.
+     *
+     * @return (List<List<Student>>) the groups.
+     */
+    public synchronized List<List<Student>> getDuplicates() {
+        ArrayList<List<Student>> duplicates = new ArrayList<>();
+
+        for (ArrayList<Student> group : this.groups.values()) {
+            if (group.size() > 1) {
+                duplicates.add(new ArrayList<>(group));
+            }
+        }
+
+        duplicates.sort(Comparator.comparingInt(group -> -group.size()));
+        return duplicates;
+    }
+
+
+    /**
+     * Hashes the normalized contents of each of the student's files (see
+     * {@link SourceUtilities#normalize(java.io.File)}), along with the files' names.
+     * Files that aren't Java source code are hashed as they are.
+     *
+     * @return (ByteBuffer) the hash, or null if one of the files couldn't be read.
+     */
+    private static ByteBuffer normalizedHash(Student student) {
+        ArrayList<ELCSubmission> submissions = new ArrayList<>(student.getSubmissions());
+        submissions.sort(Comparator.comparing(
+                submission -> submission.getFileName().toLowerCase(Locale.ROOT)));
+
+        byte[][] parts = new byte[submissions.size() * 2][];
+
+        try {
+            for (int i = 0; i < submissions.size(); ++i) {
+                ELCSubmission submission = submissions.get(i);
+                String name = submission.getFileName().toLowerCase(Locale.ROOT);
+
+                parts[2 * i] = (name + '\0').getBytes(StandardCharsets.UTF_8);
+
+                if (name.endsWith(".java")) {
+                    String code = SourceUtilities.normalize(submission.getFile());
+                    parts[2 * i + 1] = Helper.sha256(code.getBytes(
+                            StandardCharsets.UTF_8));
+                } else {
+                    parts[2 * i + 1] = submission.getHash();
+                }
+            }
+        }
+
+        catch (final ManualGradingError | IOException e) {
+            return null;
+        }
+
+        return ByteBuffer.wrap(Helper.sha256(parts));
+    }
+
+}
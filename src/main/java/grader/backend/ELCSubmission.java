@@ -27,11 +27,18 @@
  */
 package grader.backend;
 
+import grader.util.Helper;
+
 import java.io.File;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Provides a useful interface for working with eLC's special way of naming files when
@@ -53,25 +60,86 @@ public class ELCSubmission {
 
     private final String filename;
 
+    private final LocalDateTime timestamp;
+
+    private byte[] hash;
+
+    /**
+     * When this file was found, in milliseconds since the epoch. A file that was last
+     * modified before then was complete when AutoGrade found it.
+     */
+    private final long discovered;
+
+
+    /**
+     * The format eLC uses for dates in the names of downloaded files, e.g.
+     * "Sep 4, 2018 1012 PM".
+     */
+    public static final String ELC_DATE_FORMAT = "MMM d, yyyy hmm a";
+
+
+    /**
+     * Matches eLC's naming scheme: "<identifier> - <student> - <date> - <filename>".
+     */
+    public static final Pattern ELC_NAME_PATTERN
+            = Pattern.compile("(\\d+-\\d+) - (.+?) - (.+?) - (.+)");
+
 
-    public static final String ELC_DATE_FORMAT = "MMM DD, YYYY hhmm a";
+    /**
+     * Formatters are immutable and thread-safe, so a single one is shared by every
+     * submission.
+     */
+    private static final DateTimeFormatter ELC_DATE_FORMATTER
+            = new DateTimeFormatterBuilder().parseCaseInsensitive()
+                                            .appendPattern(ELC_DATE_FORMAT)
+                                            .toFormatter(Locale.US);
 
 
     public ELCSubmission(File f) {
-        this.file = f;
+        this(f, ELC_NAME_PATTERN.matcher(f.getName()));
+    }
 
-        String filename = f.getName();
-        String[] split = filename.split(" - ");
 
-        if (split.length != 4) {
+    private ELCSubmission(File f, Matcher matcher) {
+        if (!matcher.matches()) {
             throw new IllegalArgumentException("Specified a file which does not match " +
                     "the eLC naming conventions");
         }
 
-        this.identifier = split[0];
-        this.studentName = split[1];
-        this.date = split[2];
-        this.filename = split[3];
+        this.file = f;
+        this.identifier = matcher.group(1);
+        this.studentName = matcher.group(2);
+        this.date = matcher.group(3);
+        this.filename = matcher.group(4);
+        this.timestamp = parseDate(this.date);
+        this.discovered = System.currentTimeMillis();
+    }
+
+
+    /**
+     * Parses a file's name according to eLC's naming conventions.
+     *
+     * @param f (File) the file to parse.
+     *
+     * @return (ELCSubmission) the parsed submission, or null if the file's name does
+     *         not follow eLC's naming conventions.
+     */
+    public static ELCSubmission parse(File f) {
+        Matcher matcher = ELC_NAME_PATTERN.matcher(f.getName());
+        return matcher.matches() ? new ELCSubmission(f, matcher) : null;
+    }
+
+
+    /**
+     * Parses a date in eLC's format. Unparseable dates are treated as being older than
+     * everything else, so that any properly dated submission wins over them.
+     */
+    private static LocalDateTime parseDate(String date) {
+        try {
+            return LocalDateTime.parse(date, ELC_DATE_FORMATTER);
+        } catch (final DateTimeParseException e) {
+            return LocalDateTime.MIN;
+        }
     }
 
 
@@ -90,19 +158,18 @@ public class ELCSubmission {
     }
 
 
+    public long getDiscoveryTime() {
+        return this.discovered;
+    }
+
+
     public File getFile() {
         return this.file;
     }
 
 
-    public Date getParsedDate() {
-        SimpleDateFormat format = new SimpleDateFormat(ELCSubmission.ELC_DATE_FORMAT);
-        try {
-            return format.parse(this.date);
-        } catch (final ParseException e) {
-            throw new RuntimeException("Unable to parse date for " + studentName + "'s " +
-                    "submission");
-        }
+    public LocalDateTime getTimestamp() {
+        return this.timestamp;
     }
 
 
@@ -111,8 +178,39 @@ public class ELCSubmission {
     }
 
 
+    /**
+     * Returns the SHA-256 hash of the file's contents, computing it the first time it's
+     * needed.
+     *
+     * @return (byte[]) the 32-byte hash. This array is shared, so it must not be
+     *         modified.
+     *
+     * @throws IOException thrown if the file cannot be read.
+     */
+    public synchronized byte[] getHash() throws IOException {
+        if (this.hash == null) {
+            byte[] contents = (this.file instanceof ArchivedFile)
+                    ? ((ArchivedFile) this.file).getContents()
+                    : Files.readAllBytes(this.file.toPath());
+
+            this.hash = Helper.sha256(contents);
+        }
+
+        return this.hash;
+    }
+
+
+    /**
+     * Supplies a previously computed hash, so that it doesn't need to be recomputed.
+     * Used when reloading results from disk.
+     */
+    synchronized void setHash(byte[] hash) {
+        this.hash = hash;
+    }
+
+
     public boolean newerThan(ELCSubmission other) {
-        return this.getParsedDate().after(other.getParsedDate());
+        return this.timestamp.isAfter(other.timestamp);
     }
 
 }
@@ -28,7 +28,8 @@
 package grader.backend;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * @author  Sahir Shahryar <sahirshahryar@uga.edu>
@@ -39,12 +40,16 @@ public class Feedback {
 
     private double grade = 100.0;
 
-    private HashMap<String, ArrayList<String>> notes;
+    /**
+     * Kept in insertion order so that sources are always exported in the order they
+     * graded the student.
+     */
+    private LinkedHashMap<String, ArrayList<String>> notes;
 
     private String currentSource = null;
 
     public Feedback(String source) {
-        this.notes = new HashMap<>();
+        this.notes = new LinkedHashMap<>();
         this.setSource(source);
     }
 
@@ -127,4 +132,22 @@ public class Feedback {
         return this.notes.get(source);
     }
 
+    /**
+     * Returns an independent copy of this feedback, with the same grade, the same
+     * notes from each source, and the same current source.
+     *
+     * @return (Feedback) the copy.
+     */
+    public Feedback copy() {
+        Feedback copy = new Feedback(this.currentSource);
+        copy.grade = this.grade;
+        copy.notes.clear();
+
+        for (Map.Entry<String, ArrayList<String>> entry : this.notes.entrySet()) {
+            copy.notes.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+
+        return copy;
+    }
+
 }
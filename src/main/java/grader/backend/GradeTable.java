@@ -0,0 +1,525 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.util.Helper;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+
+/**
+ * Stores the results of every student in a set of parallel arrays, indexed by each
+ * student's {@link Student#getIndex() index}. Sorting, filtering by grade and computing
+ * statistics all happen over these primitive arrays, so none of them need to call
+ * {@link Student#getLastName()} or unbox {@link Feedback#getGrade()} over and over.
+ *
+ * Sorted permutations of the roster are cached. The name orderings only change when a
+ * new student is added; the grade ordering is thrown out whenever a grade changes.
+ *
+ * @author  Sahir Shahryar
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class GradeTable {
+
+    /**
+     * The number of students in the table.
+     */
+    private int size;
+
+
+    /**
+     * Each student's grade. Only meaningful if the student's bit in {@link #graded} is
+     * set.
+     */
+    private double[] grades;
+
+
+    /**
+     * The set of students who have a Feedback object (and thus a grade).
+     */
+    private final BitSet graded;
+
+
+    /**
+     * The set of students whose submissions could not be graded automatically; that
+     * is, the students for whom {@link Student#wasErrorFree()} returns false.
+     */
+    private final BitSet errors;
+
+
+    /**
+     * Each student's last name, lowercased. Extracted once rather than on every
+     * comparison.
+     */
+    private String[] lastNameKeys;
+
+
+    /**
+     * Each student's full name, lowercased.
+     */
+    private String[] firstNameKeys;
+
+
+    /**
+     * Cached permutations of the roster, in ascending order. These are null until they
+     * are first requested, or after they have been invalidated.
+     */
+    private int[] byLastName, byFirstName, byGrade;
+
+
+    /**
+     * Counts the changes that could reorder the roster: enrollments, renames and changed
+     * grades. Anything that keeps its own sorted copy of students can compare this to
+     * the count it sorted at, rather than being told about every change.
+     */
+    private int modifications;
+
+
+    /**
+     * Initializes an empty table.
+     */
+    public GradeTable() {
+        this.size = 0;
+        this.grades = new double[16];
+        this.graded = new BitSet();
+        this.errors = new BitSet();
+        this.lastNameKeys = new String[16];
+        this.firstNameKeys = new String[16];
+    }
+
+
+    /**
+     * Adds a newly-enrolled student to the table. The student's index must already
+     * have been assigned, and must be equal to the current size of the table.
+     *
+     * @param student (Student) the student to add.
+     */
+    public synchronized void add(Student student) {
+        int index = student.getIndex();
+
+        if (index != this.size) {
+            throw new IllegalArgumentException("Student " + student.getTrueName()
+                    + " has index " + index + " but the table expected " + this.size);
+        }
+
+        if (index == this.grades.length) {
+            int capacity = this.grades.length * 2;
+            this.grades = Arrays.copyOf(this.grades, capacity);
+            this.lastNameKeys = Arrays.copyOf(this.lastNameKeys, capacity);
+            this.firstNameKeys = Arrays.copyOf(this.firstNameKeys, capacity);
+        }
+
+        ++this.size;
+        ++this.modifications;
+
+        this.byLastName = null;
+        this.byFirstName = null;
+
+        this.rename(student);
+        this.update(student);
+    }
+
+
+    /**
+     * Refreshes the name keys of the given student. Called when a student's name
+     * changes.
+     *
+     * @param student (Student) the student whose name changed.
+     */
+    public synchronized void rename(Student student) {
+        int index = student.getIndex();
+        if (index < 0 || index >= this.size) {
+            return;
+        }
+
+        this.lastNameKeys[index] = student.getLastName().toLowerCase(Locale.ROOT);
+        this.firstNameKeys[index] = student.getTrueName().toLowerCase(Locale.ROOT);
+
+        this.byLastName = null;
+        this.byFirstName = null;
+        ++this.modifications;
+    }
+
+
+    /**
+     * Refreshes the grade and error state of the given student. Called whenever the
+     * student's Feedback or error changes.
+     *
+     * @param student (Student) the student whose result changed.
+     */
+    public synchronized void update(Student student) {
+        int index = student.getIndex();
+        if (index < 0 || index >= this.size) {
+            return;
+        }
+
+        Feedback feedback = student.getFeedback();
+        double grade = (feedback == null) ? 0.0 : feedback.getGrade();
+
+        if (this.graded.get(index) != (feedback != null)
+                || Double.compare(this.grades[index], grade) != 0) {
+            this.byGrade = null;
+            ++this.modifications;
+        }
+
+        this.graded.set(index, feedback != null);
+        this.grades[index] = grade;
+        this.errors.set(index, !student.wasErrorFree());
+    }
+
+
+    /**
+     * @return (int) the number of students in the table.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+
+    /**
+     * @return (int) how many times the order of the roster could have changed; see
+     *         {@link #modifications}.
+     */
+    public synchronized int modifications() {
+        return this.modifications;
+    }
+
+
+    /**
+     * Returns the students ordered by last name (then full name), ascending.
+     *
+     * @return (int[]) a permutation of student indices. Do not modify.
+     */
+    public synchronized int[] byLastName() {
+        if (this.byLastName == null) {
+            this.byLastName = this.sortIndices((a, b) -> {
+                int result = this.lastNameKeys[a].compareTo(this.lastNameKeys[b]);
+                return result != 0 ? result
+                                   : this.firstNameKeys[a].compareTo(this.firstNameKeys[b]);
+            });
+        }
+
+        return this.byLastName;
+    }
+
+
+    /**
+     * Returns the students ordered by their full names, ascending.
+     *
+     * @return (int[]) a permutation of student indices. Do not modify.
+     */
+    public synchronized int[] byFirstName() {
+        if (this.byFirstName == null) {
+            this.byFirstName = this.sortIndices(
+                    (a, b) -> this.firstNameKeys[a].compareTo(this.firstNameKeys[b]));
+        }
+
+        return this.byFirstName;
+    }
+
+
+    /**
+     * Returns the graded students ordered by grade, ascending. Students without a grade
+     * do not appear in this permutation; see {@link #ungraded()}.
+     *
+     * @return (int[]) a permutation of graded student indices. Do not modify.
+     */
+    public synchronized int[] byGrade() {
+        if (this.byGrade == null) {
+            int[] graded = this.graded.stream().toArray();
+            sort(graded, (a, b) -> Double.compare(this.grades[a], this.grades[b]));
+            this.byGrade = graded;
+        }
+
+        return this.byGrade;
+    }
+
+
+    /**
+     * Compares two student indices, without boxing them.
+     */
+    @FunctionalInterface
+    private interface IndexComparator {
+
+        int compare(int a, int b);
+
+    }
+
+
+    /**
+     * Sorts the indices 0 through size - 1 with the given comparator. Ties are broken
+     * by index, so results are stable across calls.
+     *
+     * @param comparator (IndexComparator) compares two student indices.
+     *
+     * @return (int[]) the sorted indices.
+     */
+    private int[] sortIndices(IndexComparator comparator) {
+        int[] result = new int[this.size];
+        for (int i = 0; i < this.size; ++i) {
+            result[i] = i;
+        }
+
+        sort(result, comparator);
+        return result;
+    }
+
+
+    /**
+     * Sorts an array of indices in place. The sort is stable, so indices that compare
+     * equal keep the order they were given in (ascending, for every caller here).
+     *
+     * @param indices    (int[]) the indices to sort.
+     * @param comparator (IndexComparator) compares two indices.
+     */
+    private static void sort(int[] indices, IndexComparator comparator) {
+        int[] scratch = new int[indices.length];
+        int[] from = indices, to = scratch;
+
+        /**
+         * Bottom-up merge sort, alternating between the two arrays rather than copying
+         * back after every pass.
+         */
+        for (int width = 1; width < indices.length; width *= 2) {
+            for (int low = 0; low < indices.length; low += 2 * width) {
+                int middle = Math.min(low + width, indices.length);
+                int high = Math.min(low + 2 * width, indices.length);
+
+                int left = low, right = middle, out = low;
+                while (left < middle && right < high) {
+                    to[out++] = comparator.compare(from[right], from[left]) < 0
+                                ? from[right++] : from[left++];
+                }
+
+                while (left < middle) {
+                    to[out++] = from[left++];
+                }
+
+                while (right < high) {
+                    to[out++] = from[right++];
+                }
+            }
+
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        if (from != indices) {
+            System.arraycopy(from, 0, indices, 0, indices.length);
+        }
+    }
+
+
+    /**
+     * @return (BitSet) a new set containing every student in the table.
+     */
+    public synchronized BitSet everyone() {
+        BitSet result = new BitSet(this.size);
+        result.set(0, this.size);
+        return result;
+    }
+
+
+    /**
+     * @return (BitSet) a new set containing every student that has a grade.
+     */
+    public synchronized BitSet graded() {
+        return (BitSet) this.graded.clone();
+    }
+
+
+    /**
+     * @return (BitSet) a new set containing every student that has no grade.
+     */
+    public synchronized BitSet ungraded() {
+        BitSet result = this.everyone();
+        result.andNot(this.graded);
+        return result;
+    }
+
+
+    /**
+     * @return (BitSet) a new set containing every student whose submission was graded
+     *         without error.
+     */
+    public synchronized BitSet complete() {
+        BitSet result = this.everyone();
+        result.andNot(this.errors);
+        return result;
+    }
+
+
+    /**
+     * Finds every graded student whose grade is above the given score.
+     *
+     * @param score     (double) the threshold.
+     * @param inclusive (boolean) whether a grade equal to the threshold matches.
+     *
+     * @return (BitSet) the matching students.
+     */
+    public synchronized BitSet above(double score, boolean inclusive) {
+        BitSet result = new BitSet(this.size);
+
+        for (int i = this.graded.nextSetBit(0); i >= 0; i = this.graded.nextSetBit(i + 1)) {
+            if (inclusive ? this.grades[i] >= score : this.grades[i] > score) {
+                result.set(i);
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Finds every graded student whose grade is below the given score.
+     *
+     * @param score     (double) the threshold.
+     * @param inclusive (boolean) whether a grade equal to the threshold matches.
+     *
+     * @return (BitSet) the matching students.
+     */
+    public synchronized BitSet below(double score, boolean inclusive) {
+        BitSet result = new BitSet(this.size);
+
+        for (int i = this.graded.nextSetBit(0); i >= 0; i = this.graded.nextSetBit(i + 1)) {
+            if (inclusive ? this.grades[i] <= score : this.grades[i] < score) {
+                result.set(i);
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Finds every graded student whose grade is roughly equal to the given score.
+     *
+     * @param score (double) the score to look for.
+     *
+     * @return (BitSet) the matching students.
+     *
+     * @see Helper#roughlyEqual(double, double)
+     */
+    public synchronized BitSet equalTo(double score) {
+        BitSet result = new BitSet(this.size);
+
+        for (int i = this.graded.nextSetBit(0); i >= 0; i = this.graded.nextSetBit(i + 1)) {
+            if (Helper.roughlyEqual(this.grades[i], score)) {
+                result.set(i);
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Finds every student whose full name contains the given text (case-insensitive).
+     *
+     * @param text (String) the text to look for.
+     *
+     * @return (BitSet) the matching students.
+     */
+    public synchronized BitSet nameContains(String text) {
+        String key = text.toLowerCase(Locale.ROOT);
+        BitSet result = new BitSet(this.size);
+
+        for (int i = 0; i < this.size; ++i) {
+            if (this.firstNameKeys[i].contains(key)) {
+                result.set(i);
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Computes summary statistics over the grades of the given students. Students
+     * without a grade are ignored.
+     *
+     * @param students (BitSet) the students to summarize.
+     *
+     * @return (Summary) the statistics, or null if none of the students has a grade.
+     */
+    public synchronized Summary summarize(BitSet students) {
+        BitSet included = (BitSet) students.clone();
+        included.and(this.graded);
+
+        int count = included.cardinality();
+        if (count == 0) {
+            return null;
+        }
+
+        double[] values = new double[count];
+        double sum = 0.0;
+
+        int j = 0;
+        for (int i = included.nextSetBit(0); i >= 0; i = included.nextSetBit(i + 1)) {
+            values[j++] = this.grades[i];
+            sum += this.grades[i];
+        }
+
+        Arrays.sort(values);
+
+        double median = (count % 2 == 1)
+                ? values[count / 2]
+                : (values[count / 2 - 1] + values[count / 2]) / 2.0;
+
+        return new Summary(count, sum / count, median, values[0], values[count - 1]);
+    }
+
+
+    /**
+     * Summary statistics for a set of grades.
+     */
+    public static class Summary {
+
+        public final int count;
+
+        public final double mean, median, min, max;
+
+        private Summary(int count, double mean, double median, double min, double max) {
+            this.count = count;
+            this.mean = mean;
+            this.median = median;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d graded; mean %.2f, median %.2f, min %.2f, max %.2f",
+                                 count, mean, median, min, max);
+        }
+    }
+
+}
@@ -0,0 +1,675 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.AutoGrade;
+import grader.reflect.ReflectionAssistant;
+import grader.util.Helper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers "what should this return?" using a reference solution, so that grading
+ * scripts don't have to hard-code expected values. Each distinct set of arguments is
+ * only ever given to the reference solution once; after that, the answer comes out of
+ * a cache shared by every student (and every thread). An oracle can also be
+ * {@link #persisted()}, so that its answers are reused by later runs, too.
+ *
+ * <pre>
+ *     private static final Oracle AREA = Oracle.of(ReferenceShape.class, "area");
+ *     ...
+ *     ScriptStaples.compareValues(feedback, 5, "area() is wrong.", AREA,
+ *                                 clazz, shape, "area", 3.0, 4.0);
+ * </pre>
+ *
+ * The reference solution mustn't modify its arguments, since the same arguments are
+ * then given to the student's code. Answers, on the other hand, may be modified freely:
+ * each caller gets its own copy of any answer that isn't immutable, made by
+ * serializing the answer once and deserializing it on every call. An answer that can't
+ * be serialized can't be copied (or persisted), so it's shared by every caller and
+ * must be treated as read-only.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class Oracle {
+
+    /**
+     * A reference solution.
+     */
+    @FunctionalInterface
+    public interface Reference {
+
+        Object compute(Object... args) throws Exception;
+
+    }
+
+
+    /**
+     * Marks the format of persisted answers.
+     */
+    private static final int FORMAT = 0x4F524332;
+
+    /**
+     * Every persisted oracle, so they can all be saved when AutoGrade closes.
+     */
+    private static final ArrayList<Oracle> persisted = new ArrayList<>();
+
+
+    private final String name;
+
+    private final Reference reference;
+
+    /**
+     * Finds the classes of serialized answers, which may well come from the reference
+     * solution rather than from AutoGrade.
+     */
+    private final ClassLoader loader;
+
+    /**
+     * Identifies the version of the reference solution, so that persisted answers from
+     * a different version are thrown away.
+     */
+    private String version;
+
+    private final ConcurrentHashMap<Key, Answer> answers;
+
+    private boolean persistent;
+
+    private boolean loaded;
+
+
+    private Oracle(String name, Reference reference, ClassLoader loader,
+                   String version) {
+        this.name = name;
+        this.reference = reference;
+        this.loader = loader;
+        this.version = version;
+        this.answers = new ConcurrentHashMap<>();
+        this.persistent = false;
+        this.loaded = false;
+    }
+
+
+    /**
+     * Creates an oracle backed by a lambda (or any other Reference).
+     *
+     * @param name      (String) a name for the oracle, unique within the script. It
+     *                  names the file its answers are persisted to.
+     * @param reference (Reference) the reference solution.
+     * @return (Oracle) the oracle.
+     */
+    public static Oracle of(String name, Reference reference) {
+        return new Oracle(name, reference, reference.getClass().getClassLoader(), "");
+    }
+
+
+    /**
+     * Creates an oracle backed by a method of a reference class. Static methods are
+     * called directly; otherwise, each answer comes from a new instance made with the
+     * class's no-argument constructor. The method is picked by the arguments it's
+     * asked about, so overloads are fine, and boxed arguments fit primitive parameters.
+     * Persisted answers are discarded automatically whenever the class's bytecode
+     * changes.
+     *
+     * @param referenceClass (Class<?>) the reference solution.
+     * @param method         (String) the method to call.
+     * @return (Oracle) the oracle.
+     */
+    public static Oracle of(Class<?> referenceClass, String method) {
+        Reference reference = args -> {
+            Method target = findMethod(referenceClass, method, args);
+            target.setAccessible(true);
+
+            Object instance = null;
+            if (!Modifier.isStatic(target.getModifiers())) {
+                instance = ReflectionAssistant.constructObjectNoTimeout(referenceClass);
+            }
+
+            return target.invoke(instance, args);
+        };
+
+        return new Oracle(referenceClass.getName() + "." + method, reference,
+                          referenceClass.getClassLoader(), fingerprint(referenceClass));
+    }
+
+
+    /**
+     * Keeps this oracle's answers in AutoGrade's state directory between runs. If the
+     * reference is a lambda, bump its {@link #revision(int)} whenever it changes.
+     *
+     * @return (Oracle) this oracle.
+     */
+    public Oracle persisted() {
+        synchronized (persisted) {
+            if (!this.persistent) {
+                this.persistent = true;
+                persisted.add(this);
+            }
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Sets the revision of the reference solution. Persisted answers from other
+     * revisions are discarded.
+     *
+     * @param revision (int) the revision.
+     * @return (Oracle) this oracle.
+     */
+    public Oracle revision(int revision) {
+        this.version = this.version + "#" + revision;
+        return this;
+    }
+
+
+    public String getName() {
+        return this.name;
+    }
+
+
+    /**
+     * Returns the reference solution's answer for the given arguments, computing it only
+     * if it hasn't been computed before.
+     *
+     * @param args (Object...) the arguments.
+     * @return (Object) the answer. Unless it can't be serialized, this is a copy that
+     *         belongs to the caller.
+     *
+     * @throws ManualGradingError thrown if the reference solution itself fails.
+     */
+    public Object expect(Object... args) throws ManualGradingError {
+        this.load();
+
+        Key key = new Key(args);
+        Answer answer = this.answers.get(key);
+
+        if (answer == null) {
+            /**
+             * computeIfAbsent() makes sure that threads asking the same question at the
+             * same time wait for a single answer, rather than each computing their own.
+             */
+            try {
+                answer = this.answers.computeIfAbsent(key, unused -> {
+                    try {
+                        return new Answer(this.reference.compute(args), this.loader);
+                    } catch (final Exception e) {
+                        throw new ReferenceFailure(e);
+                    }
+                });
+            }
+
+            catch (final ReferenceFailure failure) {
+                Throwable cause = failure.getCause();
+                if (cause instanceof InvocationTargetException) {
+                    cause = ReflectionAssistant.getTrueException(
+                            (InvocationTargetException) cause);
+                }
+
+                throw new ManualGradingError("The reference solution " + this.name
+                        + " failed on " + Arrays.deepToString(args) + ": " + cause);
+            }
+        }
+
+        return answer.copy(this.loader);
+    }
+
+
+    /**
+     * Like {@link #expect(Object...)}, but casts the answer.
+     *
+     * @param type (Class<R>) the type of the answer.
+     * @param args (Object...) the arguments.
+     * @param <R>  the type of the answer.
+     * @return (R) the answer.
+     *
+     * @throws ManualGradingError thrown if the reference solution fails, or doesn't
+     *         answer with the given type.
+     */
+    public <R> R expect(Class<R> type, Object... args) throws ManualGradingError {
+        Object answer = this.expect(args);
+
+        if (answer != null && !type.isInstance(answer)) {
+            throw new ManualGradingError("The reference solution " + this.name
+                    + " returned a(n) " + answer.getClass().getSimpleName()
+                    + " instead of a(n) " + type.getSimpleName());
+        }
+
+        return type.cast(answer);
+    }
+
+
+    /**
+     * @return (int) how many distinct answers this oracle knows.
+     */
+    public int size() {
+        return this.answers.size();
+    }
+
+
+    /**
+     * Forgets every persisted oracle without saving it, so that {@link #saveAll()}
+     * won't save oracles from an earlier session into a later one's state directory.
+     */
+    public static void forgetAll() {
+        synchronized (persisted) {
+            persisted.clear();
+        }
+    }
+
+
+    /**
+     * Saves the answers of every persisted oracle. Answers that can't be serialized
+     * are left out.
+     */
+    public static void saveAll() {
+        synchronized (persisted) {
+            for (Oracle oracle : persisted) {
+                try {
+                    oracle.save();
+                } catch (final IOException e) {
+                    System.out.println("Could not save the answers of " + oracle.name
+                                       + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+
+    private File file() {
+        String safeName = this.name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return new File(AutoGrade.stateDirectory(), "oracle-" + safeName + ".bin");
+    }
+
+
+    /**
+     * Loads persisted answers, the first time the oracle is used.
+     */
+    private synchronized void load() {
+        if (this.loaded) {
+            return;
+        }
+
+        this.loaded = true;
+        if (!this.persistent) {
+            return;
+        }
+
+        File file = this.file();
+        if (!file.isFile()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != FORMAT || !this.version.equals(in.readUTF())) {
+                return;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; ++i) {
+                Object[] args = (Object[]) deserialize(readBytes(in), this.loader);
+                byte[] answer = readBytes(in);
+
+                this.answers.putIfAbsent(new Key(args),
+                        new Answer(deserialize(answer, this.loader), answer));
+            }
+        }
+
+        catch (final IOException | ClassNotFoundException | ClassCastException e) {
+            /**
+             * Whatever was read is still good; anything else will be recomputed.
+             */
+        }
+    }
+
+
+    /**
+     * Writes out every answer whose arguments and answer can both be serialized. Each
+     * one is serialized on its own first, so one that can't be (say, a list holding
+     * something that isn't Serializable) is simply left out.
+     */
+    private void save() throws IOException {
+        if (!this.loaded || this.answers.isEmpty()) {
+            return;
+        }
+
+        ArrayList<byte[]> saveable = new ArrayList<>();
+        for (Map.Entry<Key, Answer> entry : this.answers.entrySet()) {
+            Answer answer = entry.getValue();
+            byte[] args, value;
+
+            try {
+                args = serialize(entry.getKey().args);
+                value = answer.serialized != null ? answer.serialized
+                                                  : serialize(answer.value);
+            } catch (final IOException e) {
+                // It's recomputed next time instead.
+                continue;
+            }
+
+            saveable.add(args);
+            saveable.add(value);
+        }
+
+        File file = this.file();
+        Path temporary = new File(file.getPath() + ".tmp").toPath();
+        Files.createDirectories(temporary.getParent());
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temporary)))) {
+                out.writeInt(FORMAT);
+                out.writeUTF(this.version);
+                out.writeInt(saveable.size() / 2);
+
+                for (byte[] bytes : saveable) {
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+
+            Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+
+        return bytes.toByteArray();
+    }
+
+
+    /**
+     * Reads back what {@link #serialize(Object)} wrote, finding classes through the
+     * given loader first.
+     */
+    private static Object deserialize(byte[] serialized, ClassLoader loader)
+            throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(serialized)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass description)
+                    throws IOException, ClassNotFoundException {
+                try {
+                    return Class.forName(description.getName(), false, loader);
+                } catch (final ClassNotFoundException e) {
+                    return super.resolveClass(description);
+                }
+            }
+        }) {
+            return in.readObject();
+        }
+    }
+
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+
+    /**
+     * Finds the method the arguments fit. A parameter fits an argument of its own type
+     * or a subtype, a primitive parameter fits its boxed type, and null fits any
+     * parameter that isn't primitive. If more than one overload fits, the most specific
+     * one is used.
+     */
+    private static Method findMethod(Class<?> clazz, String name, Object... args)
+            throws NoSuchMethodException {
+        ArrayList<Method> candidates = new ArrayList<>(Arrays.asList(clazz.getMethods()));
+        candidates.addAll(Arrays.asList(clazz.getDeclaredMethods()));
+
+        Method best = null;
+        for (Method method : candidates) {
+            if (method.getName().equals(name) && fits(method.getParameterTypes(), args)
+                    && (best == null || moreSpecific(method, best))) {
+                best = method;
+            }
+        }
+
+        if (best == null) {
+            throw new NoSuchMethodException(clazz.getName() + "." + name
+                                            + " taking " + Arrays.deepToString(args));
+        }
+
+        return best;
+    }
+
+
+    private static boolean fits(Class<?>[] parameters, Object[] args) {
+        if (parameters.length != args.length) {
+            return false;
+        }
+
+        for (int i = 0; i < args.length; ++i) {
+            if (args[i] == null ? parameters[i].isPrimitive()
+                                : !box(parameters[i]).isInstance(args[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    private static boolean moreSpecific(Method method, Method than) {
+        Class<?>[] mine = method.getParameterTypes(), theirs = than.getParameterTypes();
+        for (int i = 0; i < mine.length; ++i) {
+            if (!box(theirs[i]).isAssignableFrom(box(mine[i]))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    private static Class<?> box(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+
+    private static String fingerprint(Class<?> clazz) {
+        String resource = "/" + clazz.getName().replace('.', '/') + ".class";
+
+        try (InputStream code = clazz.getResourceAsStream(resource)) {
+            if (code != null) {
+                byte[] hash = Helper.sha256(code.readAllBytes());
+                return Base64.getEncoder().encodeToString(hash);
+            }
+        }
+
+        catch (final IOException e) {
+            // Fall through and settle for the name.
+        }
+
+        return clazz.getName();
+    }
+
+
+    /**
+     * Carries a reference solution's exception out of computeIfAbsent().
+     */
+    private static final class ReferenceFailure extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        ReferenceFailure(Exception cause) {
+            super(cause);
+        }
+    }
+
+
+    /**
+     * An answer, along with what's needed to hand out copies of it.
+     */
+    private static final class Answer {
+
+        private final Object value;
+
+        /**
+         * The answer, serialized; or null if it's immutable (so there's no need to copy
+         * it) or can't be serialized (so there's no way to).
+         */
+        private final byte[] serialized;
+
+        /**
+         * Takes an answer that was read back from disk.
+         */
+        Answer(Object value, byte[] serialized) {
+            this.value = value;
+            this.serialized = immutable(value) ? null : serialized;
+        }
+
+        /**
+         * Serializes a freshly computed answer, unless it's immutable. The copy is
+         * tried out once here, so that copying can't fail later on.
+         */
+        Answer(Object value, ClassLoader loader) {
+            byte[] serialized = null;
+
+            if (!immutable(value)) {
+                try {
+                    serialized = serialize(value);
+                    deserialize(serialized, loader);
+                } catch (final IOException | ClassNotFoundException
+                               | RuntimeException e) {
+                    serialized = null;
+                }
+            }
+
+            this.value = value;
+            this.serialized = serialized;
+        }
+
+        Object copy(ClassLoader loader) throws ManualGradingError {
+            if (this.serialized == null) {
+                return this.value;
+            }
+
+            try {
+                return deserialize(this.serialized, loader);
+            } catch (final IOException | ClassNotFoundException e) {
+                throw new ManualGradingError("Could not copy an answer: " + e);
+            }
+        }
+
+        private static boolean immutable(Object value) {
+            return value == null || value instanceof String || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum
+                || value instanceof Byte || value instanceof Short
+                || value instanceof Integer || value instanceof Long
+                || value instanceof Float || value instanceof Double
+                || value instanceof BigInteger || value instanceof BigDecimal;
+        }
+    }
+
+
+    /**
+     * A set of arguments, compared by content. The arguments are copied (arrays
+     * included), so that changing them afterwards doesn't change the key.
+     */
+    private static final class Key {
+
+        private final Object[] args;
+
+        private final int hash;
+
+        Key(Object[] args) {
+            this.args = (Object[]) copy(args);
+            this.hash = Arrays.deepHashCode(this.args);
+        }
+
+        private static Object copy(Object value) {
+            if (value == null || !value.getClass().isArray()) {
+                return value;
+            }
+
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+
+            for (int i = 0; i < length; ++i) {
+                Array.set(copy, i, copy(Array.get(value, i)));
+            }
+
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key
+                && Arrays.deepEquals(this.args, ((Key) other).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+}
@@ -0,0 +1,668 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps graded results on disk so that they survive the end of a session.
+ *
+ * The store is a single file: a short header followed by one record per student.
+ * Records are only ever appended, and when a student appears more than once, the last
+ * record wins, so updating a student's results is just another append. Every record
+ * carries its length and a checksum, so a record that was only partially written (for
+ * instance, because AutoGrade was killed mid-write) is recognized and ignored along
+ * with anything after it. The file is read by mapping it into memory.
+ *
+ * Each record holds the student's name, their submission files (by name) with the
+ * SHA-256 hash of each file, their grade and notes from each source, whatever error
+ * occurred while grading them, and whether their files are being saved.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class ResultStore {
+
+    /**
+     * "AGRS", for AutoGrade result store.
+     */
+    private static final int MAGIC = 0x41475253;
+
+    private static final int VERSION = 2;
+
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * The magic number, the version, and the fingerprint of the grading scripts.
+     */
+    private static final int HEADER_LENGTH = 8 + HASH_LENGTH;
+
+    private static final byte HAS_FEEDBACK = 1;
+    private static final byte HAS_ERROR    = 1 << 1;
+    private static final byte SAVED        = 1 << 2;
+    private static final byte SAVE_MANUAL  = 1 << 3;
+
+
+    /**
+     * The file backing this store.
+     */
+    private final Path file;
+
+    /**
+     * Identifies the grading scripts (and settings) that produced the results being
+     * written. Written into the header of new stores.
+     */
+    private byte[] fingerprint;
+
+    /**
+     * The fingerprint found in the header the last time the store was loaded.
+     */
+    private byte[] storedFingerprint;
+
+
+    /**
+     * The students found the last time the store was loaded whose submission files no
+     * longer exist.
+     */
+    private final ArrayList<String> missingSubmissions = new ArrayList<>();
+
+
+    public ResultStore(Path file) {
+        this.file = file;
+        this.fingerprint = new byte[HASH_LENGTH];
+        this.storedFingerprint = null;
+    }
+
+
+    /**
+     * Sets the fingerprint of the scripts producing the results about to be written.
+     *
+     * @param fingerprint (byte[]) a 32-byte fingerprint.
+     */
+    public void setFingerprint(byte[] fingerprint) {
+        if (fingerprint.length != HASH_LENGTH) {
+            throw new IllegalArgumentException("Fingerprints must be " + HASH_LENGTH
+                                               + " bytes long");
+        }
+
+        this.fingerprint = fingerprint.clone();
+    }
+
+
+    /**
+     * Returns the fingerprint of the scripts that produced the stored results, as read
+     * by the last call to {@link #load(Function)}.
+     *
+     * @return (byte[]) the fingerprint, or null if nothing has been loaded.
+     */
+    public byte[] getStoredFingerprint() {
+        return this.storedFingerprint;
+    }
+
+
+    /**
+     * Lists the students whose submission files had disappeared when the store was last
+     * loaded. They're still loaded, with their results, but their missing files are
+     * placeholders that can't be read.
+     *
+     * @return (List<String>) the students' names, in the order they were recorded.
+     */
+    public List<String> getMissingSubmissions() {
+        return this.missingSubmissions;
+    }
+
+
+    public Path getFile() {
+        return this.file;
+    }
+
+
+    public boolean exists() {
+        return Files.isRegularFile(this.file);
+    }
+
+
+    /**
+     * Appends a record for each of the given students, creating the store if necessary.
+     *
+     * @param students (Collection<Student>) the students to record.
+     * @param force    (boolean) whether to wait for the data to reach the disk.
+     *
+     * @throws IOException thrown if the store cannot be written.
+     */
+    public void append(Collection<Student> students, boolean force) throws IOException {
+        try (Appender appender = this.openAppender()) {
+            for (Student student : students) {
+                appender.append(student);
+            }
+
+            if (force) {
+                appender.force();
+            }
+        }
+    }
+
+
+    /**
+     * Opens the store for a series of appends, creating it if necessary. If the store
+     * ends with a partially written record, that record is cut off first so that new
+     * records aren't hidden behind it.
+     *
+     * @return (Appender) the appender. It must be closed when done.
+     *
+     * @throws IOException thrown if the store cannot be opened.
+     */
+    public Appender openAppender() throws IOException {
+        FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            long end = validLength(channel);
+            if (end < HEADER_LENGTH) {
+                channel.truncate(0);
+                channel.write(this.header(), 0);
+                end = HEADER_LENGTH;
+            } else if (end < channel.size()) {
+                channel.truncate(end);
+            }
+
+            channel.position(end);
+            return new Appender(channel);
+        }
+
+        catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Deletes the store, if it exists.
+     *
+     * @throws IOException thrown if the store exists but cannot be deleted.
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+
+    /**
+     * Finds where the last intact record in the store ends.
+     *
+     * @return (long) the offset just past the last intact record, or 0 if the store
+     *         doesn't even have a valid header.
+     */
+    private static long validLength(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_LENGTH) {
+            return 0;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(8);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            return 0;
+        }
+
+        ByteBuffer prefix = ByteBuffer.allocate(8);
+        long position = HEADER_LENGTH;
+
+        while (position + 8 <= size) {
+            prefix.clear();
+            channel.read(prefix, position);
+            prefix.flip();
+
+            int length = prefix.getInt();
+            int checksum = prefix.getInt();
+            if (length < 0 || position + 8 + length > size) {
+                break;
+            }
+
+            ByteBuffer record = ByteBuffer.allocate(length);
+            channel.read(record, position + 8);
+            record.flip();
+
+            if (checksum(record) != checksum) {
+                break;
+            }
+
+            position += 8 + length;
+        }
+
+        return position;
+    }
+
+
+    /**
+     * Replaces the store with exactly one record per given student, dropping any
+     * superseded records. The new store is written next to the old one and then moved
+     * into place, so the old one stays intact if anything goes wrong.
+     *
+     * @param students (Collection<Student>) every student to keep.
+     *
+     * @throws IOException thrown if the store cannot be written.
+     */
+    public void rewrite(Collection<Student> students) throws IOException {
+        Path temporary = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(this.header());
+            for (Student student : students) {
+                channel.write(encode(student));
+            }
+
+            channel.force(false);
+        }
+
+        Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+
+    /**
+     * Reads every student out of the store.
+     *
+     * @param locator (Function<String, File>) maps the name of a submission file back to
+     *                the file itself, wherever the submissions are being read from, or
+     *                to null if it no longer exists (see
+     *                {@link #getMissingSubmissions()}).
+     *
+     * @return (LinkedHashMap<String, Student>) the students, keyed by their lowercase
+     *         names, in the order they were first recorded. Students are not enrolled.
+     *
+     * @throws IOException thrown if the store cannot be read, or isn't a result store.
+     */
+    public LinkedHashMap<String, Student> load(Function<String, File> locator)
+            throws IOException {
+        LinkedHashMap<String, Student> students = new LinkedHashMap<>();
+        this.missingSubmissions.clear();
+
+        if (!this.exists()) {
+            return students;
+        }
+
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_LENGTH) {
+                return students;
+            }
+
+            MappedByteBuffer buffer
+                    = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException(this.file + " is not an AutoGrade result store");
+            }
+
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException(this.file + " was written by an incompatible " +
+                        "version of AutoGrade (format " + version + ")");
+            }
+
+            this.storedFingerprint = new byte[HASH_LENGTH];
+            buffer.get(this.storedFingerprint);
+
+            while (buffer.remaining() >= 8) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+
+                if (length < 0 || length > buffer.remaining()) {
+                    break;
+                }
+
+                ByteBuffer record = buffer.slice();
+                record.limit(length);
+                buffer.position(buffer.position() + length);
+
+                if (checksum(record.duplicate()) != checksum) {
+                    break;
+                }
+
+                Student student = decode(record, locator, this.missingSubmissions);
+                if (student != null) {
+                    students.put(student.getTrueName().toLowerCase(), student);
+                }
+            }
+        }
+
+        return students;
+    }
+
+
+    /**
+     * Appends records to the store through a channel that stays open, so that writing a
+     * record costs a single write. Records can optionally be forced to disk
+     * periodically rather than every time.
+     */
+    public class Appender implements Closeable {
+
+        private final FileChannel channel;
+
+        /**
+         * How often to force appended records to disk, in milliseconds; or -1 to only
+         * force them when asked.
+         */
+        private long forceInterval = -1;
+
+        private long lastForced = System.currentTimeMillis();
+
+        private boolean dirty = false;
+
+
+        private Appender(FileChannel channel) {
+            this.channel = channel;
+        }
+
+
+        /**
+         * Forces records to disk automatically whenever this much time has passed
+         * since they were last forced.
+         *
+         * @param millis (long) the interval, in milliseconds.
+         * @return (Appender) this appender, for chaining.
+         */
+        public Appender forceEvery(long millis) {
+            this.forceInterval = millis;
+            return this;
+        }
+
+
+        public synchronized void append(Student student) throws IOException {
+            this.channel.write(encode(student));
+            this.dirty = true;
+
+            long sinceForced = System.currentTimeMillis() - this.lastForced;
+            if (this.forceInterval >= 0 && sinceForced >= this.forceInterval) {
+                this.force();
+            }
+        }
+
+
+        public synchronized void force() throws IOException {
+            if (this.dirty && this.channel.isOpen()) {
+                this.channel.force(false);
+                this.dirty = false;
+            }
+
+            this.lastForced = System.currentTimeMillis();
+        }
+
+
+        /**
+         * Forces anything outstanding to disk and closes the store. This is safe to
+         * call more than once, and from a shutdown hook; failures are ignored, since
+         * every record already written is still recoverable.
+         */
+        @Override
+        public synchronized void close() {
+            try {
+                this.force();
+                this.channel.close();
+            } catch (final IOException e) {
+                // Nothing more can be done.
+            }
+        }
+
+    }
+
+
+    private ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(MAGIC).putInt(VERSION).put(this.fingerprint).flip();
+        return header;
+    }
+
+
+    /**
+     * Encodes a student as a complete record, including its length and checksum.
+     */
+    private static ByteBuffer encode(Student student) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        writeString(out, student.getTrueName());
+
+        List<ELCSubmission> submissions = student.getSubmissions();
+        out.writeInt(submissions.size());
+        for (ELCSubmission submission : submissions) {
+            writeString(out, submission.getFile().getName());
+
+            byte[] hash;
+            try {
+                hash = submission.getHash();
+            } catch (final IOException e) {
+                hash = new byte[HASH_LENGTH];
+            }
+
+            out.write(hash);
+        }
+
+        Feedback feedback = student.getFeedback();
+        Throwable error = student.getError();
+
+        byte flags = 0;
+        if (feedback != null)              flags |= HAS_FEEDBACK;
+        if (error != null)                 flags |= HAS_ERROR;
+        if (student.isSaved())             flags |= SAVED;
+        if (student.isSaveManuallySet())   flags |= SAVE_MANUAL;
+        out.writeByte(flags);
+
+        if (feedback != null) {
+            out.writeDouble(feedback.getGrade());
+
+            ArrayList<String> sources = feedback.getAllSources();
+            out.writeInt(sources.size());
+            for (String source : sources) {
+                writeString(out, source);
+
+                ArrayList<String> notes = feedback.getNotes(source);
+                out.writeInt(notes.size());
+                for (String note : notes) {
+                    writeString(out, note);
+                }
+            }
+        }
+
+        if (error != null) {
+            writeString(out, error.getClass().getName());
+            writeString(out, error.getMessage() == null ? "" : error.getMessage());
+        }
+
+        out.flush();
+        byte[] payload = bytes.toByteArray();
+
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+        record.putInt(payload.length);
+        record.putInt(checksum(ByteBuffer.wrap(payload)));
+        record.put(payload);
+        record.flip();
+
+        return record;
+    }
+
+
+    /**
+     * Decodes a record back into a Student.
+     *
+     * @param missing (List<String>) where to list the student's name if any of their
+     *                files no longer exist.
+     *
+     * @return (Student) the student, or null if the record names no files from eLC.
+     */
+    private static Student decode(ByteBuffer record, Function<String, File> locator,
+                                  List<String> missing) throws IOException {
+        try {
+            String name = readString(record);
+
+            Student student = null;
+            boolean filesMissing = false;
+            int submissionCount = record.getInt();
+            for (int i = 0; i < submissionCount; ++i) {
+                String fileName = readString(record);
+                byte[] hash = new byte[HASH_LENGTH];
+                record.get(hash);
+
+                /**
+                 * A file that has since been deleted is kept as a placeholder, so that
+                 * the student's results aren't lost along with it. Its recorded hash
+                 * still works for comparing it with other submissions.
+                 */
+                File file = locator.apply(fileName);
+                if (file == null) {
+                    file = new File(fileName);
+                    filesMissing = true;
+                }
+
+                ELCSubmission submission = ELCSubmission.parse(file);
+                if (submission == null) {
+                    continue;
+                }
+
+                submission.setHash(hash);
+
+                if (student == null) {
+                    student = new Student(submission);
+                } else {
+                    student.addFile(submission);
+                }
+            }
+
+            byte flags = record.get();
+
+            Feedback feedback = null;
+            if ((flags & HAS_FEEDBACK) != 0) {
+                double grade = record.getDouble();
+
+                int sourceCount = record.getInt();
+                for (int i = 0; i < sourceCount; ++i) {
+                    String source = readString(record);
+                    if (feedback == null) {
+                        feedback = new Feedback(source);
+                    } else {
+                        feedback.setSource(source);
+                    }
+
+                    int noteCount = record.getInt();
+                    for (int j = 0; j < noteCount; ++j) {
+                        feedback.addNote(readString(record));
+                    }
+                }
+
+                if (feedback == null) {
+                    feedback = new Feedback("AutoGrade");
+                }
+
+                feedback.assignGrade(grade);
+            }
+
+            Throwable error = null;
+            if ((flags & HAS_ERROR) != 0) {
+                String type = readString(record);
+                String message = readString(record);
+
+                error = type.equals(ManualGradingError.class.getName())
+                        ? new ManualGradingError(message)
+                        : new ManualGradingError(type.substring(type.lastIndexOf('.') + 1)
+                                                 + ": " + message);
+            }
+
+            if (student == null) {
+                return null;
+            }
+
+            if (filesMissing) {
+                missing.add(name);
+            }
+
+            if (!student.getTrueName().equals(name)) {
+                student.setName(name);
+            }
+
+            student.setScore(feedback);
+            student.appendException(error);
+            student.restoreSaveState((flags & SAVED) != 0, (flags & SAVE_MANUAL) != 0);
+
+            return student;
+        }
+
+        catch (final BufferUnderflowException e) {
+            throw new IOException("Corrupt record in result store", e);
+        }
+    }
+
+
+    private static void writeString(DataOutputStream out, String value)
+            throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        return (int) crc.getValue();
+    }
+
+}
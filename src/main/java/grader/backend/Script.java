@@ -32,6 +32,10 @@ import java.io.File;
 /**
  * Represents a grading script that can be used for AutoGrade.
  *
+ * Scripts that check students' answers against a reference solution can get expected
+ * values from an {@link Oracle}, which computes each answer once for the whole cohort.
+ * Scripts made up of individual tests should implement {@link TestSuite} instead.
+ *
  * @author  Sahir Shahryar
  * @since   Monday, January 15, 2018
  * @version 1.0.0
@@ -0,0 +1,347 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.reflect.SourceUtilities;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finds students whose submissions look alike, even after renaming variables,
+ * reformatting, or rewriting comments.
+ *
+ * Each submission is tokenized (see {@link SourceUtilities#tokenize(java.io.File)}),
+ * every run of {@link #K} consecutive tokens is hashed, and a few of those hashes are
+ * picked out by winnowing: of every {@link #WINDOW} consecutive hashes, the smallest is
+ * kept. Any passage at least K + WINDOW - 1 tokens long that two submissions share is
+ * guaranteed to give them a fingerprint in common. Fingerprints are then indexed by
+ * which students have them, so only students who actually share something are ever
+ * compared; nobody has to be compared against everybody.
+ *
+ * Fingerprints shared by too many students (such as those from starter code) say
+ * nothing about copying, and are ignored.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class SimilarityIndex {
+
+    /**
+     * The number of tokens hashed together into each fingerprint.
+     */
+    public static final int K = 12;
+
+    /**
+     * The number of consecutive hashes that winnowing picks one fingerprint from.
+     */
+    public static final int WINDOW = 8;
+
+    /**
+     * Pairs sharing fewer fingerprints than this aren't reported.
+     */
+    private static final int MIN_SHARED = 4;
+
+    /**
+     * Fingerprints shared by more than this many students (or a tenth of them, if
+     * that's more) are treated as common code and ignored.
+     */
+    private static final int COMMON_MINIMUM = 10;
+
+    private static final long BASE = 1_000_003L;
+
+
+    /**
+     * Two students and how much their submissions have in common.
+     */
+    public static final class Match {
+
+        private final Student first;
+
+        private final Student second;
+
+        private final int shared;
+
+        private final double similarity;
+
+        Match(Student first, Student second, int shared, double similarity) {
+            this.first = first;
+            this.second = second;
+            this.shared = shared;
+            this.similarity = similarity;
+        }
+
+        public Student getFirst() {
+            return this.first;
+        }
+
+        public Student getSecond() {
+            return this.second;
+        }
+
+        /**
+         * @return (int) the number of fingerprints the two submissions share.
+         */
+        public int getShared() {
+            return this.shared;
+        }
+
+        /**
+         * @return (double) the shared fingerprints as a fraction of the smaller
+         *         submission's fingerprints, from 0 to 1.
+         */
+        public double getSimilarity() {
+            return this.similarity;
+        }
+    }
+
+
+    /**
+     * A student's fingerprints, along with the hash of the submission they came from.
+     */
+    private static final class Entry {
+
+        private final byte[] submission;
+
+        private final long[] fingerprints;
+
+        Entry(byte[] submission, long[] fingerprints) {
+            this.submission = submission;
+            this.fingerprints = fingerprints;
+        }
+    }
+
+
+    /**
+     * Fingerprints are only recomputed when a student's submission changes.
+     */
+    private final IdentityHashMap<Student, Entry> entries;
+
+
+    public SimilarityIndex() {
+        this.entries = new IdentityHashMap<>();
+    }
+
+
+    /**
+     * Finds the most similar pairs of submissions among the given students.
+     *
+     * @param students (Collection<Student>) the students to compare.
+     * @param count    (int) the maximum number of pairs to return.
+     * @return (List<Match>) the most similar pairs, most similar first.
+     */
+    public synchronized List<Match> mostSimilar(Collection<Student> students, int count) {
+        Student[] cohort = students.toArray(new Student[0]);
+        long[][] fingerprints = new long[cohort.length][];
+
+        for (int i = 0; i < cohort.length; ++i) {
+            fingerprints[i] = this.fingerprintsOf(cohort[i]);
+        }
+
+        /**
+         * The inverted index: which students have each fingerprint.
+         */
+        HashMap<Long, ArrayList<Integer>> postings = new HashMap<>();
+        for (int i = 0; i < cohort.length; ++i) {
+            for (long fingerprint : fingerprints[i]) {
+                postings.computeIfAbsent(fingerprint, f -> new ArrayList<>(2)).add(i);
+            }
+        }
+
+        int common = Math.max(COMMON_MINIMUM, cohort.length / 10);
+        HashMap<Long, Integer> pairs = new HashMap<>();
+
+        for (ArrayList<Integer> holders : postings.values()) {
+            if (holders.size() < 2 || holders.size() > common) {
+                continue;
+            }
+
+            for (int a = 0; a < holders.size(); ++a) {
+                for (int b = a + 1; b < holders.size(); ++b) {
+                    long pair = ((long) holders.get(a) << 32) | holders.get(b);
+                    pairs.merge(pair, 1, Integer::sum);
+                }
+            }
+        }
+
+        ArrayList<Match> matches = new ArrayList<>();
+        for (Map.Entry<Long, Integer> pair : pairs.entrySet()) {
+            int a = (int) (pair.getKey() >>> 32),
+                b = (int) (long) pair.getKey();
+
+            int shared = pair.getValue();
+            if (shared < MIN_SHARED) {
+                continue;
+            }
+
+            int smaller = Math.min(fingerprints[a].length, fingerprints[b].length);
+            matches.add(new Match(cohort[a], cohort[b], shared,
+                                  Math.min(1.0, shared / (double) smaller)));
+        }
+
+        matches.sort(Comparator.comparingDouble(Match::getSimilarity)
+                               .thenComparingInt(Match::getShared)
+                               .reversed());
+
+        return matches.size() > count ? new ArrayList<>(matches.subList(0, count))
+                                      : matches;
+    }
+
+
+    /**
+     * Returns the student's fingerprints, computing them if their submission is new or
+     * has changed.
+     */
+    private long[] fingerprintsOf(Student student) {
+        byte[] submission;
+        try {
+            submission = student.getSubmissionHash();
+        } catch (final IOException e) {
+            this.entries.remove(student);
+            return new long[0];
+        }
+
+        Entry entry = this.entries.get(student);
+        if (entry == null || !Arrays.equals(entry.submission, submission)) {
+            entry = new Entry(submission, fingerprint(student));
+            this.entries.put(student, entry);
+        }
+
+        return entry.fingerprints;
+    }
+
+
+    /**
+     * Computes the winnowed fingerprints of all of a student's Java files, taken
+     * together in order of file name.
+     *
+     * @return (long[]) the distinct fingerprints, sorted.
+     */
+    static long[] fingerprint(Student student) {
+        ArrayList<ELCSubmission> submissions = new ArrayList<>(student.getSubmissions());
+        submissions.sort(Comparator.comparing(
+                submission -> submission.getFileName().toLowerCase(Locale.ROOT)));
+
+        ArrayList<String> tokens = new ArrayList<>();
+        for (ELCSubmission submission : submissions) {
+            if (submission.getFileName().toLowerCase(Locale.ROOT).endsWith(".java")) {
+                try {
+                    tokens.addAll(SourceUtilities.tokenize(submission.getFile()));
+                } catch (final ManualGradingError e) {
+                    // An unreadable file contributes nothing.
+                }
+            }
+        }
+
+        return winnow(tokens);
+    }
+
+
+    /**
+     * Hashes every K consecutive tokens, then keeps the smallest hash of every WINDOW
+     * consecutive hashes (the rightmost, if there's a tie).
+     *
+     * @param tokens (List<String>) the tokens.
+     * @return (long[]) the distinct fingerprints, sorted.
+     */
+    public static long[] winnow(List<String> tokens) {
+        int grams = tokens.size() - K + 1;
+        if (grams <= 0) {
+            return new long[0];
+        }
+
+        long[] hashes = new long[grams];
+        long power = 1, hash = 0;
+        for (int i = 0; i < K - 1; ++i) {
+            power *= BASE;
+        }
+
+        for (int i = 0; i < tokens.size(); ++i) {
+            if (i >= K) {
+                hash -= mix(tokens.get(i - K)) * power;
+            }
+
+            hash = hash * BASE + mix(tokens.get(i));
+
+            if (i >= K - 1) {
+                hashes[i - K + 1] = hash;
+            }
+        }
+
+        long[] selected = new long[grams];
+        int count = 0, lastPicked = -1;
+        int windows = Math.max(1, grams - WINDOW + 1);
+
+        for (int start = 0; start < windows; ++start) {
+            int end = Math.min(grams, start + WINDOW);
+            int minimum = start;
+
+            for (int i = start + 1; i < end; ++i) {
+                if (hashes[i] <= hashes[minimum]) {
+                    minimum = i;
+                }
+            }
+
+            if (minimum != lastPicked) {
+                selected[count++] = hashes[minimum];
+                lastPicked = minimum;
+            }
+        }
+
+        long[] fingerprints = Arrays.copyOf(selected, count);
+        Arrays.sort(fingerprints);
+
+        int distinct = 0;
+        for (int i = 0; i < fingerprints.length; ++i) {
+            if (i == 0 || fingerprints[i] != fingerprints[i - 1]) {
+                fingerprints[distinct++] = fingerprints[i];
+            }
+        }
+
+        return Arrays.copyOf(fingerprints, distinct);
+    }
+
+
+    /**
+     * Spreads a token's hash code across all 64 bits.
+     */
+    private static long mix(String token) {
+        long x = token.hashCode() * 0x9E3779B97F4A7C15L;
+        return x ^ (x >>> 31);
+    }
+
+}
@@ -28,9 +28,20 @@
 package grader.backend;
 
 import grader.AutoGrade;
+import grader.util.Helper;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.regex.Matcher;
 
 /**
  * Represents a student whose submission is being graded.
@@ -52,6 +63,13 @@ public class Student implements Comparable<Student> {
     private ArrayList<ELCSubmission> entries;
 
 
+    /**
+     * Maps each of the student's file names (in lowercase) to that file's position in
+     * {@link #entries}, so that resubmissions can replace older copies in constant time.
+     */
+    private HashMap<String, Integer> entryIndices;
+
+
     /**
      * The Feedback (score + notes) associated with this student's submission.
      */
@@ -82,6 +100,22 @@ public class Student implements Comparable<Student> {
     private boolean saveManuallySet;
 
 
+    /**
+     * The student's position in the roster kept by {@link AutoGrade}. This is assigned
+     * once, when the student is first ingested, and lets selections of students be
+     * represented as bitsets rather than lists. It is -1 if the student was never
+     * enrolled.
+     */
+    private int index;
+
+
+    /**
+     * How long the student's last grading took, in nanoseconds, or 0 if they haven't
+     * been graded during this run.
+     */
+    private volatile long gradingTime;
+
+
     /**
      * Initializes a new Student with the given file as their first linked file. The
      * student's name is determined automatically if possible.
@@ -90,16 +124,18 @@ public class Student implements Comparable<Student> {
      */
     public Student(ELCSubmission entry) {
         this.name = entry.getStudentName();
-        
 
         this.entries = new ArrayList<>();
-        this.entries.add(entry);
+        this.entryIndices = new HashMap<>();
+        this.addFile(entry);
 
         this.score = null;
         this.error = null;
 
         this.save = false;
         this.saveManuallySet = false;
+
+        this.index = -1;
     }
 
 
@@ -154,11 +190,47 @@ public class Student implements Comparable<Student> {
      */
     public void setName(String name) {
         this.name = name;
+        AutoGrade.accessGradeTable().rename(this);
     }
 
 
     /**
-     * Fetches a file that is associated with this student.
+     * Returns the student's position in the roster.
+     *
+     * @return (int) the dense index assigned to this student at ingestion time, or -1
+     *         if the student has not been enrolled.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+
+    /**
+     * Assigns the student's position in the roster. This should only be called by
+     * {@link AutoGrade#enroll(Student)}.
+     *
+     * @param index (int) the student's new index.
+     */
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+
+    public long getGradingTime() {
+        return this.gradingTime;
+    }
+
+
+    public void setGradingTime(long nanos) {
+        this.gradingTime = nanos;
+    }
+
+
+    /**
+     * Fetches a file that is associated with this student. A file inside an eLC
+     * archive is an {@link ArchivedFile}: {@link grader.reflect.InternalCompiler} and
+     * anything that reads through {@link File#toPath()} can read it where it is, but
+     * FileReader and Scanner can't, so read it with {@link #openSubmission(String)}.
      *
      * @param name (String) the name of the file. Only relevant if the student has
      *             multiple files to their name; if there's only one file, the only
@@ -175,10 +247,9 @@ public class Student implements Comparable<Student> {
             return this.entries.get(0).getFile();
         }
 
-        for (ELCSubmission submission : this.entries) {
-            if (submission.getFileName().equalsIgnoreCase(name)) {
-                return submission.getFile();
-            }
+        Integer position = this.entryIndices.get(name.toLowerCase(Locale.ROOT));
+        if (position != null) {
+            return this.entries.get(position).getFile();
         }
 
         throw new ManualGradingError("Student " + this.getName()
@@ -186,18 +257,73 @@ public class Student implements Comparable<Student> {
     }
 
 
+    /**
+     * Opens a file that is associated with this student for reading, whether it's on
+     * disk or inside an eLC archive. Nothing is extracted.
+     *
+     * @param name (String) the name of the file; see {@link #getSubmission(String)}.
+     *
+     * @return (InputStream) the file's contents. The caller must close it.
+     *
+     * @throws ManualGradingError thrown if the student did not have a submission whose
+     *         name contained `name`, or if it couldn't be read.
+     */
+    public InputStream openSubmission(String name) throws ManualGradingError {
+        File file = this.getSubmission(name);
+
+        try {
+            return (file instanceof ArchivedFile)
+                   ? new ByteArrayInputStream(((ArchivedFile) file).getContents())
+                   : Files.newInputStream(file.toPath());
+        } catch (final IOException e) {
+            throw new ManualGradingError("Could not read " + file.getName() + ": "
+                                         + e.getMessage(), e);
+        }
+    }
+
+
     public ArrayList<ELCSubmission> getSubmissions() {
         return this.entries;
     }
 
 
     /**
-     * Adds a file to the student's "portfolio."
+     * Lets go of anything read or extracted from this student's archived files while
+     * they were being graded or opened. They're read again if they're needed.
+     */
+    public void release() {
+        for (ELCSubmission submission : this.entries) {
+            if (submission.getFile() instanceof ArchivedFile) {
+                ((ArchivedFile) submission.getFile()).release();
+            }
+        }
+    }
+
+
+    /**
+     * Adds a file to the student's "portfolio." If the student already has a file with
+     * the same name (i.e., they resubmitted it), only the newer of the two is kept.
      *
      * @param submission (ELCSubmission) the file to add.
+     *
+     * @return (boolean) true if the file was added alongside the student's other files;
+     *         false if it collided with an existing file and one of the two was dropped.
      */
-    public void addFile(ELCSubmission submission) {
-        this.entries.add(submission);
+    public boolean addFile(ELCSubmission submission) {
+        String key = submission.getFileName().toLowerCase(Locale.ROOT);
+        Integer position = this.entryIndices.get(key);
+
+        if (position == null) {
+            this.entryIndices.put(key, this.entries.size());
+            this.entries.add(submission);
+            return true;
+        }
+
+        if (submission.newerThan(this.entries.get(position))) {
+            this.entries.set(position, submission);
+        }
+
+        return false;
     }
 
 
@@ -220,6 +346,7 @@ public class Student implements Comparable<Student> {
      */
     public void setScore(Feedback score) {
         this.score = score;
+        AutoGrade.accessGradeTable().update(this);
     }
 
 
@@ -235,6 +362,115 @@ public class Student implements Comparable<Student> {
         if (!this.saveManuallySet) {
             this.save = (e != null);
         }
+
+        AutoGrade.accessGradeTable().update(this);
+    }
+
+
+    /**
+     * Returns the error that occurred while grading this student's submission, if any.
+     *
+     * @return (Throwable) the error, or null if there was none.
+     */
+    public Throwable getError() {
+        return this.error;
+    }
+
+
+    /**
+     * Determines whether this student's submission files will be kept on exit.
+     *
+     * @return (boolean) the value of {@link #save}.
+     */
+    public boolean isSaved() {
+        return this.save;
+    }
+
+
+    boolean isSaveManuallySet() {
+        return this.saveManuallySet;
+    }
+
+
+    /**
+     * Restores the 'save' state exactly as it was recorded, without going through the
+     * usual manual/automatic logic. Used when reloading results from disk.
+     */
+    void restoreSaveState(boolean save, boolean saveManuallySet) {
+        this.save = save;
+        this.saveManuallySet = saveManuallySet;
+    }
+
+
+    /**
+     * Takes on another Student's results (grade, notes, error and save state) as they
+     * are. Used to carry over results for submissions that haven't changed.
+     *
+     * @param previous (Student) the student whose results to take.
+     */
+    public void adoptResults(Student previous) {
+        this.setScore(previous.score);
+        this.appendException(previous.error);
+        this.restoreSaveState(previous.save, previous.saveManuallySet);
+    }
+
+
+    /**
+     * Determines whether this student has exactly the same submission files, with the
+     * same contents, as another.
+     *
+     * @param other (Student) the other student.
+     *
+     * @return (boolean) true if both have the same file names with the same hashes.
+     *
+     * @throws IOException thrown if one of the files cannot be read.
+     */
+    public boolean sameSubmissionsAs(Student other) throws IOException {
+        if (this.entries.size() != other.entries.size()) {
+            return false;
+        }
+
+        for (ELCSubmission submission : this.entries) {
+            String key = submission.getFileName().toLowerCase(Locale.ROOT);
+            Integer position = other.entryIndices.get(key);
+
+            if (position == null) {
+                return false;
+            }
+
+            byte[] theirs = other.entries.get(position).getHash();
+            if (!Arrays.equals(submission.getHash(), theirs)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Identifies the contents of this student's submission as a whole: the name and
+     * hash of each of their files, in order of name. Two students with the same files
+     * have the same submission hash.
+     *
+     * @return (byte[]) the 32-byte submission hash.
+     *
+     * @throws IOException thrown if one of the files cannot be read.
+     */
+    public byte[] getSubmissionHash() throws IOException {
+        ArrayList<String> names = new ArrayList<>(this.entryIndices.keySet());
+        Collections.sort(names);
+
+        byte[][] parts = new byte[names.size() * 2][];
+        for (int i = 0; i < names.size(); ++i) {
+            int position = this.entryIndices.get(names.get(i));
+            ELCSubmission submission = this.entries.get(position);
+
+            parts[2 * i] = (names.get(i) + "\0").getBytes(StandardCharsets.UTF_8);
+            parts[2 * i + 1] = submission.getHash();
+        }
+
+        return Helper.sha256(parts);
     }
 
 
@@ -256,42 +492,39 @@ public class Student implements Comparable<Student> {
     }
 
 
+    /**
+     * Deletes the student's submission files, unless they are being saved. Files that
+     * were read out of an archive were never written to disk, so there is nothing to
+     * delete; instead, if they are being saved, they are extracted beside the archive
+     * so that they outlive the run.
+     *
+     * @return (ArrayList<String>) the names of any files that could not be deleted
+     *         (or, for archived files, saved).
+     */
     public ArrayList<String> deleteSubmissions() {
-        if (this.save) {
-            return new ArrayList<>();
-        }
-
         ArrayList<String> failedDeletions = new ArrayList<>();
 
         for (ELCSubmission submission : this.entries) {
-            if (!submission.getFile().delete()) {
-                failedDeletions.add(submission.getFile().getName());
-            }
-        }
-
-        return failedDeletions;
-    }
-
-
-    public int cleanUpDuplicates() {
-        ArrayList<ELCSubmission> submissionsToRemove = new ArrayList<>();
-        for (ELCSubmission i : this.entries) {
-            for (ELCSubmission j : this.entries) {
-                if (i == j) {
-                    continue;
+            File file = submission.getFile();
+
+            if (file instanceof ArchivedFile) {
+                if (this.save) {
+                    try {
+                        ((ArchivedFile) file).extract();
+                    } catch (final IOException e) {
+                        failedDeletions.add(file.getName());
+                    }
                 }
 
-                if (i.getFileName().equalsIgnoreCase(j.getFileName())) {
-                    submissionsToRemove.add(i.newerThan(j) ? j : i);
-                }
+                continue;
+            }
+
+            if (!this.save && !file.delete()) {
+                failedDeletions.add(file.getName());
             }
-        }
-        
-        for (ELCSubmission submission : submissionsToRemove) {
-            this.entries.remove(submission);
         }
 
-        return submissionsToRemove.size();
+        return failedDeletions;
     }
 
 
@@ -352,11 +585,12 @@ public class Student implements Comparable<Student> {
         /**
          * eLC does make some things pretty convenient.
          */
-        if (!filename.matches("\\d+-\\d+ - .+ - .+ - .+")) {
+        Matcher matcher = ELCSubmission.ELC_NAME_PATTERN.matcher(filename);
+        if (!matcher.matches()) {
             return "unable to determine student name (" + filename + ")";
         }
 
-        return filename.split(" - ")[1];
+        return matcher.group(2);
     }
 
 }
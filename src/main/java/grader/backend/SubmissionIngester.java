@@ -0,0 +1,232 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.AutoGrade;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+/**
+ * Reads a folder of eLC downloads and groups its files by student. The folder is
+ * streamed rather than listed up front, each file name is parsed exactly once, and
+ * resubmissions are resolved as they're encountered, so that only the newest copy of
+ * each of a student's files is kept.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class SubmissionIngester {
+
+    /**
+     * The script deciding which files are relevant.
+     */
+    private final Script script;
+
+    /**
+     * Students found so far, keyed by their lowercase names, in the order in which
+     * they were first encountered.
+     */
+    private final LinkedHashMap<String, Student> students;
+
+    /**
+     * Files that the script claimed, but whose names didn't match eLC's conventions.
+     */
+    private final ArrayList<File> unassociatedFiles;
+
+    /**
+     * The number of older copies of files that were dropped in favor of newer ones.
+     */
+    private int superseded;
+
+    /**
+     * Whether to warn the user (once) about files that the script doesn't recognize.
+     */
+    private boolean warnAboutStrayFiles;
+
+
+    public SubmissionIngester(Script script) {
+        this.script = script;
+        this.students = new LinkedHashMap<>();
+        this.unassociatedFiles = new ArrayList<>();
+        this.superseded = 0;
+        this.warnAboutStrayFiles = true;
+    }
+
+
+    /**
+     * Determines whether unrecognized files trigger the directory warning. This should
+     * be turned off when ingesting in the background, where prompting the user would
+     * compete with the command line for input.
+     *
+     * @param warn (boolean) whether to warn.
+     * @return (SubmissionIngester) this ingester, for chaining.
+     */
+    public SubmissionIngester warnAboutStrayFiles(boolean warn) {
+        this.warnAboutStrayFiles = warn;
+        return this;
+    }
+
+
+    /**
+     * Streams through the given directory and sorts its files into students.
+     *
+     * @param directory (Path) the directory containing the submissions.
+     *
+     * @return (SubmissionIngester) this ingester, for chaining.
+     *
+     * @throws IOException thrown if the directory cannot be read.
+     */
+    public SubmissionIngester ingest(Path directory) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                /**
+                 * Skip folders and hidden files, including AutoGrade's own state.
+                 */
+                if (Files.isDirectory(path)
+                        || path.getFileName().toString().startsWith(".")) {
+                    continue;
+                }
+
+                this.accept(path.toFile());
+            }
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Streams through the top level of an eLC bulk-download archive without extracting
+     * it. The files produced are {@link ArchivedFile}s, which are only decompressed
+     * when they're first read.
+     *
+     * @param archive (File) the .zip file downloaded from eLC.
+     *
+     * @return (FileSystem) the archive's file system. It must stay open for as long as
+     *         the students' files are in use.
+     *
+     * @throws IOException thrown if the archive cannot be opened or read.
+     */
+    public FileSystem ingestArchive(File archive) throws IOException {
+        FileSystem zip = FileSystems.newFileSystem(archive.toPath(), (ClassLoader) null);
+
+        try {
+            for (Path root : zip.getRootDirectories()) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+                    for (Path entry : stream) {
+                        if (!Files.isDirectory(entry)) {
+                            this.accept(new ArchivedFile(archive, entry));
+                        }
+                    }
+                }
+            }
+        }
+
+        catch (final IOException e) {
+            zip.close();
+            throw e;
+        }
+
+        return zip;
+    }
+
+
+    /**
+     * Sorts a single file.
+     *
+     * @param file (File) the file.
+     */
+    public void accept(File file) {
+        long start = Timings.start();
+        try {
+            this.sort(file);
+        } finally {
+            Timings.record(Timings.Phase.INGESTION, start);
+        }
+    }
+
+
+    private void sort(File file) {
+        if (!this.script.fileBelongs(file) && !file.getName().equals("index.html")) {
+            if (this.warnAboutStrayFiles && !AutoGrade.DIRECTORY_WARNING_ACKNOWLEDGED) {
+                AutoGrade.showDirectoryWarning();
+            }
+
+            return;
+        }
+
+        if (!this.script.fileBelongsToStudent(file)) {
+            return;
+        }
+
+        long start = Timings.start();
+        ELCSubmission submission = ELCSubmission.parse(file);
+        Timings.record(Timings.Phase.NAME_DETECTION, start);
+
+        if (submission == null) {
+            this.unassociatedFiles.add(file);
+            return;
+        }
+
+        String key = submission.getStudentName().toLowerCase(Locale.ROOT);
+        Student student = this.students.get(key);
+
+        if (student == null) {
+            this.students.put(key, new Student(submission));
+        } else if (!student.addFile(submission)) {
+            ++this.superseded;
+        }
+    }
+
+
+    public Collection<Student> getStudents() {
+        return this.students.values();
+    }
+
+
+    public ArrayList<File> getUnassociatedFiles() {
+        return this.unassociatedFiles;
+    }
+
+
+    public int getSupersededCount() {
+        return this.superseded;
+    }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.AutoGrade;
+import grader.frontend.Channel;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static grader.frontend.Color.*;
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the submissions folder for files that arrive after it was first read (e.g.,
+ * late submissions) and grades them in the background while the command line stays
+ * live. New students are enrolled; students who resubmit have their older files
+ * replaced in place and are graded again.
+ *
+ * The folder is watched from the moment this is created, which should be before the
+ * folder is first read, but nothing is graded until {@link #start()}. Files that land
+ * during the initial round of grading are therefore picked up as soon as it's over.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class SubmissionWatcher implements Runnable {
+
+    /**
+     * How long a file has to go without changing before it's considered completely
+     * written. eLC downloads and copies over the network can take a moment to finish.
+     */
+    private static final long SETTLE_MILLIS = 1000;
+
+    /**
+     * How often to check for settled files while some are still pending.
+     */
+    private static final long POLL_MILLIS = 250;
+
+
+    private final Path directory;
+
+    private final WatchService service;
+
+    /**
+     * Files that have changed but haven't settled yet, mapped to the last time they
+     * changed.
+     */
+    private final HashMap<Path, Long> pending;
+
+    /**
+     * When watching began. Used to pick up whatever might have been missed if the
+     * watch service overflows.
+     */
+    private final long startTime;
+
+    /**
+     * The watching thread, once it has been started.
+     */
+    private Thread thread;
+
+
+    /**
+     * @param directory (Path) the folder to watch.
+     * @throws IOException thrown if the folder cannot be watched.
+     */
+    public SubmissionWatcher(Path directory) throws IOException {
+        this.directory = directory;
+        this.service = directory.getFileSystem().newWatchService();
+        this.pending = new HashMap<>();
+        this.startTime = System.currentTimeMillis();
+
+        directory.register(this.service, ENTRY_CREATE, ENTRY_MODIFY);
+    }
+
+
+    /**
+     * Starts watching on a background thread. The thread is a daemon, so it never
+     * keeps AutoGrade running on its own.
+     *
+     * @return (Thread) the watching thread.
+     */
+    public synchronized Thread start() {
+        this.thread = new Thread(this, "AutoGrade-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        return this.thread;
+    }
+
+
+    /**
+     * Stops watching, and waits for any submission that's being graded to finish, so
+     * that nothing is graded into whatever session comes next.
+     */
+    public void close() {
+        Thread watching;
+        synchronized (this) {
+            watching = this.thread;
+        }
+
+        try {
+            this.service.close();
+        } catch (final IOException e) {
+            // Stopping anyway.
+        }
+
+        if (watching != null && watching != Thread.currentThread()) {
+            watching.interrupt();
+
+            try {
+                watching.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    @Override
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = this.pending.isEmpty()
+                        ? this.service.take()
+                        : this.service.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW) {
+                            this.queueRecentFiles();
+                        } else {
+                            Path path = this.directory.resolve((Path) event.context());
+                            this.pending.put(path, System.currentTimeMillis());
+                        }
+                    }
+
+                    if (!key.reset()) {
+                        Channel.INTERACTION.say(RED + "The submissions folder is no "
+                                + "longer accessible; stopped watching it." + RESET);
+                        return;
+                    }
+                }
+
+                ArrayList<Path> settled = this.collectSettledFiles();
+                if (!settled.isEmpty()) {
+                    this.process(settled);
+                }
+            }
+        }
+
+        catch (final InterruptedException | ClosedWatchServiceException e) {
+            // Time to stop.
+        }
+    }
+
+
+    /**
+     * Removes and returns every pending file that hasn't changed for a while.
+     */
+    private ArrayList<Path> collectSettledFiles() {
+        long now = System.currentTimeMillis();
+        ArrayList<Path> settled = new ArrayList<>();
+
+        Iterator<Map.Entry<Path, Long>> iterator = this.pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, Long> entry = iterator.next();
+            if (now - entry.getValue() >= SETTLE_MILLIS) {
+                settled.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+
+        return settled;
+    }
+
+
+    /**
+     * If too many events happen at once, the watch service gives up on reporting them
+     * individually. In that case, queue every file that changed since we started.
+     */
+    private void queueRecentFiles() {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path)
+                        && Files.getLastModifiedTime(path).toMillis() >= this.startTime) {
+                    this.pending.put(path, System.currentTimeMillis());
+                }
+            }
+        }
+
+        catch (final IOException e) {
+            Channel.INTERACTION.say(RED + "Could not rescan the submissions folder: "
+                                    + e.getMessage() + RESET);
+        }
+    }
+
+
+    /**
+     * Whether the given file has already been graded as it is now: a student has it,
+     * and it hasn't changed since it was found. Files that were found while the initial
+     * round of grading read the folder show up here too, since they arrived after
+     * watching began.
+     */
+    private boolean alreadyGraded(Path path, HashMap<Path, Long> known) {
+        Long discovered = known.get(path.toAbsolutePath());
+
+        try {
+            return discovered != null
+                   && Files.getLastModifiedTime(path).toMillis() < discovered;
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+
+    /**
+     * Ingests and grades a batch of settled files.
+     *
+     * @param files (ArrayList<Path>) the files.
+     */
+    private void process(ArrayList<Path> files) {
+        SubmissionIngester arrivals = new SubmissionIngester(AutoGrade.GRADING_SCRIPT)
+                .warnAboutStrayFiles(false);
+
+        synchronized (AutoGrade.accessLock()) {
+            HashMap<Path, Long> known = new HashMap<>();
+            for (Student student : AutoGrade.accessRoster()) {
+                for (ELCSubmission submission : student.getSubmissions()) {
+                    known.put(submission.getFile().toPath().toAbsolutePath(),
+                              submission.getDiscoveryTime());
+                }
+            }
+
+            for (Path path : files) {
+                if (Files.isRegularFile(path)
+                        && !path.getFileName().toString().startsWith(".")
+                        && !this.alreadyGraded(path, known)) {
+                    arrivals.accept(path.toFile());
+                }
+            }
+
+            for (Student arrival : arrivals.getStudents()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+
+                String key = arrival.getTrueName().toLowerCase();
+                Student student = AutoGrade.accessStudents().get(key);
+                boolean resubmission = (student != null);
+
+                if (resubmission) {
+                    for (ELCSubmission submission : arrival.getSubmissions()) {
+                        student.addFile(submission);
+                    }
+                } else {
+                    AutoGrade.enroll(arrival);
+                    student = arrival;
+                }
+
+                String description = (resubmission ? "resubmission" : "new submission")
+                                     + " from " + student.getName();
+
+                try {
+                    boolean graded = AutoGrade.grade(student);
+                    AutoGrade.recordResult(student);
+
+                    if (graded) {
+                        Channel.INTERACTION.say(CYAN + "Graded " + description + RESET
+                                + ": " + student.getFeedback().getGrade());
+                    } else {
+                        Channel.INTERACTION.say(YELLOW + "Could not automatically grade "
+                                + description + RESET);
+                    }
+                }
+
+                catch (final Throwable t) {
+                    Channel.INTERACTION.say(RED + "Unexpected error while grading "
+                            + description + ": " + t + RESET);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,348 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.reflect.CheckSource;
+import grader.util.Helper;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A single test case declared by a {@link TestSuite}. Tests are declared fluently:
+ *
+ * <pre>
+ *     TestCase.named("area-unit-square")
+ *             .describeAs("getArea() is wrong for a 1 x 1 square.")
+ *             .worth(5)
+ *             .withInputs(1.0, 1.0)
+ *             .checks(context -&gt; ...)
+ * </pre>
+ *
+ * Every test has a stable id and a hash of its definition: its id, description,
+ * penalty, inputs and revision. Results are remembered per test hash, check and
+ * submission (see {@link TestMemo}), so a test is only rerun when its definition, the
+ * lines of its check (see {@link CheckSource}) or the student's files have changed;
+ * editing one test leaves the others' results alone. A check whose logic lives
+ * somewhere else (say, in a helper method or another file) won't be noticed when it
+ * changes, so its revision should be bumped with {@link #revision(int)}.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class TestCase {
+
+    /**
+     * The logic of a test case. Checks are Serializable only so that
+     * {@link CheckSource} can tell which lambda a check is; they're never serialized.
+     */
+    @FunctionalInterface
+    public interface Check extends Serializable {
+
+        /**
+         * Runs the test against a student's submission.
+         *
+         * @param context (TestContext) gives access to the student's compiled classes.
+         * @return (boolean) true if the submission passes the test.
+         *
+         * @throws Throwable anything the student's code throws. See
+         *         {@link TestRunner} for how each is treated.
+         */
+        boolean passes(TestContext context) throws Throwable;
+
+    }
+
+
+    /**
+     * The result of running a test case against one submission.
+     */
+    public static final class Outcome {
+
+        private final boolean passed;
+
+        private final String note;
+
+        /**
+         * Whether the test failed by running out of time. These outcomes aren't
+         * remembered, since a test that times out under load might pass next time.
+         */
+        private final boolean timedOut;
+
+        public Outcome(boolean passed, String note) {
+            this(passed, note, false);
+        }
+
+        public Outcome(boolean passed, String note, boolean timedOut) {
+            this.passed = passed;
+            this.note = note;
+            this.timedOut = timedOut;
+        }
+
+        public boolean passed() {
+            return this.passed;
+        }
+
+        /**
+         * @return (String) the note explaining the deduction, or null if the test
+         *         passed.
+         */
+        public String getNote() {
+            return this.note;
+        }
+
+        public boolean timedOut() {
+            return this.timedOut;
+        }
+    }
+
+
+    private final String id;
+
+    private String description;
+
+    private double penalty;
+
+    private Object[] inputs;
+
+    private int revision;
+
+    private Check check;
+
+    /**
+     * Whether this test may run alongside other tests. Tests run one at a time unless
+     * they say otherwise, since most of them share the student's static fields (and
+     * System.out) with each other.
+     */
+    private boolean concurrent;
+
+    /**
+     * Whether this test gets its own copy of the student's classes, with freshly
+     * initialized static fields.
+     */
+    private boolean freshStatics;
+
+    /**
+     * Cached once computed; cleared whenever the definition changes.
+     */
+    private byte[] hash;
+
+
+    private TestCase(String id) {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("Test cases need an id!");
+        }
+
+        this.id = id;
+        this.description = id;
+        this.penalty = 0;
+        this.inputs = new Object[] {};
+        this.revision = 0;
+        this.check = null;
+        this.concurrent = false;
+        this.freshStatics = false;
+        this.hash = null;
+    }
+
+
+    /**
+     * Declares a new test case.
+     *
+     * @param id (String) an id that stays the same as long as the test does. It must be
+     *           unique within its suite.
+     * @return (TestCase) the new test case.
+     */
+    public static TestCase named(String id) {
+        return new TestCase(id);
+    }
+
+
+    /**
+     * @param description (String) the note given to students who fail this test.
+     * @return (TestCase) this test case.
+     */
+    public TestCase describeAs(String description) {
+        this.description = description;
+        this.hash = null;
+        return this;
+    }
+
+
+    /**
+     * @param penalty (double) the points deducted from students who fail this test.
+     * @return (TestCase) this test case.
+     */
+    public TestCase worth(double penalty) {
+        this.penalty = penalty;
+        this.hash = null;
+        return this;
+    }
+
+
+    /**
+     * Records the values this test feeds to (and expects from) the student's code, so
+     * that changing them is noticed. They're identified by their toString() values.
+     *
+     * @param inputs (Object...) the inputs.
+     * @return (TestCase) this test case.
+     */
+    public TestCase withInputs(Object... inputs) {
+        this.inputs = inputs.clone();
+        this.hash = null;
+        return this;
+    }
+
+
+    /**
+     * @param revision (int) a number to bump whenever the check's logic changes outside
+     *                 the check itself.
+     * @return (TestCase) this test case.
+     */
+    public TestCase revision(int revision) {
+        this.revision = revision;
+        this.hash = null;
+        return this;
+    }
+
+
+    /**
+     * @param check (Check) the logic of the test.
+     * @return (TestCase) this test case.
+     */
+    public TestCase checks(Check check) {
+        this.check = check;
+        return this;
+    }
+
+
+    /**
+     * Lets this test run at the same time as other concurrent tests, on one of
+     * {@link grader.AutoGrade#THREADS} threads. A concurrent test always gets its own
+     * copy of the student's classes (see {@link #freshStatics()}), but it still shares
+     * everything else in the JVM, so tests that capture System.out, feed System.in, or
+     * otherwise touch global state must not be concurrent.
+     *
+     * @return (TestCase) this test case.
+     */
+    public TestCase concurrent() {
+        this.concurrent = true;
+        this.hash = null;
+        return this;
+    }
+
+
+    /**
+     * Keeps this test from running at the same time as any other test, which is the
+     * default. This undoes {@link #concurrent()}.
+     *
+     * @return (TestCase) this test case.
+     */
+    public TestCase exclusive() {
+        this.concurrent = false;
+        this.hash = null;
+        return this;
+    }
+
+
+    /**
+     * Gives this test its own copy of the student's classes, so that it sees their
+     * static fields as they were initially, no matter what other tests did to them.
+     * The copy is made from the already-compiled bytecode, so it's cheap.
+     *
+     * @return (TestCase) this test case.
+     */
+    public TestCase freshStatics() {
+        this.freshStatics = true;
+        this.hash = null;
+        return this;
+    }
+
+
+    public String getId() {
+        return this.id;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public double getPenalty() {
+        return this.penalty;
+    }
+
+    public Object[] getInputs() {
+        return this.inputs.clone();
+    }
+
+    public int getRevision() {
+        return this.revision;
+    }
+
+    public Check getCheck() {
+        return this.check;
+    }
+
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    public boolean isExclusive() {
+        return !this.concurrent;
+    }
+
+    public boolean wantsFreshStatics() {
+        return this.freshStatics || this.concurrent;
+    }
+
+
+    /**
+     * Returns the hash of this test's definition.
+     *
+     * @return (byte[]) the 32-byte hash.
+     */
+    public byte[] hash() {
+        if (this.hash == null) {
+            String definition = this.id + '\0' + this.description + '\0' + this.penalty
+                              + '\0' + Arrays.deepToString(this.inputs)
+                              + '\0' + this.revision
+                              + (wantsFreshStatics() ? "\0fresh" : "");
+
+            this.hash = Helper.sha256(definition.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return this.hash.clone();
+    }
+
+
+    @Override
+    public String toString() {
+        return this.id;
+    }
+
+}
@@ -0,0 +1,246 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.reflect.InternalClassLoader;
+import grader.reflect.InternalCompiler;
+import grader.reflect.ReflectionAssistant;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Everything a {@link TestCase} needs to test one student's submission. Each of the
+ * student's files is compiled at most once, no matter how many tests use it. Each test
+ * gets its own view of the context (see {@link #forTest()}), with its own instance of
+ * the class under test, so tests running at the same time don't share objects.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class TestContext {
+
+    private final TestSuite suite;
+
+    private final Student student;
+
+    /**
+     * The student's compiled classes, by file name.
+     */
+    private final HashMap<String, Class<?>> classes;
+
+    /**
+     * This test's instance of the class under test. Created on first use.
+     */
+    private Object instance;
+
+    /**
+     * Whether this view loads its own copies of the student's classes.
+     */
+    private final boolean freshStatics;
+
+    /**
+     * This view's copies of the student's classes, by file name, if it has its own.
+     */
+    private final HashMap<String, Class<?>> freshClasses;
+
+
+    public TestContext(TestSuite suite, Student student) {
+        this.suite = suite;
+        this.student = student;
+        this.classes = new HashMap<>();
+        this.instance = null;
+        this.freshStatics = false;
+        this.freshClasses = null;
+    }
+
+
+    private TestContext(TestContext parent, boolean freshStatics) {
+        this.suite = parent.suite;
+        this.student = parent.student;
+        this.classes = parent.classes;
+        this.instance = null;
+        this.freshStatics = freshStatics;
+        this.freshClasses = freshStatics ? new HashMap<>() : null;
+    }
+
+
+    /**
+     * Returns a view of this context for a single test. It shares the compiled
+     * classes, but not the instance returned by {@link #getInstance()}.
+     *
+     * @return (TestContext) the test's context.
+     */
+    public TestContext forTest() {
+        return new TestContext(this, false);
+    }
+
+
+    /**
+     * Returns a view of this context for a single test, like {@link #forTest()}, but
+     * with its own copies of the student's classes. Their static fields start out
+     * freshly initialized, no matter what other tests have done.
+     *
+     * @return (TestContext) the test's context.
+     */
+    public TestContext forTestWithFreshStatics() {
+        return new TestContext(this, true);
+    }
+
+
+    public Student getStudent() {
+        return this.student;
+    }
+
+
+    /**
+     * Compiles and loads one of the student's files, unless that's already been done.
+     * In a view with fresh statics, this view's own copy of the class is returned.
+     *
+     * @param fileName (String) the name of the file, as given to
+     *                 {@link Student#getSubmission(String)}.
+     * @return (Class<?>) the loaded class.
+     *
+     * @throws ManualGradingError thrown if the file is missing or doesn't compile.
+     */
+    public Class<?> load(String fileName) throws ManualGradingError {
+        if (this.freshStatics) {
+            Class<?> copy = this.freshClasses.get(fileName);
+
+            if (copy == null) {
+                copy = InternalClassLoader.freshCopy(this.loadShared(fileName));
+                this.freshClasses.put(fileName, copy);
+            }
+
+            return copy;
+        }
+
+        return this.loadShared(fileName);
+    }
+
+
+    private Class<?> loadShared(String fileName) throws ManualGradingError {
+        synchronized (this.classes) {
+            Class<?> loaded = this.classes.get(fileName);
+
+            if (loaded == null) {
+                File file = this.student.getSubmission(fileName);
+                loaded = InternalCompiler.compile(file);
+                this.classes.put(fileName, loaded);
+            }
+
+            return loaded;
+        }
+    }
+
+
+    /**
+     * Returns the class under test, as named by {@link TestSuite#getSubjectFile()}.
+     *
+     * @return (Class<?>) the loaded class.
+     *
+     * @throws ManualGradingError thrown if the file is missing or doesn't compile.
+     */
+    public Class<?> getSubject() throws ManualGradingError {
+        String fileName = this.suite.getSubjectFile();
+
+        if (fileName == null) {
+            if (this.student.getSubmissions().size() != 1) {
+                throw new ManualGradingError(this.student.getName() + " submitted more "
+                        + "than one file, and the grading script didn't say which one "
+                        + "to test");
+            }
+
+            fileName = this.student.getSubmissions().get(0).getFileName();
+        }
+
+        return this.load(fileName);
+    }
+
+
+    /**
+     * Constructs an instance of the class under test.
+     *
+     * @param args (Object...) the constructor's arguments.
+     * @return (Object) the new instance.
+     *
+     * @throws ManualGradingError thrown if the class can't be loaded.
+     * @throws InvocationTargetException thrown if the constructor throws an exception.
+     * @throws TimeoutException thrown if the constructor times out.
+     */
+    public Object construct(Object... args)
+            throws ManualGradingError, InvocationTargetException, TimeoutException {
+        return ReflectionAssistant.constructObject(this.getSubject(), args);
+    }
+
+
+    /**
+     * Returns this test's own instance of the class under test, constructing it with
+     * the no-argument constructor the first time it's asked for.
+     *
+     * @return (Object) the instance.
+     *
+     * @throws ManualGradingError thrown if the class can't be loaded.
+     * @throws InvocationTargetException thrown if the constructor throws an exception.
+     * @throws TimeoutException thrown if the constructor times out.
+     */
+    public Object getInstance()
+            throws ManualGradingError, InvocationTargetException, TimeoutException {
+        if (this.instance == null) {
+            this.instance = this.construct();
+        }
+
+        return this.instance;
+    }
+
+
+    /**
+     * Calls a method of the class under test, with the usual timeout.
+     *
+     * @param instance   (Object) the instance to call it on, or null if it's static.
+     * @param returnType (Class<R>) the type the method should return.
+     * @param method     (String) the method's name.
+     * @param args       (Object...) the method's arguments.
+     * @param <R>        the return type.
+     * @return (R) whatever the method returned.
+     *
+     * @throws ManualGradingError thrown if the class can't be loaded.
+     * @throws InvocationTargetException thrown if the method throws an exception.
+     * @throws TimeoutException thrown if the method times out.
+     */
+    public <R> R call(Object instance, Class<R> returnType, String method,
+                      Object... args)
+            throws ManualGradingError, InvocationTargetException, TimeoutException {
+        return ReflectionAssistant.testMethod(this.getSubject(), instance, returnType,
+                                              method, args);
+    }
+
+}
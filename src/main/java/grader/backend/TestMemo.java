@@ -0,0 +1,362 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Remembers the outcome of each {@link TestCase} for each submission it was run
+ * against, keyed by the test's hash and the submission's hash. Outcomes are appended to
+ * a file as soon as they're known, in the same length-and-checksum record format as the
+ * {@link ResultStore}, so they survive between runs (and crashes). Since both halves of
+ * the key are content hashes (the test's covers the code of its check, too), nothing
+ * in the memo ever goes stale; entries for old versions of a test simply stop
+ * being looked up.
+ *
+ * Tests that time out are never remembered. Whether they finish in time depends on
+ * how busy the machine is, not just on the submission.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class TestMemo {
+
+    /**
+     * "AGTM", for AutoGrade test memo.
+     */
+    private static final int MAGIC = 0x4147544D;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = 8;
+
+    private static final int HASH_LENGTH = 32;
+
+
+    /**
+     * The file backing the memo, or null if it's only kept in memory.
+     */
+    private final Path file;
+
+    private final ConcurrentHashMap<ByteBuffer, TestCase.Outcome> outcomes;
+
+    private boolean loaded;
+
+    /**
+     * Where new outcomes are appended. Opened when the first one is remembered.
+     */
+    private FileChannel channel;
+
+    /**
+     * Where the last intact record in the file ends, as found while loading.
+     */
+    private long validLength;
+
+    /**
+     * The reason new outcomes stopped being saved, if they did.
+     */
+    private IOException failure;
+
+    private final AtomicInteger reused;
+
+    private final AtomicInteger executed;
+
+
+    /**
+     * @param file (Path) the file to keep outcomes in, or null to only keep them in
+     *             memory.
+     */
+    public TestMemo(Path file) {
+        this.file = file;
+        this.outcomes = new ConcurrentHashMap<>();
+        this.loaded = false;
+        this.channel = null;
+        this.validLength = 0;
+        this.failure = null;
+        this.reused = new AtomicInteger();
+        this.executed = new AtomicInteger();
+    }
+
+
+    /**
+     * Looks up the outcome of a test against a submission.
+     *
+     * @param test       (byte[]) the test's hash.
+     * @param submission (byte[]) the submission's hash.
+     * @return (TestCase.Outcome) the outcome, or null if the test hasn't been run
+     *         against this submission.
+     */
+    public TestCase.Outcome recall(byte[] test, byte[] submission) {
+        this.load();
+
+        TestCase.Outcome outcome = this.outcomes.get(key(test, submission));
+        if (outcome != null) {
+            this.reused.incrementAndGet();
+        }
+
+        return outcome;
+    }
+
+
+    /**
+     * Records the outcome of running a test against a submission, unless it timed out.
+     *
+     * @param test       (byte[]) the test's hash.
+     * @param submission (byte[]) the submission's hash.
+     * @param outcome    (TestCase.Outcome) the outcome.
+     */
+    public void remember(byte[] test, byte[] submission, TestCase.Outcome outcome) {
+        this.load();
+        this.executed.incrementAndGet();
+
+        if (outcome.timedOut()) {
+            return;
+        }
+
+        if (this.outcomes.put(key(test, submission), outcome) == null) {
+            this.save(test, submission, outcome);
+        }
+    }
+
+
+    /**
+     * @return (int) how many outcomes have been recalled since the last call to
+     *         {@link #resetCounts()}.
+     */
+    public int getReusedCount() {
+        return this.reused.get();
+    }
+
+
+    /**
+     * @return (int) how many outcomes have been remembered since the last call to
+     *         {@link #resetCounts()}.
+     */
+    public int getExecutedCount() {
+        return this.executed.get();
+    }
+
+
+    public void resetCounts() {
+        this.reused.set(0);
+        this.executed.set(0);
+    }
+
+
+    /**
+     * @return (IOException) why new outcomes stopped being saved to disk, or null if
+     *         nothing has gone wrong.
+     */
+    public synchronized IOException getFailure() {
+        return this.failure;
+    }
+
+
+    public synchronized void close() {
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (final IOException e) {
+                // Every outcome has already been written.
+            }
+
+            this.channel = null;
+        }
+    }
+
+
+    /**
+     * Reads the memo file, the first time the memo is used. Reading stops at the first
+     * record that's damaged.
+     */
+    private synchronized void load() {
+        if (this.loaded) {
+            return;
+        }
+
+        this.loaded = true;
+        if (this.file == null || !Files.isRegularFile(this.file)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_LENGTH) {
+                return;
+            }
+
+            MappedByteBuffer buffer
+                    = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return;
+            }
+
+            while (buffer.remaining() >= 8) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+
+                if (length < 2 * HASH_LENGTH + 5 || length > buffer.remaining()) {
+                    break;
+                }
+
+                ByteBuffer record = buffer.slice();
+                record.limit(length);
+                buffer.position(buffer.position() + length);
+
+                if (checksum(record.duplicate()) != checksum) {
+                    break;
+                }
+
+                byte[] key = new byte[2 * HASH_LENGTH];
+                record.get(key);
+                boolean passed = record.get() != 0;
+
+                String note = null;
+                int noteLength = record.getInt();
+                if (noteLength >= 0) {
+                    byte[] text = new byte[noteLength];
+                    record.get(text);
+                    note = new String(text, StandardCharsets.UTF_8);
+                }
+
+                this.outcomes.put(ByteBuffer.wrap(key),
+                                  new TestCase.Outcome(passed, note));
+                this.validLength = buffer.position();
+            }
+        }
+
+        catch (final IOException | RuntimeException e) {
+            /**
+             * A memo that can't be read is no worse than an empty one; everything will
+             * just be rerun and the file rewritten.
+             */
+            this.outcomes.clear();
+            this.validLength = 0;
+        }
+    }
+
+
+    /**
+     * Appends an outcome to the memo file, creating the file if necessary.
+     */
+    private synchronized void save(byte[] test, byte[] submission,
+                                   TestCase.Outcome outcome) {
+        if (this.file == null || this.failure != null) {
+            return;
+        }
+
+        try {
+            if (this.channel == null) {
+                this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE,
+                                                StandardOpenOption.WRITE);
+
+                if (this.validLength < HEADER_LENGTH) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+                    header.putInt(MAGIC).putInt(VERSION).flip();
+
+                    this.channel.truncate(0);
+                    this.channel.write(header, 0);
+                    this.validLength = HEADER_LENGTH;
+                } else {
+                    /**
+                     * Cut off anything after the last intact record, so that new
+                     * records aren't hidden behind a damaged one.
+                     */
+                    this.channel.truncate(this.validLength);
+                }
+
+                this.channel.position(this.validLength);
+            }
+
+            this.channel.write(encode(test, submission, outcome));
+        }
+
+        catch (final IOException e) {
+            this.failure = e;
+            this.close();
+        }
+    }
+
+
+    private static ByteBuffer key(byte[] test, byte[] submission) {
+        ByteBuffer key = ByteBuffer.allocate(2 * HASH_LENGTH);
+        key.put(test).put(submission).flip();
+        return key;
+    }
+
+
+    private static ByteBuffer encode(byte[] test, byte[] submission,
+                                     TestCase.Outcome outcome) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.write(test);
+        out.write(submission);
+        out.writeByte(outcome.passed() ? 1 : 0);
+
+        if (outcome.getNote() == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] note = outcome.getNote().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(note.length);
+            out.write(note);
+        }
+
+        out.flush();
+        byte[] payload = bytes.toByteArray();
+
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+        record.putInt(payload.length);
+        record.putInt(checksum(ByteBuffer.wrap(payload)));
+        record.put(payload);
+        record.flip();
+
+        return record;
+    }
+
+
+    private static int checksum(ByteBuffer data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+}
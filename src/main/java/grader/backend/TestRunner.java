@@ -0,0 +1,334 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.AutoGrade;
+import grader.reflect.CheckSource;
+import grader.reflect.ReflectionAssistant;
+import grader.stability.ExitException;
+import grader.util.Helper;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the tests of a {@link TestSuite} against a student's submission, reusing the
+ * remembered outcome of any test that has already been run against the same files.
+ *
+ * Tests that need to run do so one at a time, unless they're marked
+ * {@link TestCase#concurrent()}. Concurrent tests are spread across a shared pool of
+ * {@link AutoGrade#THREADS} threads, each with its own copy of the student's classes,
+ * and the rest run one at a time once they're done. Whatever order they
+ * finish in, their results are applied to the Feedback in the order they're listed.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class TestRunner {
+
+    private static volatile ThreadPoolExecutor pool = null;
+
+
+    /**
+     * Runs every test in the suite against the student's submission.
+     *
+     * @param suite   (TestSuite) the grading script.
+     * @param student (Student) the student being graded.
+     * @return (Feedback) the student's feedback, with a deduction for each failed test.
+     *
+     * @throws ManualGradingError thrown if the submission can't be tested automatically.
+     */
+    public static Feedback run(TestSuite suite, Student student)
+            throws ManualGradingError {
+        String source = suite.getClass().getSimpleName();
+        Feedback feedback = new Feedback(source);
+
+        byte[] submission;
+        try {
+            submission = student.getSubmissionHash();
+        } catch (final IOException e) {
+            throw new ManualGradingError("Could not read " + student.getName() + "'s "
+                                         + "submission: " + e.getMessage());
+        }
+
+        TestMemo memo = AutoGrade.accessTestMemo();
+        TestContext context = new TestContext(suite, student);
+        List<TestCase> tests = suite.listTestCases();
+        checkIds(suite, tests);
+
+        byte[][] keys = new byte[tests.size()][];
+        TestCase.Outcome[] outcomes = new TestCase.Outcome[tests.size()];
+        boolean[] fresh = new boolean[tests.size()];
+        ArrayList<Integer> concurrent = new ArrayList<>(),
+                           exclusive  = new ArrayList<>();
+
+        for (int i = 0; i < tests.size(); ++i) {
+            keys[i] = key(suite, tests.get(i));
+            outcomes[i] = memo.recall(keys[i], submission);
+
+            if (outcomes[i] == null) {
+                fresh[i] = true;
+                (tests.get(i).isConcurrent() ? concurrent : exclusive).add(i);
+            }
+        }
+
+        if (AutoGrade.THREADS > 1 && concurrent.size() > 1) {
+            executeConcurrently(tests, concurrent, context, outcomes);
+        } else {
+            exclusive.addAll(0, concurrent);
+        }
+
+        for (int i : exclusive) {
+            outcomes[i] = execute(tests.get(i), viewFor(tests.get(i), context));
+        }
+
+        for (int i = 0; i < tests.size(); ++i) {
+            if (fresh[i]) {
+                memo.remember(keys[i], submission, outcomes[i]);
+            }
+
+            if (!outcomes[i].passed()) {
+                feedback.deductPoints(tests.get(i).getPenalty(), outcomes[i].getNote());
+            }
+        }
+
+        return feedback;
+    }
+
+
+    /**
+     * Runs the given tests on the shared pool and waits for all of them to finish.
+     *
+     * @param tests    (List<TestCase>) every test in the suite.
+     * @param indices  (List<Integer>) the positions of the tests to run.
+     * @param context  (TestContext) the student's context.
+     * @param outcomes (TestCase.Outcome[]) where to put each test's outcome.
+     *
+     * @throws ManualGradingError thrown if any test couldn't be run. The remaining
+     *         tests are cancelled.
+     */
+    private static void executeConcurrently(List<TestCase> tests, List<Integer> indices,
+                                            TestContext context,
+                                            TestCase.Outcome[] outcomes)
+            throws ManualGradingError {
+        ExecutorService pool = accessPool();
+        ArrayList<Future<TestCase.Outcome>> futures = new ArrayList<>();
+
+        for (int i : indices) {
+            TestCase test = tests.get(i);
+            TestContext view = viewFor(test, context);
+            futures.add(pool.submit(() -> execute(test, view)));
+        }
+
+        try {
+            for (int i = 0; i < futures.size(); ++i) {
+                outcomes[indices.get(i)] = futures.get(i).get();
+            }
+        }
+
+        catch (final ExecutionException e) {
+            cancel(futures);
+
+            Throwable cause = e.getCause();
+            if (cause instanceof ManualGradingError) {
+                throw (ManualGradingError) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new ManualGradingError("Error while running tests: " + cause);
+        }
+
+        catch (final InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new ManualGradingError("Grading was interrupted");
+        }
+    }
+
+
+    private static TestContext viewFor(TestCase test, TestContext context) {
+        return test.wantsFreshStatics() ? context.forTestWithFreshStatics()
+                                        : context.forTest();
+    }
+
+
+    private static void cancel(List<Future<TestCase.Outcome>> futures) {
+        for (Future<TestCase.Outcome> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+
+    /**
+     * Stops the pool that tests run on, if it was ever started. The next suite to run
+     * starts a new one, sized by the {@link AutoGrade#THREADS} of the time.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+
+    /**
+     * @return (int) how many tests are waiting for a worker. Like
+     *         {@link #getActiveWorkers()}, this is only an estimate, and it's meant for
+     *         monitoring.
+     */
+    public static int getQueueDepth() {
+        ThreadPoolExecutor current = pool;
+        return current == null ? 0 : current.getQueue().size();
+    }
+
+
+    /**
+     * @return (int) how many workers are running a test.
+     */
+    public static int getActiveWorkers() {
+        ThreadPoolExecutor current = pool;
+        return current == null ? 0 : current.getActiveCount();
+    }
+
+
+    /**
+     * Returns the pool that tests run on, creating it the first time. Its threads are
+     * daemons, so they never keep AutoGrade alive.
+     */
+    private static synchronized ExecutorService accessPool() {
+        if (pool == null) {
+            AtomicInteger count = new AtomicInteger();
+
+            pool = new ThreadPoolExecutor(AutoGrade.THREADS, AutoGrade.THREADS,
+                                          0, TimeUnit.MILLISECONDS,
+                                          new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable,
+                        "AutoGrade-test-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return pool;
+    }
+
+
+    /**
+     * Runs a single test.
+     *
+     * @param test    (TestCase) the test.
+     * @param context (TestContext) the student's context.
+     * @return (TestCase.Outcome) whether the test passed, and if not, why.
+     *
+     * @throws ManualGradingError thrown if the test couldn't be run; for instance,
+     *         because the submission doesn't compile or the script itself is broken.
+     */
+    public static TestCase.Outcome execute(TestCase test, TestContext context)
+            throws ManualGradingError {
+        if (test.getCheck() == null) {
+            throw new ManualGradingError("Test " + test.getId()
+                                         + " has nothing to check");
+        }
+
+        long start = Timings.start();
+        try {
+            if (test.getCheck().passes(context)) {
+                return new TestCase.Outcome(true, null);
+            }
+
+            return new TestCase.Outcome(false, test.getDescription());
+        }
+
+        catch (final InvocationTargetException e) {
+            return new TestCase.Outcome(false, test.getDescription()
+                    + " (your program throws a(n) "
+                    + ReflectionAssistant.getTrueException(e) + ")");
+        }
+
+        catch (final TimeoutException e) {
+            return new TestCase.Outcome(false, test.getDescription()
+                    + " (your program loops infinitely)", true);
+        }
+
+        catch (final ManualGradingError | ExitException e) {
+            throw e;
+        }
+
+        catch (final Throwable t) {
+            throw new ManualGradingError("Error while running test " + test.getId()
+                                         + ": " + t);
+        }
+
+        finally {
+            Trace.span(test.getId(), "test", start);
+        }
+    }
+
+
+    /**
+     * Identifies a test, as defined and checked in a particular version of a suite and
+     * run with the current settings (which can change its outcome).
+     */
+    private static byte[] key(TestSuite suite, TestCase test) {
+        String context = suite.getClass().getName() + '\0'
+                       + AutoGrade.gradingSettings() + '\0';
+
+        return Helper.sha256(context.getBytes(StandardCharsets.UTF_8),
+                             CheckSource.hash(test.getCheck()), test.hash());
+    }
+
+
+    private static void checkIds(TestSuite suite, List<TestCase> tests)
+            throws ManualGradingError {
+        HashSet<String> ids = new HashSet<>();
+
+        for (TestCase test : tests) {
+            if (!ids.add(test.getId())) {
+                throw new ManualGradingError(suite.getClass().getSimpleName()
+                        + " declares more than one test named " + test.getId());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import java.util.List;
+
+/**
+ * A grading script made up of individually declared {@link TestCase}s, rather than one
+ * big {@link #gradeSubmission(Student)} method. Because AutoGrade can see each test,
+ * it remembers each test's result for each submission, and only reruns a test when its
+ * definition or the student's files change. Fixing one test in a script and regrading
+ * therefore only reruns that one test.
+ *
+ * Tests run one at a time unless they opt in to running at the same time as each
+ * other (see {@link TestCase#concurrent()}), but their results are always applied in
+ * the order the tests are listed: each failed test deducts its penalty, with its
+ * description as the note.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public interface TestSuite extends Script {
+
+    /**
+     * Lists this script's tests, in the order their notes should appear. This should
+     * return the same tests every time it's called.
+     *
+     * @return (List<TestCase>) the tests.
+     */
+    List<TestCase> listTestCases();
+
+
+    /**
+     * The name of the file being tested, as given to
+     * {@link Student#getSubmission(String)}.
+     *
+     * @return (String) the file's name, or null if students only submit one file.
+     */
+    default String getSubjectFile() {
+        return null;
+    }
+
+
+    /**
+     * Runs the tests. Scripts that need to do more than that should call
+     * {@link TestRunner#run(TestSuite, Student)} themselves and add to the Feedback it
+     * returns.
+     */
+    @Override
+    default Feedback gradeSubmission(Student student) throws ManualGradingError {
+        return TestRunner.run(this, student);
+    }
+
+}
@@ -0,0 +1,383 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import grader.AutoGrade;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of where grading time goes. Each phase of the pipeline has a histogram
+ * of how long it took, measured with {@link System#nanoTime()}. Recording a sample is a
+ * handful of atomic increments, so the timers can stay on all the time, even around
+ * code that runs on several threads at once.
+ *
+ * Usage:
+ *
+ *     long start = Timings.start();
+ *     ...
+ *     Timings.record(Timings.Phase.COMPILATION, start);
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class Timings {
+
+    /**
+     * The phases that are timed, in the order that they happen.
+     */
+    public enum Phase {
+        INGESTION("Ingestion"),
+        NAME_DETECTION("Name detection"),
+        COMPILATION("Compilation"),
+        CLASS_LOADING("Class loading"),
+        CONSTRUCTION("Construction"),
+        TEST_METHOD("Test methods"),
+        ANCILLARY("Ancillary scripts"),
+        TIMEOUT("Timeouts"),
+        GRADING("Grading (total)");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return this.label;
+        }
+    }
+
+
+    /**
+     * One histogram per phase, indexed by ordinal.
+     */
+    private static final Histogram[] histograms = new Histogram[Phase.values().length];
+
+    static {
+        for (int i = 0; i < histograms.length; ++i) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+
+    /**
+     * Not instantiable.
+     */
+    private Timings() { }
+
+
+    /**
+     * Starts timing something.
+     *
+     * @return (long) the starting timestamp, to be passed to {@link #record}.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+
+    /**
+     * Records that a phase took from the given starting timestamp until now.
+     *
+     * @param phase (Phase) the phase that was timed.
+     * @param start (long)  the timestamp returned by {@link #start()}.
+     *
+     * @return (long) the time taken, in nanoseconds.
+     */
+    public static long record(Phase phase, long start) {
+        long end = System.nanoTime(), elapsed = end - start;
+        histograms[phase.ordinal()].add(elapsed);
+
+        /**
+         * Each student gets a span of their own instead; see AutoGrade.grade().
+         */
+        if (phase != Phase.GRADING) {
+            Trace.span(phase.getLabel(), "phase", start, end);
+        }
+
+        return elapsed;
+    }
+
+
+    public static Histogram get(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+
+    /**
+     * Forgets every sample recorded so far.
+     */
+    public static void reset() {
+        for (Histogram histogram : histograms) {
+            histogram.clear();
+        }
+    }
+
+
+    /**
+     * Summarizes the timings as a table of phases, followed by the students whose
+     * grading took the longest. Phases that never ran are left out.
+     *
+     * @param students (Collection<Student>) the students to consider for the list of
+     *                 slowest students.
+     * @param slowest  (int) how many of the slowest students to list. Use 0 to leave
+     *                 them out.
+     *
+     * @return (ArrayList<String>) the lines of the summary, or an empty list if
+     *         nothing has been timed yet.
+     */
+    public static ArrayList<String> summarize(Collection<Student> students, int slowest) {
+        ArrayList<String> lines = new ArrayList<>();
+        String row = "  %-18s %7s %10s %10s %10s %10s";
+
+        for (Phase phase : Phase.values()) {
+            Histogram histogram = get(phase);
+            long count = histogram.getCount();
+            if (count == 0) {
+                continue;
+            }
+
+            if (lines.isEmpty()) {
+                lines.add(String.format(row, "Phase", "Count", "p50", "p95", "Max",
+                                        "Total"));
+            }
+
+            lines.add(String.format(row, phase.getLabel(), count,
+                    format(histogram.getPercentile(0.5)),
+                    format(histogram.getPercentile(0.95)),
+                    format(histogram.getMax()), format(histogram.getTotal())));
+        }
+
+        if (lines.isEmpty() || slowest < 1) {
+            return lines;
+        }
+
+        ArrayList<Student> timed = new ArrayList<>();
+        for (Student student : students) {
+            if (student.getGradingTime() > 0) {
+                timed.add(student);
+            }
+        }
+
+        if (timed.isEmpty()) {
+            return lines;
+        }
+
+        timed.sort(Comparator.comparingLong(Student::getGradingTime).reversed());
+
+        lines.add("");
+        lines.add("Slowest students:");
+        for (int i = 0; i < Math.min(slowest, timed.size()); ++i) {
+            Student student = timed.get(i);
+            String name = AutoGrade.CENSOR ? "Student #" + (student.getIndex() + 1)
+                                           : student.getName();
+
+            lines.add(String.format("  %10s  %s", format(student.getGradingTime()),
+                                    name));
+        }
+
+        return lines;
+    }
+
+
+    /**
+     * Formats a duration for display, e.g. "0.42 ms", "87.3 ms" or "2.15 s".
+     *
+     * @param nanos (long) the duration, in nanoseconds.
+     *
+     * @return (String) the formatted duration.
+     */
+    public static String format(long nanos) {
+        double millis = nanos / 1e6;
+        if (millis < 10) {
+            return String.format(Locale.ROOT, "%.2f ms", millis);
+        } else if (millis < 1000) {
+            return String.format(Locale.ROOT, "%.1f ms", millis);
+        } else {
+            return String.format(Locale.ROOT, "%.2f s", millis / 1000);
+        }
+    }
+
+
+    /**
+     * A histogram of durations. Buckets are log-linear: every power of two is split into
+     * {@link #SUB_BUCKETS} equal parts, so percentiles are accurate to within about 6%
+     * whether the samples are microseconds or minutes long, using a fixed array of
+     * counters.
+     */
+    public static final class Histogram {
+
+        /**
+         * log2 of the number of buckets each power of two is split into.
+         */
+        private static final int SUB_BITS = 4;
+
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+        /**
+         * Enough buckets for any non-negative long.
+         */
+        private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts;
+
+        private final LongAdder count;
+
+        private final LongAdder total;
+
+        private final AtomicLong max;
+
+
+        Histogram() {
+            this.counts = new AtomicLongArray(BUCKETS);
+            this.count = new LongAdder();
+            this.total = new LongAdder();
+            this.max = new AtomicLong();
+        }
+
+
+        /**
+         * Adds a sample.
+         *
+         * @param nanos (long) the duration, in nanoseconds.
+         */
+        public void add(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+
+            this.counts.incrementAndGet(bucketOf(nanos));
+            this.count.increment();
+            this.total.add(nanos);
+
+            long current = this.max.get();
+            while (nanos > current && !this.max.compareAndSet(current, nanos)) {
+                current = this.max.get();
+            }
+        }
+
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+
+        public long getTotal() {
+            return this.total.sum();
+        }
+
+
+        public long getMax() {
+            return this.max.get();
+        }
+
+
+        /**
+         * Estimates a percentile of the samples recorded so far. The estimate is the top
+         * of the bucket the percentile falls in, but never more than the maximum.
+         *
+         * @param fraction (double) the percentile, from 0 to 1 (e.g. 0.95 for p95).
+         *
+         * @return (long) the estimate in nanoseconds, or 0 if nothing was recorded.
+         */
+        public long getPercentile(double fraction) {
+            long[] snapshot = new long[BUCKETS];
+            long samples = 0;
+            for (int i = 0; i < BUCKETS; ++i) {
+                snapshot[i] = this.counts.get(i);
+                samples += snapshot[i];
+            }
+
+            if (samples == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(fraction * samples));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; ++i) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), this.getMax());
+                }
+            }
+
+            return this.getMax();
+        }
+
+
+        void clear() {
+            for (int i = 0; i < BUCKETS; ++i) {
+                this.counts.set(i, 0);
+            }
+
+            this.count.reset();
+            this.total.reset();
+            this.max.set(0);
+        }
+
+
+        /**
+         * Values below {@link #SUB_BUCKETS} get a bucket each. Above that, the bucket is
+         * chosen by the highest set bit plus the {@link #SUB_BITS} bits below it.
+         */
+        static int bucketOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+
+        /**
+         * The largest value that falls into the given bucket.
+         */
+        static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+
+            int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+            long sub = bucket % SUB_BUCKETS;
+            long lower = (1L << exponent) + (sub << (exponent - SUB_BITS));
+            return lower + (1L << (exponent - SUB_BITS)) - 1;
+        }
+
+    }
+
+}
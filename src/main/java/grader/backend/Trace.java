@@ -0,0 +1,336 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.backend;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records a timeline of grading for the {@code --trace} flag: which thread was doing
+ * what, and when. Open the file in chrome://tracing or https://ui.perfetto.dev to see
+ * each worker's spans side by side, and where they stall.
+ *
+ * Spans are recorded into a ring buffer belonging to the thread that ran them, so
+ * recording one takes no locks and allocates nothing once the buffer has grown. If a
+ * thread records more than {@value #CAPACITY} spans, its oldest are overwritten.
+ * Nothing is written until {@link #stop()}, which should only be called once grading
+ * has finished.
+ *
+ * Usage:
+ *
+ *     long start = Timings.start();
+ *     ...
+ *     Trace.span("add", "test", start);
+ *
+ * The output is in the Trace Event Format, as "complete" events (each with a start
+ * and a duration) in microseconds.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class Trace {
+
+    /**
+     * The most spans kept per thread.
+     */
+    public static final int CAPACITY = 1 << 16;
+
+    /**
+     * Whether spans are being recorded.
+     */
+    private static volatile boolean recording = false;
+
+    /**
+     * Where to write the trace when it stops.
+     */
+    private static Path destination = null;
+
+    /**
+     * When recording started; timestamps in the trace are relative to this.
+     */
+    private static long origin = 0;
+
+    /**
+     * Every thread's buffer, including those of threads that have since finished.
+     */
+    private static final ConcurrentLinkedQueue<Buffer> buffers
+            = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<Buffer> localBuffer = new ThreadLocal<>();
+
+    /**
+     * Counts recordings, so that threads can tell when their buffer is from an
+     * earlier one.
+     */
+    private static int session = 0;
+
+
+    /**
+     * Not instantiable.
+     */
+    private Trace() { }
+
+
+    /**
+     * Starts recording spans.
+     *
+     * @param file (Path) where to write the trace when it stops.
+     */
+    public static synchronized void start(Path file) {
+        if (recording) {
+            return;
+        }
+
+        destination = file;
+        origin = System.nanoTime();
+        buffers.clear();
+        ++session;
+        recording = true;
+    }
+
+
+    public static boolean isRecording() {
+        return recording;
+    }
+
+
+    /**
+     * Records a span that started at the given time and ends now.
+     *
+     * @param name     (String) what was happening, e.g. "Compilation".
+     * @param category (String) what kind of thing it was, e.g. "phase".
+     * @param start    (long)   the timestamp returned by {@link Timings#start()}.
+     */
+    public static void span(String name, String category, long start) {
+        if (recording) {
+            local().add(name, category, start, System.nanoTime());
+        }
+    }
+
+
+    /**
+     * Records a span between two timestamps from {@link System#nanoTime()}.
+     */
+    public static void span(String name, String category, long start, long end) {
+        if (recording) {
+            local().add(name, category, start, end);
+        }
+    }
+
+
+    /**
+     * Returns this thread's buffer, creating it if it doesn't have one for this
+     * recording yet.
+     */
+    private static Buffer local() {
+        Buffer buffer = localBuffer.get();
+        if (buffer == null || buffer.session != session) {
+            buffer = new Buffer(Thread.currentThread(), session);
+            localBuffer.set(buffer);
+            buffers.add(buffer);
+        }
+
+        return buffer;
+    }
+
+
+    /**
+     * Stops recording and writes out every span recorded. Does nothing if nothing is
+     * being recorded.
+     *
+     * @return (Path) where the trace was written, or null if there wasn't one.
+     *
+     * @throws IOException thrown if the trace can't be written.
+     */
+    public static synchronized Path stop() throws IOException {
+        if (!recording) {
+            return null;
+        }
+
+        recording = false;
+        Path file = destination;
+        destination = null;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file,
+                                                             StandardCharsets.UTF_8)) {
+            write(writer);
+        }
+
+        finally {
+            buffers.clear();
+        }
+
+        return file;
+    }
+
+
+    private static void write(Writer writer) throws IOException {
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+        boolean first = true;
+        long dropped = 0;
+        for (Buffer buffer : buffers) {
+            writer.write(first ? "\n" : ",\n");
+            first = false;
+
+            writer.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":");
+            writer.write(Long.toString(buffer.threadId));
+            writer.write(",\"args\":{\"name\":\"");
+            writer.write(escape(buffer.threadName));
+            writer.write("\"}}");
+
+            long oldest = Math.max(0, buffer.total - buffer.starts.length);
+            dropped += oldest;
+
+            for (long i = oldest; i < buffer.total; ++i) {
+                int slot = (int) (i & (buffer.starts.length - 1));
+
+                writer.write(",\n{\"name\":\"");
+                writer.write(escape(buffer.names[slot]));
+                writer.write("\",\"cat\":\"");
+                writer.write(escape(buffer.categories[slot]));
+                writer.write("\",\"ph\":\"X\",\"pid\":1,\"tid\":");
+                writer.write(Long.toString(buffer.threadId));
+                writer.write(",\"ts\":");
+                writer.write(micros(buffer.starts[slot] - origin));
+                writer.write(",\"dur\":");
+                writer.write(micros(buffer.ends[slot] - buffer.starts[slot]));
+                writer.write("}");
+            }
+        }
+
+        writer.write("\n],\"otherData\":{\"droppedSpans\":" + dropped + "}}\n");
+    }
+
+
+    /**
+     * Formats nanoseconds as microseconds, with three decimal places.
+     */
+    static String micros(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        String fraction = Long.toString(1000 + nanos % 1000).substring(1);
+        return (nanos / 1000) + "." + fraction;
+    }
+
+
+    /**
+     * Escapes a string for use inside a JSON string.
+     */
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            String replacement = null;
+
+            if (c == '"' || c == '\\') {
+                replacement = "\\" + c;
+            } else if (c < 0x20) {
+                replacement = String.format("\\u%04x", (int) c);
+            }
+
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.substring(0, i));
+            }
+
+            if (escaped != null) {
+                escaped.append(replacement != null ? replacement : String.valueOf(c));
+            }
+        }
+
+        return escaped == null ? text : escaped.toString();
+    }
+
+
+    /**
+     * One thread's spans. Only that thread writes to it. The arrays start small and
+     * double as needed, up to {@link #CAPACITY}; after that, they wrap around.
+     */
+    private static final class Buffer {
+
+        private final long threadId;
+
+        private final String threadName;
+
+        private final int session;
+
+        private String[] names = new String[256];
+
+        private String[] categories = new String[256];
+
+        private long[] starts = new long[256];
+
+        private long[] ends = new long[256];
+
+        /**
+         * How many spans have ever been added.
+         */
+        private long total = 0;
+
+        Buffer(Thread thread, int session) {
+            this.threadId = thread.getId();
+            this.threadName = thread.getName();
+            this.session = session;
+        }
+
+        void add(String name, String category, long start, long end) {
+            if (this.total == this.starts.length && this.total < CAPACITY) {
+                this.grow();
+            }
+
+            int slot = (int) (this.total & (this.starts.length - 1));
+            this.names[slot] = name;
+            this.categories[slot] = category;
+            this.starts[slot] = start;
+            this.ends[slot] = end;
+            ++this.total;
+        }
+
+        private void grow() {
+            int size = this.starts.length * 2;
+            this.names = Arrays.copyOf(this.names, size);
+            this.categories = Arrays.copyOf(this.categories, size);
+            this.starts = Arrays.copyOf(this.starts, size);
+            this.ends = Arrays.copyOf(this.ends, size);
+        }
+    }
+
+}
@@ -0,0 +1,425 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.daemon;
+
+import grader.stability.SessionClosed;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * One launcher's connection to the {@link Daemon}. Every number on the wire is a
+ * big-endian 32-bit integer, and every string is UTF-8.
+ *
+ *  1. The launcher sends the number 0x41473032 ("AG02"), a count, and then that many
+ *     strings, each one's length in bytes followed by its bytes. The first string is
+ *     the launcher's working directory and the rest are its arguments. Then it sends
+ *     another count and that many "NAME=value" strings: the environment variables
+ *     that AutoGrade looks at (see {@link Daemon#getenv(String)}).
+ *  2. The daemon answers with an ACCEPTED frame, or a BUSY frame if it's in the middle
+ *     of another run (in which case it hangs up).
+ *  3. From then on, both sides send frames: a type byte, a length and that many
+ *     bytes. The launcher sends its standard input as INPUT frames, an empty INPUT
+ *     frame when it runs out, and an empty CANCEL frame when it's interrupted (by
+ *     Ctrl-C, say). The daemon sends OUTPUT and ERROR frames, and finally an EXIT
+ *     frame holding the exit status, after which it hangs up.
+ *
+ * Reading and writing happen on different threads, so the channel is used directly
+ * rather than through {@link java.nio.channels.Channels}' streams, which can't read
+ * and write at the same time.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+final class Connection {
+
+    static final int MAGIC = 0x41473032;
+
+    static final byte ACCEPTED = 'A';
+
+    static final byte BUSY = 'B';
+
+    static final byte INPUT = 'I';
+
+    static final byte OUTPUT = 'O';
+
+    static final byte ERROR = 'E';
+
+    static final byte EXIT = 'X';
+
+    static final byte CANCEL = 'C';
+
+    /**
+     * The most that anyone should need to send in a request.
+     */
+    private static final int MAX_REQUEST_BYTES = 1 << 20;
+
+    private final SocketChannel channel;
+
+    private Map<String, String> environment = Collections.emptyMap();
+
+    /**
+     * Whether the launcher has asked for the run to be stopped. From then on, reading
+     * or printing throws {@link SessionClosed}.
+     */
+    private volatile boolean cancelled = false;
+
+
+    Connection(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+
+    /**
+     * Reads the launcher's request.
+     *
+     * @return (String[]) the working directory, followed by the arguments.
+     *
+     * @throws IOException thrown if the request is malformed or can't be read.
+     */
+    String[] readRequest() throws IOException {
+        if (this.readInt() != MAGIC) {
+            throw new IOException("Not an AutoGrade launcher");
+        }
+
+        int count = this.readInt();
+        if (count < 1 || count > 4096) {
+            throw new IOException("Bad request");
+        }
+
+        String[] request = this.readStrings(count);
+
+        int variables = this.readInt();
+        if (variables < 0 || variables > 4096) {
+            throw new IOException("Bad request");
+        }
+
+        Map<String, String> environment = new HashMap<>();
+        for (String variable : this.readStrings(variables)) {
+            int equals = variable.indexOf('=');
+            if (equals > 0) {
+                environment.put(variable.substring(0, equals),
+                                variable.substring(equals + 1));
+            }
+        }
+
+        this.environment = Collections.unmodifiableMap(environment);
+        return request;
+    }
+
+
+    /**
+     * @return (Map) the environment variables that the launcher sent with its request.
+     */
+    Map<String, String> environment() {
+        return this.environment;
+    }
+
+
+    /**
+     * @return (boolean) true if the launcher has asked for the run to be stopped.
+     */
+    boolean isCancelled() {
+        return this.cancelled;
+    }
+
+
+    void accept() throws IOException {
+        this.send(ACCEPTED, new byte[0], 0, 0);
+    }
+
+
+    /**
+     * Tells the launcher to run AutoGrade itself, and hangs up.
+     */
+    void reject() {
+        try {
+            this.send(BUSY, new byte[0], 0, 0);
+        } catch (final IOException e) {
+            // Hanging up anyway.
+        }
+
+        this.close();
+    }
+
+
+    /**
+     * Prints something on the launcher's standard output.
+     */
+    void print(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        try {
+            this.send(OUTPUT, bytes, 0, bytes.length);
+        } catch (final IOException e) {
+            // The launcher is gone; there's nobody to tell.
+        }
+    }
+
+
+    /**
+     * Returns a stream that prints on the launcher's standard output or error.
+     *
+     * @param type (byte) {@link #OUTPUT} or {@link #ERROR}.
+     */
+    PrintStream stream(byte type) {
+        OutputStream frames = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                this.write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (Connection.this.cancelled) {
+                    throw new SessionClosed();
+                }
+
+                Connection.this.send(type, b, off, len);
+            }
+        };
+
+        return new PrintStream(frames, true, StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Starts reading the launcher's standard input in the background. Frames keep
+     * being read after the input runs out, in case the launcher is interrupted later.
+     *
+     * @param onCancel (Runnable) what to do, besides making reading and printing throw
+     *                 {@link SessionClosed}, if the launcher asks for the run to be
+     *                 stopped.
+     *
+     * @return (InputStream) the launcher's standard input.
+     */
+    InputStream startForwardingInput(Runnable onCancel) {
+        ForwardedInput input = new ForwardedInput();
+
+        Thread reader = new Thread(() -> {
+            try {
+                while (true) {
+                    ByteBuffer header = ByteBuffer.allocate(5);
+                    this.readFully(header);
+                    header.flip();
+
+                    byte type = header.get();
+                    int length = header.getInt();
+                    if (type == CANCEL && length == 0 && !this.cancelled) {
+                        this.cancelled = true;
+                        input.cancelled = true;
+                        input.chunks.add(ForwardedInput.END);
+                        onCancel.run();
+                        continue;
+                    }
+
+                    if (type != INPUT || length < 0 || length > MAX_REQUEST_BYTES) {
+                        break;
+                    }
+
+                    if (length == 0) {
+                        input.chunks.add(ForwardedInput.END);
+                        continue;
+                    }
+
+                    ByteBuffer data = ByteBuffer.allocate(length);
+                    this.readFully(data);
+                    input.chunks.add(data.array());
+                }
+            }
+
+            catch (final IOException e) {
+                // The launcher hung up, which is the same as running out of input.
+            }
+
+            finally {
+                input.chunks.add(ForwardedInput.END);
+            }
+        }, "AutoGrade-session-input");
+
+        reader.setDaemon(true);
+        reader.start();
+        return input;
+    }
+
+
+    /**
+     * Sends the exit status and hangs up.
+     */
+    void finish(int status) {
+        try {
+            byte[] bytes = ByteBuffer.allocate(4).putInt(status).array();
+            this.send(EXIT, bytes, 0, bytes.length);
+        } catch (final IOException e) {
+            // The launcher is gone; there's nobody to tell.
+        }
+
+        this.close();
+    }
+
+
+    void close() {
+        try {
+            this.channel.close();
+        } catch (final IOException e) {
+            // Already closed.
+        }
+    }
+
+
+    /**
+     * Sends a frame. Students' code may print from several threads, so frames are
+     * sent one at a time.
+     */
+    private synchronized void send(byte type, byte[] data, int offset, int length)
+            throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(5 + length);
+        frame.put(type).putInt(length).put(data, offset, length).flip();
+
+        while (frame.hasRemaining()) {
+            this.channel.write(frame);
+        }
+    }
+
+
+    private String[] readStrings(int count) throws IOException {
+        String[] strings = new String[count];
+        int total = 0;
+        for (int i = 0; i < count; ++i) {
+            int length = this.readInt();
+            total += length;
+            if (length < 0 || total > MAX_REQUEST_BYTES) {
+                throw new IOException("Bad request");
+            }
+
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            this.readFully(bytes);
+            strings[i] = new String(bytes.array(), StandardCharsets.UTF_8);
+        }
+
+        return strings;
+    }
+
+
+    private int readInt() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(4);
+        this.readFully(bytes);
+        return bytes.getInt(0);
+    }
+
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+
+    /**
+     * The launcher's standard input, as it arrives.
+     */
+    private static final class ForwardedInput extends InputStream {
+
+        private static final byte[] END = new byte[0];
+
+        private final LinkedBlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+
+        private byte[] current = null;
+
+        private int position = 0;
+
+        private volatile boolean cancelled = false;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return this.read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            if (this.cancelled) {
+                throw new SessionClosed();
+            }
+
+            if (len == 0) {
+                return 0;
+            }
+
+            if (this.current == null || this.position == this.current.length) {
+                if (this.current == END) {
+                    return -1;
+                }
+
+                try {
+                    this.current = this.chunks.take();
+                    this.position = 0;
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    if (this.cancelled) {
+                        throw new SessionClosed();
+                    }
+
+                    throw new IOException("Interrupted while waiting for input");
+                }
+
+                if (this.cancelled) {
+                    throw new SessionClosed();
+                }
+
+                if (this.current == END) {
+                    return -1;
+                }
+            }
+
+            int count = Math.min(len, this.current.length - this.position);
+            System.arraycopy(this.current, this.position, b, off, count);
+            this.position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.current == null || this.current == END
+                   ? 0 : this.current.length - this.position;
+        }
+    }
+
+}
@@ -0,0 +1,484 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.daemon;
+
+import grader.AutoGrade;
+import grader.frontend.Channel;
+import grader.reflect.InternalCompiler;
+import grader.stability.ExitBlocker;
+import grader.stability.SessionClosed;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a warm AutoGrade JVM running in the background, so that the 'autograde'
+ * launcher doesn't have to start a new one (and load javac, and wait for the JIT) every
+ * time it's run. Start it with:
+ *
+ *     java -jar AutoGrade.jar --daemon
+ *
+ * The daemon listens on a Unix domain socket (see {@link #defaultSocket()}) in a
+ * directory that only its owner can get into, since whoever can connect to it can run
+ * code as them; it won't start anywhere else. Each
+ * connection is one run of AutoGrade: the launcher sends its arguments, working
+ * directory and a few environment variables, then forwards its standard input, and the
+ * daemon sends back everything printed and, finally, an exit status. The wire format
+ * is described in {@link Connection}.
+ *
+ * The run still happens in the daemon's process, though, so it isn't quite the same
+ * as a local one:
+ *
+ *  - Only the environment variables that {@link #getenv(String)} lists are the
+ *    launcher's; code that asks {@link System#getenv(String)} gets the daemon's.
+ *  - The run has no terminal. Standard input is whatever the launcher reads, so
+ *    nothing can tell whether it's a terminal, and text editors, which need one, are
+ *    refused (the 'file' command can still print files with --console).
+ *  - Ctrl-C in the launcher asks the daemon to stop the run, which it does the next
+ *    time the run reads or prints anything. Pressing it again gives up waiting.
+ *
+ * AutoGrade keeps its state in static fields, so only one run can happen at a time;
+ * anybody who connects while the daemon is busy is told so, and the launcher falls back
+ * to starting a JVM of its own. Between runs, {@link AutoGrade#reset()} puts everything
+ * back the way it was. One thing that can't be put back is a student's infinite loop
+ * that timed out, which keeps running until the daemon is stopped with:
+ *
+ *     autograde --stop-daemon
+ *
+ * Unix domain sockets need Java 16 or later. AutoGrade itself still runs on Java 11,
+ * so the parts of the socket API that are newer than that are looked up reflectively.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class Daemon {
+
+    /**
+     * Whether a run is in progress.
+     */
+    private static final AtomicBoolean busy = new AtomicBoolean(false);
+
+    private static volatile ServerSocketChannel server = null;
+
+    private static Path socket = null;
+
+    /**
+     * The current run's launcher's environment variables, or null between runs.
+     */
+    private static volatile Map<String, String> environment = null;
+
+
+    /**
+     * Not instantiable.
+     */
+    private Daemon() { }
+
+
+    /**
+     * @return (boolean) true if this JVM is a daemon. If so, {@link AutoGrade#close()}
+     *         only ends the current run.
+     */
+    public static boolean isServing() {
+        return server != null;
+    }
+
+
+    /**
+     * Looks up one of the launcher's environment variables during a run. The launcher
+     * only sends COLUMNS, LINES and TERM, so any other variable is missing; if COLUMNS
+     * and LINES aren't set, it sends its terminal's size as them instead. Outside the
+     * daemon, this is just {@link System#getenv(String)}.
+     *
+     * @param name (String) the variable's name.
+     *
+     * @return (String) its value, or null if it isn't set.
+     */
+    public static String getenv(String name) {
+        Map<String, String> forwarded = environment;
+        return forwarded != null ? forwarded.get(name) : System.getenv(name);
+    }
+
+
+    /**
+     * Returns where the daemon listens by default: $AUTOGRADE_SOCKET if it's set, and
+     * otherwise "daemon.sock" in a directory called "autograde-<user>" in
+     * $XDG_RUNTIME_DIR (or $TMPDIR, or /tmp). The launcher looks in the same place.
+     *
+     * @return (Path) the socket's path.
+     */
+    public static Path defaultSocket() {
+        String override = System.getenv("AUTOGRADE_SOCKET");
+        if (override != null && !override.isEmpty()) {
+            return Paths.get(override);
+        }
+
+        String directory = System.getenv("XDG_RUNTIME_DIR");
+        if (directory == null || directory.isEmpty()) {
+            directory = System.getenv("TMPDIR");
+        }
+
+        if (directory == null || directory.isEmpty()) {
+            directory = "/tmp";
+        }
+
+        String user = System.getenv("USER");
+        if (user == null || user.isEmpty()) {
+            user = System.getProperty("user.name");
+        }
+
+        return Paths.get(directory, "autograde-" + user, "daemon.sock");
+    }
+
+
+    /**
+     * Listens for runs until the daemon is told to stop. This never returns normally.
+     *
+     * @param path (Path) the socket to listen on.
+     *
+     * @throws IOException thrown if the socket can't be opened, including when another
+     *                     daemon is already listening on it or when other users could
+     *                     get into its directory.
+     */
+    public static void serve(Path path) throws IOException {
+        SocketAddress address = address(path);
+
+        /**
+         * Anyone who can connect can run code as us. bind() makes the socket with
+         * whatever permissions the umask allows, so it has to go in a directory that
+         * nobody else can get into from the start.
+         */
+        protect(path.toAbsolutePath().getParent());
+
+        /**
+         * A socket file left behind by a daemon that crashed can simply be replaced;
+         * one that somebody answers can't.
+         */
+        if (Files.exists(path)) {
+            boolean answered;
+            try {
+                SocketChannel.open(address).close();
+                answered = true;
+            } catch (final IOException e) {
+                answered = false;
+            }
+
+            if (answered) {
+                throw new IOException("Another daemon is already listening on " + path);
+            }
+
+            Files.delete(path);
+        }
+
+        server = openServer();
+        server.bind(address);
+        socket = path;
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (final IOException e) {
+                // The next daemon will replace it.
+            }
+        }));
+
+        warmUp();
+        System.out.println("AutoGrade daemon listening on " + path + ".");
+
+        while (true) {
+            SocketChannel client;
+            try {
+                client = server.accept();
+            }
+
+            catch (final IOException e) {
+                if (!server.isOpen()) {
+                    return;
+                }
+
+                throw e;
+            }
+
+            Connection connection = new Connection(client);
+            if (!busy.compareAndSet(false, true)) {
+                connection.reject();
+                continue;
+            }
+
+            Thread session = new Thread(() -> {
+                try {
+                    run(connection);
+                } finally {
+                    busy.set(false);
+                }
+            }, "AutoGrade-session");
+
+            session.start();
+        }
+    }
+
+
+    /**
+     * Runs AutoGrade once, for one connection.
+     */
+    private static void run(Connection connection) {
+        String[] request;
+        try {
+            connection.accept();
+            request = connection.readRequest();
+        }
+
+        catch (final IOException e) {
+            connection.close();
+            return;
+        }
+
+        String[] args = Arrays.copyOfRange(request, 1, request.length);
+        if (args.length == 1 && args[0].equals("--stop-daemon")) {
+            connection.print("Stopping the AutoGrade daemon.\n");
+            connection.finish(0);
+            stop();
+            return;
+        }
+
+        /**
+         * Interrupting the session wakes it up if it's waiting on the tests; the next
+         * time it reads or prints, it's stopped for good.
+         */
+        Thread session = Thread.currentThread();
+        PrintStream out = connection.stream(Connection.OUTPUT);
+        PrintStream err = connection.stream(Connection.ERROR);
+        InputStream in = connection.startForwardingInput(session::interrupt);
+
+        PrintStream oldOut = System.out, oldErr = System.err;
+        InputStream oldIn = System.in;
+        int status = 0;
+
+        try {
+            System.setOut(out);
+            System.setErr(err);
+            System.setIn(in);
+            Channel.reconnect();
+            environment = connection.environment();
+
+            AutoGrade.CALLER_DIRECTORY = new File(request[0]);
+            AutoGrade.run(args);
+        }
+
+        catch (final SessionClosed e) {
+            // AutoGrade finished the way it normally does, or was cancelled.
+        }
+
+        catch (final Throwable t) {
+            if (!connection.isCancelled()) {
+                out.println("Program crashed, oops");
+                t.printStackTrace(out);
+                status = 1;
+            }
+        }
+
+        finally {
+            if (!connection.isCancelled()) {
+                out.flush();
+                err.flush();
+            }
+
+            environment = null;
+            System.setOut(oldOut);
+            System.setErr(oldErr);
+            System.setIn(oldIn);
+            Channel.reconnect();
+
+            /**
+             * A cancelled run leaves the session interrupted, which would cut the
+             * clean-up short.
+             */
+            Thread.interrupted();
+            AutoGrade.reset();
+
+            connection.finish(connection.isCancelled() ? 130 : status);
+        }
+    }
+
+
+    /**
+     * Makes sure that the given directory exists, belongs to us and can't be read,
+     * written or entered by anybody else, creating it if need be. A directory that's
+     * already there with looser permissions is left alone, since somebody may have
+     * planted something in it.
+     *
+     * @throws IOException thrown if the directory can't be made private.
+     */
+    private static void protect(Path directory) throws IOException {
+        Set<PosixFilePermission> ownerOnly = PosixFilePermissions.fromString("rwx------");
+        PosixFileAttributes attributes;
+
+        try {
+            if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+                try {
+                    Files.createDirectory(directory,
+                            PosixFilePermissions.asFileAttribute(ownerOnly));
+                } catch (final FileAlreadyExistsException e) {
+                    // Checked below, like any other directory that was already there.
+                }
+            }
+
+            attributes = Files.readAttributes(directory, PosixFileAttributes.class,
+                                              LinkOption.NOFOLLOW_LINKS);
+        }
+
+        catch (final UnsupportedOperationException e) {
+            throw new IOException("Can't keep other users away from " + directory
+                                  + " on this file system");
+        }
+
+        UserPrincipal us = directory.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+
+        if (!attributes.isDirectory()) {
+            throw new IOException(directory + " is not a directory");
+        }
+
+        if (!attributes.owner().equals(us)) {
+            throw new IOException(directory + " belongs to "
+                                  + attributes.owner().getName());
+        }
+
+        if (!ownerOnly.containsAll(attributes.permissions())) {
+            throw new IOException("Other users can get into " + directory
+                                  + "; run 'chmod 700' on it first");
+        }
+    }
+
+
+    /**
+     * Stops listening and exits.
+     */
+    @SuppressWarnings("removal")
+    private static void stop() {
+        try {
+            server.close();
+            Files.deleteIfExists(socket);
+        } catch (final IOException e) {
+            // Exiting anyway.
+        }
+
+        SecurityManager sm = System.getSecurityManager();
+        if (sm instanceof ExitBlocker) {
+            ((ExitBlocker) sm).permitExit();
+        }
+
+        System.exit(0);
+    }
+
+
+    /**
+     * Gets javac loaded and compiled by the JIT before the first real run needs it.
+     */
+    private static void warmUp() {
+        try {
+            Path directory = Files.createTempDirectory("autograde-warmup");
+            File source = directory.resolve("Warmup.java").toFile();
+            Files.write(source.toPath(), ("public class Warmup {\n"
+                    + "    public static int answer() { return 42; }\n"
+                    + "}\n").getBytes(StandardCharsets.UTF_8));
+
+            for (int i = 0; i < 3; ++i) {
+                InternalCompiler.compile(source);
+            }
+
+            Files.delete(source.toPath());
+            Files.delete(directory);
+        }
+
+        catch (final Exception e) {
+            // Just slower to start, then.
+        }
+
+        AutoGrade.reset();
+    }
+
+
+    /**
+     * Makes a Unix domain socket address, which needs Java 16.
+     */
+    private static SocketAddress address(Path path) throws IOException {
+        try {
+            Class<?> type = Class.forName("java.net.UnixDomainSocketAddress");
+            return (SocketAddress) type.getMethod("of", Path.class).invoke(null, path);
+        }
+
+        catch (final ReflectiveOperationException e) {
+            throw new IOException("The daemon needs Java 16 or later", e);
+        }
+    }
+
+
+    /**
+     * Opens a server socket for Unix domain sockets, which needs Java 16.
+     */
+    private static ServerSocketChannel openServer() throws IOException {
+        try {
+            ProtocolFamily unix = StandardProtocolFamily.valueOf("UNIX");
+            return (ServerSocketChannel) ServerSocketChannel.class
+                    .getMethod("open", ProtocolFamily.class)
+                    .invoke(null, unix);
+        }
+
+        catch (final InvocationTargetException e) {
+            throw new IOException("Could not open the daemon's socket", e.getCause());
+        }
+
+        catch (final ReflectiveOperationException | IllegalArgumentException e) {
+            throw new IOException("The daemon needs Java 16 or later", e);
+        }
+    }
+
+}
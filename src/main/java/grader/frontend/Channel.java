@@ -26,8 +26,13 @@
  */
 package grader.frontend;
 
+import grader.daemon.Daemon;
+
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 /**
@@ -70,7 +75,7 @@ public enum Channel {
 
     private static boolean locked = false;
 
-    private static final PrintStream out = System.out;
+    private static PrintStream out = System.out;
 
     private static Scanner input = new Scanner(System.in);
 
@@ -78,6 +83,115 @@ public enum Channel {
 
     private static boolean muteAll = false;
 
+    /**
+     * The width {@link #width()} assumes when it can't tell, and the narrowest it
+     * believes.
+     */
+    private static final int DEFAULT_WIDTH = 80, MINIMUM_WIDTH = 40;
+
+    /**
+     * The terminal's width as 'stty' reported it, 0 if it hasn't been asked yet, or -1
+     * if it couldn't tell. It's only asked once per session, since it takes a process.
+     */
+    private static int terminalWidth = 0;
+
+
+    /**
+     * Starts talking over whatever System.in and System.out are now, and forgets any
+     * other settings. The daemon uses this to hand each run its launcher's terminal.
+     */
+    public static void reconnect() {
+        out = System.out;
+        input = new Scanner(System.in);
+        tempScanner = null;
+        muteAll = false;
+        locked = false;
+        currentSetting = INTERACTION;
+        terminalWidth = 0;
+    }
+
+
+    /**
+     * How many columns wide the terminal is: $COLUMNS, if it's set, then whatever the
+     * terminal itself says, and otherwise the 80 that AutoGrade has always assumed.
+     * Most shells don't export $COLUMNS, so it's usually the terminal's. Under the
+     * daemon, the launcher sends its terminal's width as $COLUMNS, and the daemon's
+     * own terminal is never asked.
+     *
+     * @return (int) the width, in columns.
+     */
+    public static synchronized int width() {
+        int width = parseWidth(Daemon.getenv("COLUMNS"));
+        if (width > 0 || Daemon.isServing()) {
+            return width > 0 ? width : DEFAULT_WIDTH;
+        }
+
+        if (terminalWidth == 0) {
+            terminalWidth = askTerminal();
+        }
+
+        return terminalWidth > 0 ? terminalWidth : DEFAULT_WIDTH;
+    }
+
+
+    /**
+     * @return (int) the given width, or 0 if it's missing, garbled or narrower than
+     *         {@link #MINIMUM_WIDTH}.
+     */
+    private static int parseWidth(String columns) {
+        if (columns == null) {
+            return 0;
+        }
+
+        try {
+            int width = Integer.parseInt(columns.trim());
+            return width >= MINIMUM_WIDTH ? width : 0;
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+    }
+
+
+    /**
+     * Asks 'stty' how wide the controlling terminal is. Standard input may well not be
+     * the terminal, so /dev/tty is handed to it instead.
+     *
+     * @return (int) the width, or -1 if there's no terminal or it can't tell.
+     */
+    private static int askTerminal() {
+        try {
+            Process stty = new ProcessBuilder("stty", "size")
+                    .redirectInput(new File("/dev/tty"))
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+
+            String size;
+            try (InputStream output = stty.getInputStream()) {
+                size = new String(output.readAllBytes(), StandardCharsets.US_ASCII);
+            }
+
+            if (stty.waitFor() != 0) {
+                return -1;
+            }
+
+            /**
+             * 'stty size' prints the rows, then the columns.
+             */
+            String[] rowsAndColumns = size.trim().split("\\s+");
+            int width = rowsAndColumns.length == 2 ? parseWidth(rowsAndColumns[1]) : 0;
+            return width > 0 ? width : -1;
+        }
+
+        catch (final IOException e) {
+            return -1;
+        }
+
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
 
     public static void instituteScanner(Scanner scanner) {
         tempScanner = scanner;
@@ -29,14 +29,22 @@ package grader.frontend;
 
 import grader.*;
 import grader.articles.ArticleManager;
+import grader.backend.ArchivedFile;
+import grader.backend.GradeTable;
 import grader.backend.ManualGradingError;
 import grader.backend.Script;
+import grader.backend.SimilarityIndex;
+import grader.backend.Timings;
 import grader.backend.Student;
 import grader.flag.FlagParser;
 import grader.flag.FlagSet;
 import grader.util.Helper;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 import static grader.frontend.Color.*;
@@ -66,8 +74,10 @@ public class CommandHandler {
                 put("inspect",  new String[] { "i", "run", "ins" });
                 put("list",     new String[] { "l", "ls" });
                 put("select",   new String[] { "s", "sel" });
+                put("similar",  new String[] { "sim", "copies" });
                 put("save",     new String[] { "w" });
                 put("sort",     new String[] { "so" });
+                put("stats",    new String[] { "st", "timings" });
                 put("view",     new String[] { "v", "show" });
     }};
 
@@ -86,8 +96,10 @@ public class CommandHandler {
                 put("list", "Shows a list of students");
                 put("run", "Reruns a submission for the purposes of inspection");
                 put("select", "Changes the students that are selected for editing");
+                put("similar", "Lists the most similar pairs of submissions");
                 put("save", "Saves the submissions of the given students");
                 put("sort", "Sorts results by the given criterion (grade or name)");
+                put("stats", "Shows how long each phase of grading took");
                 put("view", "Shows details for the selected students");
     }};
 
@@ -147,6 +159,11 @@ public class CommandHandler {
                             .withAliases("c")
                             .describeAs("Exports the results to a CSV file. Cannot be " +
                                     "used in conjunction with *--separate-files*")
+                        .accepts("item", ResultExporter.DEFAULT_GRADE_ITEM)
+                            .withAliases("i")
+                            .withParamName("<name>")
+                            .describeAs("Names the eLC grade item that CSV grades go to, "
+                                        + "exactly as it appears in the grade book")
                         .disallowTogether("grades-only", "no-source-names")
                         .disallowTogether("csv", "separate-files")
                 );
@@ -189,6 +206,13 @@ public class CommandHandler {
                             .describeAs("Clears the preferred sorting order.")
                 );
 
+                put("similar", new FlagSet()
+                        .accepts("selected")
+                            .withAliases("s")
+                            .describeAs("Only compares the selected students with each "
+                                        + "other")
+                );
+
                 put("sort", new FlagSet()
                         .accepts("descending")
                             .withAliases("d", "r", "reverse")
@@ -221,6 +245,8 @@ public class CommandHandler {
                 add("help");
                 add("list");
                 add("select");
+                add("similar");
+                add("stats");
     }};
 
 
@@ -230,6 +256,14 @@ public class CommandHandler {
     private static StudentSelection currentSelection = null;
 
 
+    /**
+     * Forgets the current selection, e.g. when the students it refers to are gone.
+     */
+    public static void clearSelection() {
+        currentSelection = null;
+    }
+
+
     /**
      * Handles the command-line interface (CLI) loop for AutoGrade.
      */
@@ -242,104 +276,127 @@ public class CommandHandler {
         while (true) {
             String commandInput = AutoGrade.readCommand();
 
-            try {
-                String[] piped
-                        = commandInput.contains("|") ? commandInput.split(" *\\| *")
-                                                     : new String[] { commandInput };
-
-                Channel.muteAll();
-                for (int i = 0; i < piped.length; ++i) {
-                    if (i + 1 == piped.length) {
-                        Channel.unmuteAll();
-                    }
+            /**
+             * Submissions may be getting graded in the background (see --watch), so
+             * hold them still while the command runs.
+             */
+            synchronized (AutoGrade.accessLock()) {
+                execute(commandInput);
+            }
+        }
+    }
 
-                    String pipedCommand = piped[i];
-                    String[] split = pipedCommand.split(" ");
 
-                    String command = mapAliasToCommand(split[0]);
+    /**
+     * Executes a line of input from the user, which may be several commands piped
+     * together. Errors are reported to the user rather than thrown.
+     *
+     * @param commandInput (String) the line of input.
+     */
+    public static void execute(String commandInput) {
+        try {
+            String[] piped
+                    = commandInput.contains("|") ? commandInput.split(" *\\| *")
+                                                 : new String[] { commandInput };
+
+            Channel.muteAll();
+            for (int i = 0; i < piped.length; ++i) {
+                if (i + 1 == piped.length) {
+                    Channel.unmuteAll();
+                }
 
-                    FlagParser args;
-                    if (COMMAND_FLAGSETS.containsKey(command)) {
-                        args = new FlagParser(COMMAND_FLAGSETS.get(command), split);
-                    } else {
-                        args = new FlagParser(split);
-                    }
+                String pipedCommand = piped[i];
+                String[] split = pipedCommand.split(" ");
 
-                    args.setOffset(1);
+                String command = mapAliasToCommand(split[0]);
 
-                    if (currentSelection == null &&
-                            !USABLE_WITHOUT_SELECTION.contains(command) &&
-                            COMMAND_DESCRIPTIONS.containsKey(command)) {
-                        throw new RuntimeException("No students have been selected yet!");
-                    }
+                FlagParser args;
+                if (COMMAND_FLAGSETS.containsKey(command)) {
+                    args = new FlagParser(COMMAND_FLAGSETS.get(command), split);
+                } else {
+                    args = new FlagParser(split);
+                }
 
-                    switch (command) {
-                        case "delete":   delete(args);
-                                         break;
+                args.setOffset(1);
 
-                        case "deselect": deselect(args);
-                                         break;
+                if (currentSelection == null &&
+                        !USABLE_WITHOUT_SELECTION.contains(command) &&
+                        COMMAND_DESCRIPTIONS.containsKey(command)) {
+                    throw new RuntimeException("No students have been selected yet!");
+                }
 
-                        case "exit":     exit(args);
-                                         break;
+                switch (command) {
+                    case "delete":   delete(args);
+                                     break;
 
-                        case "export":   export(args);
-                                         break;
+                    case "deselect": deselect(args);
+                                     break;
 
-                        case "file":     file(args);
-                                         break;
+                    case "exit":     exit(args);
+                                     break;
 
-                        case "help":     help(args);
-                                         break;
+                    case "export":   export(args);
+                                     break;
 
-                        case "inspect":  run(args);
-                                         break;
+                    case "file":     file(args);
+                                     break;
 
-                        case "list":     list(args);
-                                         break;
+                    case "help":     help(args);
+                                     break;
 
-                        case "select":   select(args);
-                                         break;
+                    case "inspect":  run(args);
+                                     break;
 
-                        case "sort":     sort(args);
-                                         break;
+                    case "list":     list(args);
+                                     break;
 
-                        case "view":     view(args);
-                                         break;
+                    case "select":   select(args);
+                                     break;
 
-                        default:
-                            throw new RuntimeException("Unknown command '" + command
-                                    + "'; use the 'help' command for a list of valid "
-                                    + "commands.");
-                    }
-                }
-            }
+                    case "similar":  similar(args);
+                                     break;
 
-            catch (final RuntimeException e) {
-                Channel.unmuteAll();
+                    case "sort":     sort(args);
+                                     break;
 
-                if (e instanceof CommandUsageException) {
-                    CommandUsageException ex = (CommandUsageException) e;
+                    case "stats":    stats(args);
+                                     break;
 
-                    if (ex.hasDescription()) {
-                        Channel.INTERACTION.say(RED + ex.getDescription() + RESET);
-                    }
+                    case "view":     view(args);
+                                     break;
 
-                    String command = ex.getCommand();
-                    help(new FlagParser(new FlagSet(), command));
-                } else {
-                    Channel.INTERACTION.say(RED + e.getMessage() + RESET);
+                    default:
+                        throw new RuntimeException("Unknown command '" + command
+                                + "'; use the 'help' command for a list of valid "
+                                + "commands.");
                 }
+            }
+        }
 
-                if (AutoGrade.SHOW_STACK_TRACES) {
-                    e.printStackTrace();
+        catch (final RuntimeException e) {
+            Channel.unmuteAll();
+
+            if (e instanceof CommandUsageException) {
+                CommandUsageException ex = (CommandUsageException) e;
+
+                if (ex.hasDescription()) {
+                    Channel.INTERACTION.say(RED + ex.getDescription() + RESET);
                 }
+
+                String command = ex.getCommand();
+                help(new FlagParser(new FlagSet(), command));
+            } else {
+                Channel.INTERACTION.say(RED + e.getMessage() + RESET);
             }
 
-            for (FlagSet f : COMMAND_FLAGSETS.values()) {
-                f.clear();
+            if (AutoGrade.SHOW_STACK_TRACES) {
+                e.printStackTrace();
             }
         }
+
+        for (FlagSet f : COMMAND_FLAGSETS.values()) {
+            f.clear();
+        }
     }
 
 
@@ -392,7 +449,40 @@ public class CommandHandler {
      * @param args (FlagParser) the arguments given by the user.
      */
     private static void deselect(FlagParser args) {
+        if (args.length() == 0) {
+            throw new CommandUsageException("deselect", "No filter provided!");
+        }
+
+        String filter = Helper.join(" ", args.asArray());
+        BitSet matches = matchFilter(filter);
 
+        int sizeBefore = currentSelection.size();
+
+        /**
+         * Deselecting everyone who does NOT match the filter is the same thing as
+         * intersecting the selection with the students who do.
+         */
+        if (args.hasFlag("invert")) {
+            currentSelection.intersect(matches);
+        } else {
+            currentSelection.subtract(matches);
+        }
+
+        int size = currentSelection.size();
+
+        if (size == sizeBefore) {
+            Channel.INTERACTION.say(RED + "No selected students match the filter '"
+                    + filter + "'!" + RESET);
+        }
+
+        if (size == 0) {
+            Channel.INTERACTION.say("No students remain selected.");
+            currentSelection = null;
+            return;
+        }
+
+        Channel.INTERACTION.say(size + (size == 1 ? " student" : " students")
+                + " selected: " + Helper.elegantPrintList(currentSelection.getNames()));
     }
 
 
@@ -412,13 +502,63 @@ public class CommandHandler {
     /**
      * Exports AutoGrade's findings to a text file or CSV.
      *
-     * autograde $ export [<file>|<dir>] [--separate-files|--csv]
+     * autograde $ export [<file>|<dir>] [--separate-files|--csv [--item <name>]]
      *             [--overwrite] [--grades-only|--no-source-names]
      *
      * @param args
      */
     private static void export(FlagParser args) {
+        if (currentSelection == null) {
+            throw new RuntimeException("No students selected!");
+        }
+
+        if (args.length() > 1) {
+            throw new CommandUsageException("export", "Only one destination may be "
+                                                      + "given.");
+        }
+
+        boolean csv = args.hasFlag("csv");
+        String destination = args.length() == 1 ? args.get(0)
+                : (args.hasFlag("separate-files") ? "feedback/"
+                                                  : (csv ? "grades.csv" : "grades.txt"));
+
+        boolean separateFiles = args.hasFlag("separate-files")
+                             || destination.endsWith("/");
+
+        if (csv && separateFiles) {
+            throw new CommandUsageException("export", "CSV results cannot be exported "
+                                                      + "into separate files.");
+        }
+
+        ResultExporter exporter = new ResultExporter()
+                .asCSV(csv)
+                .gradesOnly(args.hasFlag("grades-only"))
+                .withSourceNames(!args.hasFlag("no-source-names"))
+                .overwrite(args.hasFlag("overwrite"))
+                .gradeItem(args.hasFlag("item") ? args.getValue("item")
+                                                : ResultExporter.DEFAULT_GRADE_ITEM);
+
+        currentSelection.sort(AutoGrade.getExportSortOrder());
+        ArrayList<Student> students = currentSelection.getStudents();
+        Path path = AutoGrade.resolve(destination).toPath();
+
+        try {
+            int count = separateFiles ? exporter.exportToDirectory(path, students)
+                                      : exporter.exportToFile(path, students);
+
+            Channel.INTERACTION.say("Exported " + count
+                    + (count == 1 ? " student" : " students") + " to "
+                    + GREEN + destination + RESET + ".");
+        }
 
+        catch (final FileAlreadyExistsException e) {
+            throw new RuntimeException(e.getFile() + " already exists. Use --overwrite "
+                                       + "to replace it.");
+        }
+
+        catch (final IOException e) {
+            throw new RuntimeException("Could not export results: " + e.getMessage());
+        }
     }
 
     private static void file(FlagParser args) {
@@ -449,7 +589,7 @@ public class CommandHandler {
                 throw new RuntimeException(student.getName() + " has no submissions!");
 
             case 1:
-                File file = student.getSubmissions().get(0).getFile();
+                File file = onDisk(student.getSubmissions().get(0).getFile());
                 String address = file.getAbsolutePath();
                 EditorPreference.PREFERENCE.openEditor(address);
                 break;
@@ -499,13 +639,26 @@ public class CommandHandler {
                     break;
                 } while (true);
 
-                file = student.getSubmissions().get(selectionIndex - 1).getFile();
+                file = onDisk(student.getSubmissions().get(selectionIndex - 1).getFile());
                 address = file.getAbsolutePath();
                 EditorPreference.PREFERENCE.openEditor(address);
         }
     }
 
 
+    /**
+     * Editors can't open files inside archives, so those are extracted first.
+     */
+    private static File onDisk(File file) {
+        try {
+            return ArchivedFile.onDisk(file);
+        } catch (final IOException e) {
+            throw new RuntimeException("Could not extract " + file.getName() + ": "
+                                       + e.getMessage());
+        }
+    }
+
+
     /**
      * autograde $ help [<command>]
      *
@@ -577,10 +730,18 @@ public class CommandHandler {
                     Channel.INTERACTION.say(am.getElement("ARTICLE:select"));
                     break;
 
+                case "similar":
+                    Channel.INTERACTION.say(am.getElement("ARTICLE:similar"));
+                    break;
+
                 case "sort":
                     Channel.INTERACTION.say(am.getElement("ARTICLE:sort"));
                     break;
 
+                case "stats":
+                    Channel.INTERACTION.say(am.getElement("ARTICLE:stats"));
+                    break;
+
                 case "view":
                     Channel.INTERACTION.say(am.getElement("ARTICLE:view"));
                     break;
@@ -613,7 +774,7 @@ public class CommandHandler {
                                                      + "any arguments.");
          }
 
-         StudentSelection sel = new StudentSelection(AutoGrade.accessStudents().values());
+         StudentSelection sel = StudentSelection.everyone();
          sel.sort(AutoGrade.getExportSortOrder());
 
          ArrayList<String> names = sel.getNames();
@@ -679,36 +840,27 @@ public class CommandHandler {
         }
 
         String filter = Helper.join(" ", args.asArray());
+        BitSet matches = matchFilter(filter);
 
-        if (!args.hasFlag("append") || currentSelection == null) {
-            currentSelection = new StudentSelection();
+        /**
+         * Flipping every bit selects exactly the students who did NOT match.
+         */
+        if (args.hasFlag("invert")) {
+            matches.flip(0, AutoGrade.accessRoster().size());
         }
 
-        boolean invert = args.hasFlag("invert");
-
-        int studentsAdded = 0;
-        for (Student student : AutoGrade.accessStudents().values()) {
-            boolean match = parseFilter(filter, student);
+        int studentsAdded = matches.cardinality();
 
-            /**
-             * For two booleans a and b, a != b is a simplified way of saying
-             *
-             * a XOR b
-             *
-             * So if invert is true but match is false, or if invert is false and
-             * match is true, then the student should be added.
-             */
-            if (invert != match) {
-                currentSelection.addStudent(student);
-                ++studentsAdded;
-            }
+        if (!args.hasFlag("append") || currentSelection == null) {
+            currentSelection = new StudentSelection(matches);
+        } else {
+            currentSelection.union(matches);
         }
         
         SortOrder sorting = AutoGrade.getExportSortOrder();
         currentSelection.sort(sorting);
 
-        ArrayList<String> selectedStudents = currentSelection.getNames();
-        int size = selectedStudents.size();
+        int size = currentSelection.size();
 
         if (studentsAdded == 0 || size == 0) {
             Channel.INTERACTION.say(RED + "No students match the filter '"
@@ -722,7 +874,66 @@ public class CommandHandler {
         }
 
         Channel.INTERACTION.say(size + (size == 1 ? " student" : " students") + " selected: "
-                           + Helper.elegantPrintList(selectedStudents));
+                           + Helper.elegantPrintList(currentSelection.getNames()));
+    }
+
+
+    /**
+     * Lists the most similar pairs of submissions.
+     *
+     * autograde $ similar [<count>] [--selected]
+     *
+     * @param args (FlagParser) the arguments given by the user.
+     */
+    private static void similar(FlagParser args) {
+        if (args.length() > 1) {
+            throw new CommandUsageException("similar", "Only one count may be given.");
+        }
+
+        int count = 10;
+        if (args.length() == 1) {
+            try {
+                count = Integer.parseInt(args.get(0));
+            } catch (final NumberFormatException e) {
+                count = 0;
+            }
+
+            if (count < 1) {
+                throw new CommandUsageException("similar", "The count must be a "
+                                                           + "positive number.");
+            }
+        }
+
+        Collection<Student> cohort;
+        if (args.hasFlag("selected")) {
+            if (currentSelection == null) {
+                throw new RuntimeException("No students selected!");
+            }
+
+            cohort = currentSelection.getStudents();
+        } else {
+            cohort = AutoGrade.accessRoster();
+        }
+
+        List<SimilarityIndex.Match> matches
+                = AutoGrade.accessSimilarityIndex().mostSimilar(cohort, count);
+
+        if (matches.isEmpty()) {
+            Channel.INTERACTION.say("No submissions have anything significant in "
+                                    + "common.");
+            return;
+        }
+
+        Channel.INTERACTION.say(GREEN + "Most similar submissions:" + RESET);
+        for (SimilarityIndex.Match match : matches) {
+            int percent = (int) Math.round(match.getSimilarity() * 100);
+            Color color = percent >= 80 ? RED : (percent >= 50 ? YELLOW : RESET);
+
+            Channel.INTERACTION.say(String.format("  %s%3d%%%s %s and %s (%d shared "
+                            + "fingerprints)", color, percent, RESET,
+                    match.getFirst().getName(), match.getSecond().getName(),
+                    match.getShared()));
+        }
     }
 
 
@@ -796,6 +1007,44 @@ public class CommandHandler {
     }
 
 
+    /**
+     * Shows how long each phase of grading took, and the slowest students.
+     *
+     * autograde $ stats [<count>]
+     *
+     * @param args (FlagParser) the arguments given by the user.
+     */
+    private static void stats(FlagParser args) {
+        if (args.length() > 1) {
+            throw new CommandUsageException("stats", "Only one count may be given.");
+        }
+
+        int count = 5;
+        if (args.length() == 1) {
+            try {
+                count = Integer.parseInt(args.get(0));
+            } catch (final NumberFormatException e) {
+                count = -1;
+            }
+
+            if (count < 0) {
+                throw new CommandUsageException("stats", "The count must be a number.");
+            }
+        }
+
+        ArrayList<String> lines = Timings.summarize(AutoGrade.accessRoster(), count);
+        if (lines.isEmpty()) {
+            Channel.INTERACTION.say("Nothing has been graded during this run.");
+            return;
+        }
+
+        Channel.INTERACTION.say(GREEN + "Where the time went:" + RESET);
+        for (String line : lines) {
+            Channel.INTERACTION.say(line);
+        }
+    }
+
+
     private static void view(FlagParser args) {
         if (currentSelection == null) {
             throw new RuntimeException("No students selected!");
@@ -837,6 +1086,14 @@ public class CommandHandler {
                 }
             }
         }
+
+        if (args.hasFlag("grades-only")) {
+            GradeTable.Summary summary = AutoGrade.accessGradeTable()
+                                                  .summarize(currentSelection.asBitSet());
+            if (summary != null) {
+                Channel.INTERACTION.say(CYAN + "Summary: " + RESET + summary);
+            }
+        }
     }
 
     private static Student getSingularStudent(FlagParser args) {
@@ -845,9 +1102,9 @@ public class CommandHandler {
                 throw new RuntimeException("No students selected!");
             }
 
-            switch (currentSelection.selectedStudents.size()) {
+            switch (currentSelection.size()) {
                 case 1:
-                    return currentSelection.selectedStudents.get(0);
+                    return currentSelection.first();
 
                 default:
                     throw new RuntimeException("Ambiguous selection: 'run' can only be "
@@ -856,11 +1113,10 @@ public class CommandHandler {
             }
         } else {
             String filter = Helper.join(" ", args.asArray());
+            int match = matchFilter(filter).nextSetBit(0);
 
-            for (Student s : AutoGrade.accessStudents().values()) {
-                if (parseFilter(filter, s)) {
-                    return s;
-                }
+            if (match >= 0) {
+                return AutoGrade.accessRoster().get(match);
             }
 
             throw new RuntimeException("No students match the given filter '" +
@@ -868,42 +1124,55 @@ public class CommandHandler {
         }
     }
 
-    private static boolean parseFilter(String filter, Student student) {
+    /**
+     * Evaluates the given filter against every student on the roster.
+     *
+     * @param filter (String) the filter, using the syntax described by 'help select'.
+     *
+     * @return (BitSet) a set containing the {@link Student#getIndex() index} of each
+     *         student who matches the filter.
+     */
+    private static BitSet matchFilter(String filter) {
         /**
          * Logical OR
          */
         if (filter.contains(",")) {
-            String[] subfilters = filter.split(",");
+            BitSet result = new BitSet();
 
-            for (String subfilter : subfilters) {
-                if (parseFilter(subfilter, student)) {
-                    return true;
-                }
+            for (String subfilter : filter.split(",")) {
+                result.or(matchFilter(subfilter));
             }
 
-            return false;
+            return result;
         }
 
         /**
          * Logical AND
          */
         if (filter.contains(";")) {
-            String[] subfilters = filter.split(";");
+            BitSet result = AutoGrade.accessGradeTable().everyone();
 
-            for (String subfilter : subfilters) {
-                if (!parseFilter(subfilter, student)) {
-                    return false;
-                }
+            for (String subfilter : filter.split(";")) {
+                result.and(matchFilter(subfilter));
             }
 
-            return true;
+            return result;
         }
 
-        return studentQualifies(filter, student);
+        return matchToken(filter);
     }
 
 
-    private static boolean studentQualifies(String token, Student student) {
+    /**
+     * Evaluates a single selector (one with no commas or semicolons) against the
+     * columns of the {@link GradeTable}.
+     *
+     * @param token (String) the selector.
+     *
+     * @return (BitSet) the students who match the selector.
+     */
+    private static BitSet matchToken(String token) {
+        GradeTable table = AutoGrade.accessGradeTable();
         token = token.trim();
 
         boolean negate = token.startsWith("!");
@@ -912,60 +1181,34 @@ public class CommandHandler {
         }
 
         if (token.equals("*")) {
-            return !negate;
+            return negate ? new BitSet() : table.everyone();
         }
 
-        if (token.equalsIgnoreCase("@incomplete")) {
-            return negate == (student.wasErrorFree() && student.getFeedback() != null);
-        }
-
-        if (token.equalsIgnoreCase("@complete")) {
-            return negate != (student.wasErrorFree() && student.getFeedback() != null);
-        }
-
-        if (token.startsWith(">")) {
-            boolean orEqual = token.substring(1).startsWith("=");
-            try {
-                double score = Double.parseDouble(token.substring(orEqual ? 2 : 1));
+        if (token.equalsIgnoreCase("@incomplete") || token.equalsIgnoreCase("@complete")) {
+            BitSet complete = table.complete();
+            boolean wantComplete = token.equalsIgnoreCase("@complete") != negate;
 
-                if (student.getFeedback() == null) {
-                    return false;
-                }
-
-                if (orEqual) {
-                    return negate != (student.getFeedback().getGrade() >= score);
-                } else {
-                    return negate != (student.getFeedback().getGrade() > score);
-                }
+            if (!wantComplete) {
+                complete.flip(0, table.size());
             }
 
-            catch (final NumberFormatException e) {
-                String symbol = (orEqual ? ">=" : ">");
-                throw new RuntimeException("Filter specifier " + symbol
-                        + "... requires a number immediately afterward; "
-                        + "was given " + token + " instead (valid example: '"
-                        + symbol + "75.0')");
-            }
+            return complete;
         }
 
-        if (token.startsWith("<")) {
+        BitSet result;
+
+        if (token.startsWith(">") || token.startsWith("<")) {
+            boolean above = token.startsWith(">");
             boolean orEqual = token.substring(1).startsWith("=");
+
             try {
                 double score = Double.parseDouble(token.substring(orEqual ? 2 : 1));
-
-                if (student.getFeedback() == null) {
-                    return false;
-                }
-
-                if (orEqual) {
-                    return negate != (student.getFeedback().getGrade() <= score);
-                } else {
-                    return negate != (student.getFeedback().getGrade() < score);
-                }
+                result = above ? table.above(score, orEqual)
+                               : table.below(score, orEqual);
             }
 
             catch (final NumberFormatException e) {
-                String symbol = (orEqual ? ">=" : ">");
+                String symbol = (above ? ">" : "<") + (orEqual ? "=" : "");
                 throw new RuntimeException("Filter specifier " + symbol
                         + "... requires a number immediately afterward; "
                         + "was given " + token + " instead (valid example: '"
@@ -973,16 +1216,9 @@ public class CommandHandler {
             }
         }
 
-        if (token.startsWith("=")) {
+        else if (token.startsWith("=")) {
             try {
-                double score = Double.parseDouble(token.substring(1));
-
-                if (student.getFeedback() == null) {
-                    return false;
-                }
-
-                return negate != (Helper.roughlyEqual(student.getFeedback().getGrade(),
-                                                      score));
+                result = table.equalTo(Double.parseDouble(token.substring(1)));
             }
 
             catch (final NumberFormatException e) {
@@ -992,41 +1228,131 @@ public class CommandHandler {
             }
         }
 
-        return negate != student.getTrueName()
-                                .toLowerCase().contains(token.toLowerCase());
+        else {
+            result = table.nameContains(token);
+
+            if (negate) {
+                result.flip(0, table.size());
+            }
+
+            return result;
+        }
+
+        /**
+         * Grade selectors never match students who don't have a grade, even when
+         * negated.
+         */
+        if (negate) {
+            BitSet graded = table.graded();
+            graded.andNot(result);
+            return graded;
+        }
+
+        return result;
     }
 
 
+    /**
+     * Represents a set of selected students. Each student is stored as a single bit
+     * (at the position of their {@link Student#getIndex() index}), so appending to,
+     * inverting, intersecting and counting selections are all word-parallel operations.
+     * A sorted list of the selected students is only built when it's actually needed
+     * (i.e., when names are printed or the selection is iterated over).
+     */
     private static class StudentSelection implements Iterable<Student> {
 
-        private ArrayList<Student> selectedStudents;
+        private final BitSet selectedStudents;
+
+        private SortOrder sortOrder;
+
+        /**
+         * The selected students, in order. This is null until it's needed, and is
+         * discarded whenever the selection or its ordering changes, or when the
+         * students themselves change in a way that could reorder them (e.g., a
+         * regrade while sorted by grade).
+         */
+        private ArrayList<Student> sortedView;
+
+        /**
+         * The grade table's {@link GradeTable#modifications() modification count} when
+         * {@link #sortedView} was built.
+         */
+        private int sortedAt;
 
         public StudentSelection() {
-            this.selectedStudents = new ArrayList<>();
+            this(new BitSet());
         }
 
-        public StudentSelection(Collection<Student> students) {
-            this.selectedStudents = new ArrayList<>(students);
+        public StudentSelection(BitSet students) {
+            this.selectedStudents = students;
+            this.sortOrder = AutoGrade.getExportSortOrder();
+            this.sortedView = null;
+        }
+
+        public static StudentSelection everyone() {
+            BitSet all = new BitSet();
+            all.set(0, AutoGrade.accessRoster().size());
+            return new StudentSelection(all);
         }
 
         public void addStudent(Student student) {
-            if (!selectedStudents.contains(student)) {
-                selectedStudents.add(student);
-            }
+            this.selectedStudents.set(student.getIndex());
+            this.sortedView = null;
+        }
+
+        public boolean hasStudent(Student student) {
+            return this.selectedStudents.get(student.getIndex());
+        }
+
+        public void union(BitSet students) {
+            this.selectedStudents.or(students);
+            this.sortedView = null;
         }
 
-        public boolean hasStudent(String name) {
-            return this.selectedStudents.contains(name);
+        public void intersect(BitSet students) {
+            this.selectedStudents.and(students);
+            this.sortedView = null;
+        }
+
+        public void subtract(BitSet students) {
+            this.selectedStudents.andNot(students);
+            this.sortedView = null;
+        }
+
+        public int size() {
+            return this.selectedStudents.cardinality();
+        }
+
+        public BitSet asBitSet() {
+            return (BitSet) this.selectedStudents.clone();
+        }
+
+        public Student first() {
+            int index = this.selectedStudents.nextSetBit(0);
+            return index < 0 ? null : AutoGrade.accessRoster().get(index);
         }
 
         public void sort(SortOrder mode) {
-            this.selectedStudents = mode.sort(this.selectedStudents);
+            if (mode != this.sortOrder) {
+                this.sortOrder = mode;
+                this.sortedView = null;
+            }
+        }
+
+        private ArrayList<Student> getStudents() {
+            int modifications = AutoGrade.accessGradeTable().modifications();
+            if (this.sortedView == null || this.sortedAt != modifications) {
+                this.sortedView = this.sortOrder.sort(this.selectedStudents);
+                this.sortedAt = modifications;
+            }
+
+            return this.sortedView;
         }
 
         public ArrayList<String> getNames() {
             ArrayList<String> properNames = new ArrayList<>();
 
-            for (Student student : this.selectedStudents) {
+            for (Student student : this.getStudents()) {
                 properNames.add(GREEN + student.getName() + RESET);
             }
 
@@ -1036,7 +1362,7 @@ public class CommandHandler {
 
         @Override
         public Iterator<Student> iterator() {
-            return this.selectedStudents.iterator();
+            return this.getStudents().iterator();
         }
     }
 
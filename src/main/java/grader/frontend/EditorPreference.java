@@ -27,6 +27,7 @@
 package grader.frontend;
 
 import grader.AutoGrade;
+import grader.daemon.Daemon;
 
 /**
  * @author  Sahir Shahryar
@@ -46,6 +47,14 @@ public enum EditorPreference {
      *
      */
     public void openEditor(String args) {
+        /**
+         * The daemon has no terminal to give an editor, and would start it on its own.
+         */
+        if (this != NONE && Daemon.isServing()) {
+            throw new RuntimeException("Text editors can't be opened through the daemon. "
+                    + "Use 'file --console', or stop the daemon.");
+        }
+
         args = args.replace(" ", "\\ ");
 
         boolean useColor = AutoGrade.SHOW_COLORS;
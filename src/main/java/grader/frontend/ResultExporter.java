@@ -0,0 +1,415 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.frontend;
+
+import grader.backend.ELCSubmission;
+import grader.backend.Feedback;
+import grader.backend.Student;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes graded results out to disk, either as a paste-ready text file or as a CSV
+ * that can be imported into eLC's grade book. Results are streamed student by student
+ * through a single buffered channel, so the document is never built up in memory.
+ *
+ * Exports always use students' real names, even under --censor: censoring only hides
+ * names on screen, and a grade book full of placeholders couldn't be matched to anyone.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class ResultExporter {
+
+    /**
+     * The size, in bytes, of the buffers sitting in front of the file channel.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+
+    /**
+     * The grade item CSV grades are imported into unless {@link #gradeItem(String)}
+     * says otherwise.
+     */
+    public static final String DEFAULT_GRADE_ITEM = "Assignment";
+
+
+    private boolean csv = false;
+
+    private String gradeItem = DEFAULT_GRADE_ITEM;
+
+    private boolean gradesOnly = false;
+
+    private boolean sourceNames = true;
+
+    private boolean overwrite = false;
+
+
+    public ResultExporter asCSV(boolean csv) {
+        this.csv = csv;
+        return this;
+    }
+
+    public ResultExporter gradesOnly(boolean gradesOnly) {
+        this.gradesOnly = gradesOnly;
+        return this;
+    }
+
+    public ResultExporter withSourceNames(boolean sourceNames) {
+        this.sourceNames = sourceNames;
+        return this;
+    }
+
+    public ResultExporter overwrite(boolean overwrite) {
+        this.overwrite = overwrite;
+        return this;
+    }
+
+    /**
+     * Names the eLC grade item that CSV grades go to. eLC matches the grade column by
+     * this name, so it must be the item's name exactly as it appears in the grade book.
+     */
+    public ResultExporter gradeItem(String gradeItem) {
+        this.gradeItem = gradeItem;
+        return this;
+    }
+
+
+    /**
+     * Exports the given students to a single file.
+     *
+     * @param file     (Path) the file to write to.
+     * @param students (List<Student>) the students to export, in order.
+     *
+     * @return (int) the number of students exported.
+     *
+     * @throws IOException thrown if the file cannot be written, or if it already
+     *                     exists and overwriting is not permitted.
+     */
+    public int exportToFile(Path file, List<Student> students) throws IOException {
+        this.write(file, out -> {
+            if (this.csv) {
+                this.writeHeader(out);
+            }
+
+            for (Student student : students) {
+                if (this.csv) {
+                    this.writeRow(out, student);
+                } else {
+                    this.writeEntry(out, student);
+                    out.write('\n');
+                }
+            }
+        });
+
+        return students.size();
+    }
+
+
+    /**
+     * Exports each of the given students into their own file inside the given
+     * directory. The files are named after the students.
+     *
+     * @param directory (Path) the directory to write to. It is created if necessary.
+     * @param students  (List<Student>) the students to export.
+     *
+     * @return (int) the number of students exported.
+     *
+     * @throws IOException thrown if any of the files cannot be written.
+     */
+    public int exportToDirectory(Path directory, List<Student> students)
+            throws IOException {
+        Files.createDirectories(directory);
+
+        String extension = this.csv ? ".csv" : ".txt";
+        for (Student student : students) {
+            Path file = directory.resolve(fileNameFor(student) + extension);
+
+            this.write(file, out -> {
+                if (this.csv) {
+                    this.writeHeader(out);
+                    this.writeRow(out, student);
+                } else {
+                    this.writeEntry(out, student);
+                }
+            });
+        }
+
+        return students.size();
+    }
+
+
+    /**
+     * Something that writes a file's contents.
+     */
+    private interface Contents {
+        void writeTo(Writer out) throws IOException;
+    }
+
+
+    /**
+     * Writes a file. When overwriting, the contents go to a temporary file next to it
+     * which is then moved over it, so a failed export never leaves the old file
+     * half-replaced.
+     *
+     * @param file     (Path)     the file to write.
+     * @param contents (Contents) writes what goes in it.
+     *
+     * @throws IOException thrown if the file cannot be written, or if it already
+     *                     exists and overwriting is not permitted.
+     */
+    private void write(Path file, Contents contents) throws IOException {
+        if (!this.overwrite) {
+            try (Writer out = open(file, false)) {
+                contents.writeTo(out);
+            }
+
+            return;
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (Writer out = open(temporary, true)) {
+                contents.writeTo(out);
+            }
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+
+    /**
+     * Opens a buffered writer over a file channel.
+     *
+     * @param file     (Path)    the file to open.
+     * @param truncate (boolean) whether an existing file may be truncated; if not, the
+     *                           file must not exist yet.
+     * @return (Writer) the writer.
+     * @throws IOException thrown if the file cannot be opened.
+     */
+    private static Writer open(Path file, boolean truncate) throws IOException {
+        FileChannel channel = truncate
+                ? FileChannel.open(file, StandardOpenOption.WRITE,
+                                   StandardOpenOption.CREATE,
+                                   StandardOpenOption.TRUNCATE_EXISTING)
+                : FileChannel.open(file, StandardOpenOption.WRITE,
+                                   StandardOpenOption.CREATE_NEW);
+
+        return new BufferedWriter(Channels.newWriter(channel,
+                StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+    }
+
+
+    /**
+     * Writes one student's results in the same layout used by the 'view' command,
+     * minus the colors.
+     */
+    private void writeEntry(Writer out, Student student) throws IOException {
+        Feedback feedback = student.getFeedback();
+
+        if (feedback == null) {
+            out.write("Error scoring assignment from ");
+            out.write(student.getTrueName());
+            out.write('\n');
+            return;
+        }
+
+        if (this.gradesOnly) {
+            out.write(formatGrade(feedback.getGrade()));
+            out.write("\t\t");
+            out.write(student.getTrueName());
+            out.write('\n');
+            return;
+        }
+
+        out.write("Score for student ");
+        out.write(student.getTrueName());
+        out.write(": ");
+        out.write(formatGrade(feedback.getGrade()));
+        out.write('\n');
+
+        List<String> sources = feedback.getAllSources();
+        boolean showSources = this.sourceNames && sources.size() > 1;
+        String itemIndentation = showSources ? "       " : "    ";
+
+        for (String source : sources) {
+            List<String> notes = feedback.getNotes(source);
+            if (notes.isEmpty()) {
+                continue;
+            }
+
+            if (showSources) {
+                out.write("    From source ");
+                out.write(source);
+                out.write(":\n");
+            }
+
+            for (String note : notes) {
+                out.write(itemIndentation);
+                out.write(note);
+                out.write('\n');
+            }
+        }
+    }
+
+
+    /**
+     * Writes the header row of a CSV file. eLC matches rows to students by the
+     * OrgDefinedId column, and grades to the grade item named by the column heading;
+     * it expects the last column to be an end-of-line indicator containing a single
+     * '#'.
+     */
+    private void writeHeader(Writer out) throws IOException {
+        out.write("OrgDefinedId,Last Name,First Name,");
+        writeField(out, this.gradeItem + " Points Grade");
+        out.write(",Feedback,End-of-Line Indicator\n");
+    }
+
+
+    /**
+     * Writes one student's results as a CSV row.
+     */
+    private void writeRow(Writer out, Student student) throws IOException {
+        String name = student.getTrueName();
+        int split = name.lastIndexOf(' ');
+
+        writeField(out, identifierOf(student));
+        out.write(',');
+        writeField(out, split < 0 ? name : name.substring(split + 1));
+        out.write(',');
+        writeField(out, split < 0 ? "" : name.substring(0, split));
+        out.write(',');
+
+        Feedback feedback = student.getFeedback();
+        if (feedback != null) {
+            out.write(formatGrade(feedback.getGrade()));
+        }
+
+        out.write(',');
+
+        if (feedback != null && !this.gradesOnly) {
+            StringBuilder notes = new StringBuilder();
+            List<String> sources = feedback.getAllSources();
+
+            for (String source : sources) {
+                List<String> sourceNotes = feedback.getNotes(source);
+                if (sourceNotes.isEmpty()) {
+                    continue;
+                }
+
+                if (this.sourceNames && sources.size() > 1) {
+                    notes.append(source).append(":\n");
+                }
+
+                for (String note : sourceNotes) {
+                    notes.append(note).append('\n');
+                }
+            }
+
+            writeField(out, notes.toString().trim());
+        }
+
+        out.write(",#\n");
+    }
+
+
+    /**
+     * Writes a CSV field, quoting it if necessary.
+     */
+    private static void writeField(Writer out, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; ++i) {
+            char ch = value.charAt(i);
+            quote = (ch == ',' || ch == '"' || ch == '\n' || ch == '\r');
+        }
+
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+
+    /**
+     * Formats a grade without a trailing ".0" if it's a whole number.
+     */
+    private static String formatGrade(double grade) {
+        return grade == (long) grade ? Long.toString((long) grade)
+                                     : Double.toString(grade);
+    }
+
+
+    /**
+     * Finds a student's eLC ID, which is the second half of the identifier eLC puts at
+     * the start of the name of every file it downloads (e.g., "202" in "101-202 - Alan
+     * Turing - ...").
+     *
+     * @return (String) the ID, or an empty string if the student has no submissions.
+     */
+    private static String identifierOf(Student student) {
+        List<ELCSubmission> submissions = student.getSubmissions();
+        if (submissions.isEmpty()) {
+            return "";
+        }
+
+        String identifier = submissions.get(0).getIdentifier();
+        return identifier.substring(identifier.indexOf('-') + 1);
+    }
+
+
+    /**
+     * Turns a student's name into something safe to use as a file name.
+     */
+    private static String fileNameFor(Student student) {
+        return student.getTrueName().replaceAll("[^A-Za-z0-9#._-]+", "_");
+    }
+
+}
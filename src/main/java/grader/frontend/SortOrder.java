@@ -1,11 +1,12 @@
 package grader.frontend;
 
+import grader.AutoGrade;
+import grader.backend.GradeTable;
 import grader.backend.Student;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.Set;
 
 /*
  * @author  Sahir Shahryar <sahirshahryar@uga.edu>
@@ -30,52 +31,85 @@ public enum SortOrder {
         return this.description;
     }
 
+    /**
+     * Sorts the given students. Every student must have been enrolled through
+     * {@link AutoGrade#enroll(Student)}.
+     *
+     * @param input (Collection<Student>) the students to sort.
+     * @return (ArrayList<Student>) a new list containing the students in this order.
+     */
     public ArrayList<Student> sort(Collection<Student> input) {
-        ArrayList<Student> result = new ArrayList<>(input);
+        BitSet members = new BitSet();
 
-        result.sort((student1, student2) -> {
-            if (student1.equals(student2)) {
-                return 0;
-            }
+        for (Student student : input) {
+            members.set(student.getIndex());
+        }
 
-            switch (this) {
-                default:
-                case LAST_NAME_ASC:
-                    return student1.getLastName().compareTo(student2.getLastName());
+        return this.sort(members);
+    }
 
-                case LAST_NAME_DESC:
-                    return student2.getLastName().compareTo(student1.getLastName());
 
+    /**
+     * Lists the given students in this order. Rather than comparing students, this
+     * walks the permutation cached by the {@link GradeTable} and keeps the students
+     * whose bits are set.
+     *
+     * @param members (BitSet) the indices of the students to sort.
+     * @return (ArrayList<Student>) the students in this order.
+     */
+    public ArrayList<Student> sort(BitSet members) {
+        GradeTable table = AutoGrade.accessGradeTable();
+        ArrayList<Student> result = new ArrayList<>(members.cardinality());
 
-                case FIRST_NAME_ASC:
-                    return student1.getName().compareTo(student2.getName());
+        switch (this) {
+            default:
+            case LAST_NAME_ASC:
+                collect(table.byLastName(), false, members, result);
+                break;
+
+            case LAST_NAME_DESC:
+                collect(table.byLastName(), true, members, result);
+                break;
+
+            case FIRST_NAME_ASC:
+                collect(table.byFirstName(), false, members, result);
+                break;
+
+            case FIRST_NAME_DESC:
+                collect(table.byFirstName(), true, members, result);
+                break;
+
+            /**
+             * Students without a grade always come last, regardless of direction.
+             */
+            case GRADE_ASC:
+            case GRADE_DESC:
+                collect(table.byGrade(), this == GRADE_DESC, members, result);
+
+                BitSet ungraded = table.ungraded();
+                ungraded.and(members);
+
+                ArrayList<Student> roster = AutoGrade.accessRoster();
+                for (int i = ungraded.nextSetBit(0); i >= 0; i = ungraded.nextSetBit(i + 1)) {
+                    result.add(roster.get(i));
+                }
+        }
 
-                case FIRST_NAME_DESC:
-                    return student2.getName().compareTo(student1.getName());
+        return result;
+    }
 
-                case GRADE_ASC:
-                    if (student1.getFeedback() == null) {
-                        return student2.getFeedback() == null ? 0 : 1;
-                    } else if (student2.getFeedback() == null) {
-                        return -1;
-                    }
 
-                    return (int) (student1.getFeedback().getGrade()
-                            - student2.getFeedback().getGrade());
+    private static void collect(int[] permutation, boolean reverse, BitSet members,
+                                ArrayList<Student> result) {
+        ArrayList<Student> roster = AutoGrade.accessRoster();
 
-                case GRADE_DESC:
-                    if (student1.getFeedback() == null) {
-                        return student2.getFeedback() == null ? 0 : 1;
-                    } else if (student2.getFeedback() == null) {
-                        return -1;
-                    }
+        for (int i = 0; i < permutation.length; ++i) {
+            int index = permutation[reverse ? permutation.length - 1 - i : i];
 
-                    return (int) (student2.getFeedback().getGrade()
-                                      - student1.getFeedback().getGrade());
+            if (members.get(index)) {
+                result.add(roster.get(index));
             }
-        });
-
-        return result;
+        }
     }
 
     public SortOrder reverse() {
@@ -0,0 +1,112 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Manages the Flight Recorder recording started by the {@code --jfr} flag. The
+ * recording uses the JDK's "profile" settings, so AutoGrade's own events sit alongside
+ * GC, thread and allocation data, and it's written out when AutoGrade closes.
+ *
+ * Recordings started some other way (such as -XX:StartFlightRecording or JDK Mission
+ * Control) can pick up AutoGrade's events too; see the {@code --jfr-events} flag.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class FlightRecording {
+
+    /**
+     * The recording in progress, if any.
+     */
+    private static Recording recording = null;
+
+
+    /**
+     * Not instantiable.
+     */
+    private FlightRecording() { }
+
+
+    /**
+     * Starts recording.
+     *
+     * @param destination (Path) where to write the recording when it stops.
+     *
+     * @throws IOException thrown if the destination can't be written to, or if the
+     *                     JDK's settings can't be read.
+     */
+    public static synchronized void start(Path destination) throws IOException {
+        if (recording != null) {
+            return;
+        }
+
+        Configuration profile;
+        try {
+            profile = Configuration.getConfiguration("profile");
+        }
+
+        catch (final ParseException e) {
+            throw new IOException("Could not read the JDK's profiling settings", e);
+        }
+
+        Recording started = new Recording(profile);
+        started.setName("AutoGrade");
+        started.setToDisk(true);
+        started.setDestination(destination);
+        started.start();
+        recording = started;
+    }
+
+
+    /**
+     * Stops recording and writes the recording to its destination. Does nothing if
+     * nothing is being recorded.
+     *
+     * @return (Path) where the recording was written, or null if there wasn't one.
+     */
+    public static synchronized Path stop() {
+        if (recording == null) {
+            return null;
+        }
+
+        Path destination = recording.getDestination();
+        recording.stop();
+        recording.close();
+        recording = null;
+        return destination;
+    }
+
+}
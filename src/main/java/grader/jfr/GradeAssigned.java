@@ -0,0 +1,95 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.jfr;
+
+import grader.AutoGrade;
+import grader.backend.Student;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when {@link AutoGrade#grade(Student)} finishes with a student. The event's
+ * duration covers the grading script and every ancillary script.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@Name("autograde.GradeAssigned")
+@Label("Grade Assigned")
+@Category("AutoGrade")
+@Description("A student's submission finished grading")
+@StackTrace(false)
+public class GradeAssigned extends Event {
+
+    @Label("Student")
+    @Description("The student's name, or their roster number if names are censored")
+    public String student;
+
+    @Label("Grade")
+    public double grade;
+
+    @Label("Needs Manual Grading")
+    public boolean manual;
+
+
+    /**
+     * Begins timing a student's grading, if events are turned on.
+     *
+     * @return (GradeAssigned) the event, or null if events are turned off.
+     */
+    public static GradeAssigned start() {
+        if (!AutoGrade.JFR_EVENTS) {
+            return null;
+        }
+
+        GradeAssigned event = new GradeAssigned();
+        event.begin();
+        return event;
+    }
+
+
+    /**
+     * Fills in the event from the student's result and commits it.
+     *
+     * @param student (Student) the student who was just graded.
+     */
+    public void finish(Student student) {
+        this.student = AutoGrade.CENSOR ? "Student #" + (student.getIndex() + 1)
+                                        : student.getName();
+        this.grade = student.getFeedback() == null ? 0
+                                                   : student.getFeedback().getGrade();
+        this.manual = student.getError() != null;
+        this.commit();
+    }
+
+}
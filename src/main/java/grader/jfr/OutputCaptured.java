@@ -0,0 +1,78 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.jfr;
+
+import grader.AutoGrade;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Emitted when a {@link grader.stepthrough.CaptivePrintStream} stops collecting a
+ * program's output. Programs that print far more than expected show up here.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@Name("autograde.OutputCaptured")
+@Label("Output Captured")
+@Category("AutoGrade")
+@Description("A program's output was captured")
+@StackTrace(false)
+public class OutputCaptured extends Event {
+
+    @Label("Captured")
+    @DataAmount(DataAmount.BYTES)
+    public long bytes;
+
+
+    /**
+     * Emits the event, if events are turned on.
+     *
+     * @param output (String) everything that was captured.
+     */
+    public static void emit(String output) {
+        if (!AutoGrade.JFR_EVENTS) {
+            return;
+        }
+
+        OutputCaptured event = new OutputCaptured();
+        if (event.shouldCommit()) {
+            event.bytes = output.getBytes(StandardCharsets.UTF_8).length;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.jfr;
+
+import grader.AutoGrade;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted each time {@link grader.reflect.InternalCompiler} compiles a file. The
+ * event's duration covers javac and loading the resulting class.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+@Name("autograde.SubmissionCompiled")
+@Label("Submission Compiled")
+@Category("AutoGrade")
+@Description("A source file was compiled and loaded")
+@StackTrace(false)
+public class SubmissionCompiled extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Source Size")
+    @DataAmount(DataAmount.BYTES)
+    public long sourceBytes;
+
+    @Label("Bytecode Size")
+    @DataAmount(DataAmount.BYTES)
+    public long bytecodeBytes;
+
+    @Label("Class Count")
+    @Description("Classes produced, including nested and anonymous classes")
+    public int classCount;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+
+    /**
+     * Begins timing a compilation, if events are turned on.
+     *
+     * @return (SubmissionCompiled) the event, or null if events are turned off.
+     */
+    public static SubmissionCompiled start() {
+        if (!AutoGrade.JFR_EVENTS) {
+            return null;
+        }
+
+        SubmissionCompiled event = new SubmissionCompiled();
+        event.begin();
+        return event;
+    }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.metrics;
+
+import grader.AutoGrade;
+import grader.backend.TestRunner;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of what AutoGrade has done this session, for watching long runs from
+ * outside: over JMX (see {@link MetricsMXBean}) or through a Prometheus textfile (see
+ * {@link MetricsReporter}). Both are turned on by the {@code --metrics} and
+ * {@code --jmx} flags; until then, nothing is counted.
+ *
+ * Tests run on several threads at once, so every counter is a {@link LongAdder}.
+ * Counting never takes a lock, and threads counting at the same time don't contend
+ * over the same memory. Reading a total is slower, but that only happens when
+ * somebody asks.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class Metrics {
+
+    private static final LongAdder studentsGraded = new LongAdder();
+
+    private static final LongAdder studentsFailed = new LongAdder();
+
+    private static final LongAdder compileErrors = new LongAdder();
+
+    private static final LongAdder timeouts = new LongAdder();
+
+    private static final LongAdder capturedBytes = new LongAdder();
+
+    /**
+     * Exceptions thrown by students' code, by the exception's class name.
+     */
+    private static final ConcurrentHashMap<String, LongAdder> exceptions
+            = new ConcurrentHashMap<>();
+
+
+    /**
+     * Not instantiable.
+     */
+    private Metrics() { }
+
+
+    /**
+     * Counts a student whose grade was assigned automatically.
+     */
+    public static void studentGraded() {
+        if (AutoGrade.METRICS) {
+            studentsGraded.increment();
+        }
+    }
+
+
+    /**
+     * Counts a student who has to be graded by hand.
+     */
+    public static void studentFailed() {
+        if (AutoGrade.METRICS) {
+            studentsFailed.increment();
+        }
+    }
+
+
+    /**
+     * Counts a file that didn't compile.
+     */
+    public static void compileError() {
+        if (AutoGrade.METRICS) {
+            compileErrors.increment();
+        }
+    }
+
+
+    /**
+     * Counts a method or constructor that ran out of time.
+     */
+    public static void timeout() {
+        if (AutoGrade.METRICS) {
+            timeouts.increment();
+        }
+    }
+
+
+    /**
+     * Counts an exception thrown by a student's code.
+     *
+     * @param exception (Throwable) the exception. Null is counted as "unknown".
+     */
+    public static void exception(Throwable exception) {
+        if (AutoGrade.METRICS) {
+            String type = exception == null ? "unknown" : exception.getClass().getName();
+            exceptions.computeIfAbsent(type, key -> new LongAdder()).increment();
+        }
+    }
+
+
+    /**
+     * Counts a program's captured output.
+     *
+     * @param output (String) everything that was captured.
+     */
+    public static void captured(String output) {
+        if (AutoGrade.METRICS) {
+            capturedBytes.add(utf8Length(output));
+        }
+    }
+
+
+    public static long getStudentsGraded() {
+        return studentsGraded.sum();
+    }
+
+
+    public static long getStudentsFailed() {
+        return studentsFailed.sum();
+    }
+
+
+    public static long getCompileErrors() {
+        return compileErrors.sum();
+    }
+
+
+    public static long getTimeouts() {
+        return timeouts.sum();
+    }
+
+
+    public static long getCapturedBytes() {
+        return capturedBytes.sum();
+    }
+
+
+    /**
+     * @return (Map<String, Long>) how many times each type of exception was thrown,
+     *         sorted by type.
+     */
+    public static Map<String, Long> getExceptions() {
+        TreeMap<String, Long> totals = new TreeMap<>();
+        exceptions.forEach((type, count) -> totals.put(type, count.sum()));
+        return totals;
+    }
+
+
+    /**
+     * Formats every metric in Prometheus's text exposition format.
+     *
+     * @return (String) the metrics, ending with a newline.
+     */
+    public static String toPrometheus() {
+        StringBuilder text = new StringBuilder();
+
+        counter(text, "students_graded", "Students graded automatically",
+                getStudentsGraded());
+        counter(text, "students_failed", "Students who have to be graded by hand",
+                getStudentsFailed());
+        counter(text, "compile_errors", "Files that failed to compile",
+                getCompileErrors());
+        counter(text, "timeouts", "Methods and constructors that ran out of time",
+                getTimeouts());
+        counter(text, "captured_output_bytes", "Bytes of program output captured",
+                getCapturedBytes());
+
+        text.append("# HELP autograde_exceptions_total Exceptions thrown by students' "
+                    + "code\n")
+            .append("# TYPE autograde_exceptions_total counter\n");
+        for (Map.Entry<String, Long> entry : getExceptions().entrySet()) {
+            text.append("autograde_exceptions_total{type=\"")
+                .append(escape(entry.getKey())).append("\"} ")
+                .append(entry.getValue()).append('\n');
+        }
+
+        gauge(text, "queue_depth", "Tests waiting for a worker",
+              TestRunner.getQueueDepth());
+        gauge(text, "active_workers", "Workers running a test",
+              TestRunner.getActiveWorkers());
+
+        return text.toString();
+    }
+
+
+    private static void counter(StringBuilder text, String name, String help,
+                                long value) {
+        String metric = "autograde_" + name + "_total";
+        text.append("# HELP ").append(metric).append(' ').append(help).append('\n')
+            .append("# TYPE ").append(metric).append(" counter\n")
+            .append(metric).append(' ').append(value).append('\n');
+    }
+
+
+    private static void gauge(StringBuilder text, String name, String help,
+                              long value) {
+        String metric = "autograde_" + name;
+        text.append("# HELP ").append(metric).append(' ').append(help).append('\n')
+            .append("# TYPE ").append(metric).append(" gauge\n")
+            .append(metric).append(' ').append(value).append('\n');
+    }
+
+
+    /**
+     * Escapes a label value, as Prometheus requires.
+     */
+    static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                    .replace("\"", "\\\"")
+                    .replace("\n", "\\n");
+    }
+
+
+    /**
+     * Measures a string's UTF-8 encoding without encoding it.
+     */
+    static long utf8Length(String text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                       && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                ++i;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.metrics;
+
+import java.util.Map;
+
+/**
+ * AutoGrade's {@link Metrics}, as seen over JMX (for example, from JConsole or
+ * VisualVM). It's registered as {@value MetricsReporter#OBJECT_NAME} by the
+ * {@code --jmx} flag.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public interface MetricsMXBean {
+
+    long getStudentsGraded();
+
+    long getStudentsFailed();
+
+    long getCompileErrors();
+
+    long getTimeouts();
+
+    long getCapturedBytes();
+
+    /**
+     * @return (Map<String, Long>) how many times each type of exception was thrown by
+     *         students' code.
+     */
+    Map<String, Long> getExceptions();
+
+    /**
+     * @return (int) how many tests are waiting for a worker.
+     */
+    int getQueueDepth();
+
+    /**
+     * @return (int) how many workers are running a test.
+     */
+    int getActiveWorkers();
+
+}
@@ -0,0 +1,227 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.metrics;
+
+import grader.backend.TestRunner;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes AutoGrade's {@link Metrics}: over JMX with the {@code --jmx} flag, and to a
+ * file for Prometheus's node_exporter textfile collector with
+ * {@code --metrics <file.prom>}. The file is rewritten every
+ * {@value #INTERVAL_SECONDS} seconds, and once more when AutoGrade closes.
+ *
+ * The collector may read the file at any moment, so it's never written in place: a
+ * temporary file is written next to it and then moved over it.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public final class MetricsReporter {
+
+    public static final String OBJECT_NAME = "grader:type=Metrics";
+
+    public static final int INTERVAL_SECONDS = 10;
+
+    /**
+     * Where the textfile goes, if anywhere.
+     */
+    private static Path textfile = null;
+
+    private static ScheduledExecutorService writer = null;
+
+    /**
+     * The last error from writing the textfile, so that it's only reported once.
+     */
+    private static String lastFailure = null;
+
+
+    /**
+     * Not instantiable.
+     */
+    private MetricsReporter() { }
+
+
+    /**
+     * Registers the metrics with the platform MBean server. Does nothing if they're
+     * already registered.
+     *
+     * @throws JMException thrown if they can't be registered.
+     */
+    public static synchronized void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+
+        if (!server.isRegistered(name)) {
+            server.registerMBean(new Bean(), name);
+        }
+    }
+
+
+    /**
+     * Starts writing the metrics to a file periodically.
+     *
+     * @param destination (Path) the file.
+     *
+     * @throws IOException thrown if the file can't be written the first time.
+     */
+    public static synchronized void startTextfile(Path destination) throws IOException {
+        if (writer != null) {
+            return;
+        }
+
+        textfile = destination.toAbsolutePath();
+        write(textfile);
+
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AutoGrade-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        writer.scheduleWithFixedDelay(MetricsReporter::writeQuietly, INTERVAL_SECONDS,
+                                      INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+
+    /**
+     * Stops writing the metrics periodically and writes them one last time. Does
+     * nothing if they weren't being written.
+     *
+     * @return (Path) where the metrics were written, or null if they weren't.
+     */
+    public static synchronized Path stopTextfile() {
+        if (writer == null) {
+            return null;
+        }
+
+        writer.shutdownNow();
+        writer = null;
+        writeQuietly();
+
+        Path destination = textfile;
+        textfile = null;
+        return destination;
+    }
+
+
+    private static synchronized void writeQuietly() {
+        if (textfile == null) {
+            return;
+        }
+
+        try {
+            write(textfile);
+            lastFailure = null;
+        }
+
+        catch (final IOException e) {
+            if (!String.valueOf(e.getMessage()).equals(lastFailure)) {
+                lastFailure = String.valueOf(e.getMessage());
+                System.err.println("Could not write metrics to " + textfile + ": "
+                                   + lastFailure);
+            }
+        }
+    }
+
+
+    private static void write(Path destination) throws IOException {
+        Path temporary = destination.resolveSibling(destination.getFileName() + ".tmp");
+        Files.write(temporary, Metrics.toPrometheus().getBytes(StandardCharsets.UTF_8));
+
+        try {
+            Files.move(temporary, destination, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temporary, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+
+    /**
+     * What JMX sees.
+     */
+    private static final class Bean implements MetricsMXBean {
+
+        @Override
+        public long getStudentsGraded() {
+            return Metrics.getStudentsGraded();
+        }
+
+        @Override
+        public long getStudentsFailed() {
+            return Metrics.getStudentsFailed();
+        }
+
+        @Override
+        public long getCompileErrors() {
+            return Metrics.getCompileErrors();
+        }
+
+        @Override
+        public long getTimeouts() {
+            return Metrics.getTimeouts();
+        }
+
+        @Override
+        public long getCapturedBytes() {
+            return Metrics.getCapturedBytes();
+        }
+
+        @Override
+        public Map<String, Long> getExceptions() {
+            return Metrics.getExceptions();
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return TestRunner.getQueueDepth();
+        }
+
+        @Override
+        public int getActiveWorkers() {
+            return TestRunner.getActiveWorkers();
+        }
+    }
+
+}
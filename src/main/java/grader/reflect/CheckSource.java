@@ -0,0 +1,347 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package grader.reflect;
+
+import grader.backend.ManualGradingError;
+import grader.backend.TestCase;
+import grader.backend.TestContext;
+import grader.util.Helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Identifies the code of a {@link TestCase.Check}, so that a remembered outcome can be
+ * reused until that check (rather than anything else in its script) is edited.
+ *
+ * A check's code is found in the class it was compiled into: for a lambda or a method
+ * reference, the method it refers to; for anything else, its passes() method. The line
+ * numbers javac recorded for that method pick out the check's lines in the script, as
+ * it was when it was loaded, and it's those lines that are hashed. Editing, adding or
+ * moving other tests leaves the hash alone.
+ *
+ * Code the check calls elsewhere isn't covered; see {@link TestCase#revision(int)}.
+ * A check whose lines can't be found (because its script wasn't registered, say) is
+ * identified by the bytecode of the whole class it was written in instead.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class CheckSource {
+
+    /**
+     * The source of each registered script, as it was compiled.
+     */
+    private static final ConcurrentHashMap<Class<?>, List<String>> sources
+            = new ConcurrentHashMap<>();
+
+    /**
+     * The hash of each kind of check seen so far. Every check written as the same
+     * lambda (or the same class) has the same code, whatever it captured.
+     */
+    private static final ConcurrentHashMap<Class<?>, byte[]> hashes
+            = new ConcurrentHashMap<>();
+
+    private static final String PASSES_DESCRIPTOR
+            = "(L" + TestContext.class.getName().replace('.', '/') + ";)Z";
+
+
+    private CheckSource() {
+    }
+
+
+    /**
+     * Remembers the source a script was compiled from, so that the lines of the checks
+     * written in it can be found.
+     *
+     * @param script (Class<?>) the loaded script.
+     * @param file   (File) the file it came from. Nothing is remembered unless it's a
+     *               .java file.
+     */
+    public static void register(Class<?> script, File file) {
+        if (file == null || !file.isFile() || !file.getName().endsWith(".java")) {
+            return;
+        }
+
+        try {
+            /**
+             * Read the same way InternalCompiler reads it, so the line numbers agree.
+             */
+            sources.put(script, SourceUtilities.getLines(file, true));
+        }
+
+        catch (final ManualGradingError e) {
+            // Settle for hashing the script's bytecode.
+        }
+    }
+
+
+    /**
+     * Forgets every registered script and every hash worked out from them.
+     */
+    public static void forget() {
+        sources.clear();
+        hashes.clear();
+    }
+
+
+    /**
+     * Identifies the code of a check.
+     *
+     * @param check (TestCase.Check) the check; may be null.
+     * @return (byte[]) the 32-byte hash of its code.
+     */
+    public static byte[] hash(TestCase.Check check) {
+        if (check == null) {
+            return Helper.sha256();
+        }
+
+        return hashes.computeIfAbsent(check.getClass(), type -> hashOf(check));
+    }
+
+
+    private static byte[] hashOf(TestCase.Check check) {
+        String[] method = implementation(check);
+        Class<?> owner;
+
+        try {
+            owner = Class.forName(method[0], false, check.getClass().getClassLoader());
+        }
+
+        catch (final ClassNotFoundException | LinkageError e) {
+            return Helper.sha256(method[0].getBytes(StandardCharsets.UTF_8));
+        }
+
+        Class<?> script = owner;
+        while (script.getEnclosingClass() != null) {
+            script = script.getEnclosingClass();
+        }
+
+        List<String> source = sources.get(script);
+        byte[] code = bytecode(owner);
+
+        if (source != null && code != null) {
+            int[] lines = lineRange(code, method[1], method[2]);
+
+            if (lines != null && lines[1] <= source.size()) {
+                String region = String.join("\n", source.subList(lines[0] - 1,
+                                                                 lines[1]));
+                return Helper.sha256(region.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        byte[] whole = bytecode(script);
+        return Helper.sha256(whole != null
+                             ? whole
+                             : script.getName().getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Works out which method holds a check's code.
+     *
+     * @return (String[]) the binary name of the class it's in, its name, and its
+     *         descriptor.
+     */
+    private static String[] implementation(TestCase.Check check) {
+        Class<?> type = check.getClass();
+
+        /**
+         * Checks are Serializable so that a lambda will describe itself like this.
+         * Nothing is actually serialized; the captured values never leave the lambda.
+         */
+        if (type.isSynthetic()) {
+            try {
+                Method writeReplace = type.getDeclaredMethod("writeReplace");
+                writeReplace.setAccessible(true);
+
+                Object replacement = writeReplace.invoke(check);
+                if (replacement instanceof SerializedLambda) {
+                    SerializedLambda lambda = (SerializedLambda) replacement;
+                    return new String[] { lambda.getImplClass().replace('/', '.'),
+                                          lambda.getImplMethodName(),
+                                          lambda.getImplMethodSignature() };
+                }
+            }
+
+            catch (final ReflectiveOperationException | RuntimeException e) {
+                // Not a lambda after all; treat it like any other class.
+            }
+        }
+
+        return new String[] { type.getName(), "passes", PASSES_DESCRIPTOR };
+    }
+
+
+    /**
+     * Finds the bytecode of a class, whether it was compiled internally or loaded from
+     * the classpath.
+     *
+     * @return (byte[]) the class file, or null if it can't be found.
+     */
+    private static byte[] bytecode(Class<?> clazz) {
+        if (clazz.getClassLoader() instanceof InternalClassLoader) {
+            byte[] code = ((InternalClassLoader) clazz.getClassLoader())
+                    .getBytecode(clazz.getName());
+
+            if (code != null) {
+                return code;
+            }
+        }
+
+        String resource = "/" + clazz.getName().replace('.', '/') + ".class";
+        try (InputStream code = clazz.getResourceAsStream(resource)) {
+            return code == null ? null : code.readAllBytes();
+        }
+
+        catch (final IOException e) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Reads the first and last line numbers javac recorded for a method, from its
+     * LineNumberTable. See chapter 4 of the JVM specification for the layout.
+     *
+     * @param classFile  (byte[]) the class file the method is in.
+     * @param name       (String) the method's name.
+     * @param descriptor (String) the method's descriptor.
+     *
+     * @return (int[]) the first and last lines; or null, if the method or its line
+     *         numbers can't be found.
+     */
+    private static int[] lineRange(byte[] classFile, String name, String descriptor) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(classFile))) {
+            in.skipBytes(8);
+
+            int poolSize = in.readUnsignedShort();
+            String[] utf8 = new String[poolSize];
+
+            for (int i = 1; i < poolSize; i++) {
+                int tag = in.readUnsignedByte();
+
+                switch (tag) {
+                    case 1:  utf8[i] = in.readUTF(); break;
+                    case 7: case 8: case 16: case 19: case 20: in.skipBytes(2); break;
+                    case 15: in.skipBytes(3); break;
+                    case 5: case 6: in.skipBytes(8); i++; break;
+                    default: in.skipBytes(4); break;
+                }
+            }
+
+            in.skipBytes(6);
+            in.skipBytes(2 * in.readUnsignedShort());
+
+            /**
+             * Skip the fields; they're laid out just like the methods.
+             */
+            int fields = in.readUnsignedShort();
+            for (int i = 0; i < fields; i++) {
+                in.skipBytes(6);
+                skipAttributes(in);
+            }
+
+            int methods = in.readUnsignedShort();
+            for (int i = 0; i < methods; i++) {
+                in.skipBytes(2);
+                String methodName = utf8[in.readUnsignedShort()];
+                String methodDescriptor = utf8[in.readUnsignedShort()];
+
+                if (!name.equals(methodName) || !descriptor.equals(methodDescriptor)) {
+                    skipAttributes(in);
+                    continue;
+                }
+
+                int first = Integer.MAX_VALUE, last = 0;
+
+                int attributes = in.readUnsignedShort();
+                for (int j = 0; j < attributes; j++) {
+                    String attribute = utf8[in.readUnsignedShort()];
+                    int length = in.readInt();
+
+                    if (!"Code".equals(attribute)) {
+                        in.skipBytes(length);
+                        continue;
+                    }
+
+                    in.skipBytes(4);
+                    in.skipBytes(in.readInt());
+                    in.skipBytes(8 * in.readUnsignedShort());
+
+                    int codeAttributes = in.readUnsignedShort();
+                    for (int k = 0; k < codeAttributes; k++) {
+                        String codeAttribute = utf8[in.readUnsignedShort()];
+                        int codeLength = in.readInt();
+
+                        if (!"LineNumberTable".equals(codeAttribute)) {
+                            in.skipBytes(codeLength);
+                            continue;
+                        }
+
+                        int entries = in.readUnsignedShort();
+                        for (int e = 0; e < entries; e++) {
+                            in.skipBytes(2);
+                            int line = in.readUnsignedShort();
+                            first = Math.min(first, line);
+                            last = Math.max(last, line);
+                        }
+                    }
+                }
+
+                return last == 0 ? null : new int[] { first, last };
+            }
+
+            return null;
+        }
+
+        catch (final IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int attributes = in.readUnsignedShort();
+        for (int i = 0; i < attributes; i++) {
+            in.skipBytes(2);
+            in.skipBytes(in.readInt());
+        }
+    }
+
+}
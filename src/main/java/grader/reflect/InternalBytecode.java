@@ -44,19 +44,30 @@ public class InternalBytecode
     private final String name;
     private final ByteArrayOutputStream contents;
 
+    /**
+     * A copy of the contents, kept so that classes can be re-defined from the same
+     * bytecode again and again without copying it each time.
+     */
+    private byte[] bytes;
+
 
     public InternalBytecode(String filename) throws URISyntaxException {
         super(new URI(filename), Kind.CLASS);
         this.name = filename;
         this.contents = new ByteArrayOutputStream();
+        this.bytes = null;
     }
 
     public String getName() {
         return this.name;
     }
 
-    public byte[] getBytes() {
-        return this.contents.toByteArray();
+    public synchronized byte[] getBytes() {
+        if (this.bytes == null || this.bytes.length != this.contents.size()) {
+            this.bytes = this.contents.toByteArray();
+        }
+
+        return this.bytes;
     }
 
     @Override
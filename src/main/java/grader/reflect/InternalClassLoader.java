@@ -27,6 +27,8 @@
  */
 package grader.reflect;
 
+import grader.backend.Timings;
+
 import java.util.HashMap;
 
 /**
@@ -38,9 +40,18 @@ import java.util.HashMap;
  * ClassLoader extension does so automatically -- for classes compiled by
  * InternalCompiler.
  *
+ * The pun is back, sort of: a loader can be {@link #fork()}ed into a throwaway copy that
+ * defines the same classes again from their cached bytecode. The copies have their own
+ * static fields, so a test can start from freshly initialized statics in microseconds
+ * instead of recompiling the submission.
+ *
  * @author  Sahir Shahryar
  * @since   Saturday, April 28, 2018
- * @version 2.0.0
+ * @version 2.1.0
+ *          Loaded classes are cached, so asking for a class twice no longer tries to
+ *          define it twice. Added fork() and freshCopy().
+ *
+ *          2.0.0
  *          RefreshingClassLoader -> InternalClassLoader
  *          No longer judges based on a specific package, but rather checks if a class
  *          is contained within the internal map of classes.
@@ -62,21 +73,101 @@ public class InternalClassLoader extends ClassLoader {
     }
 
 
+    /**
+     * Initializes a fork of the given loader, which knows about the same bytecode.
+     */
+    private InternalClassLoader(InternalClassLoader original) {
+        super(original.getParent());
+
+        synchronized (original) {
+            this.internalClasses = new HashMap<>(original.internalClasses);
+        }
+    }
+
+
     /**
      *
      *
      * @param name
      * @param bytecode
      */
-    public void addClass(String name, InternalBytecode bytecode) {
-        this.allLoadedClasses();
+    public synchronized void addClass(String name, InternalBytecode bytecode) {
         this.internalClasses.put(name, bytecode);
     }
 
 
-    public void allLoadedClasses() {
-        for (String name : this.internalClasses.keySet()) {
-            System.out.println("class " + name);
+    /**
+     * Returns how many classes this loader knows the bytecode for.
+     *
+     * @return (int) the number of classes.
+     */
+    public synchronized int getClassCount() {
+        return this.internalClasses.size();
+    }
+
+
+    /**
+     * Returns the total size of the bytecode this loader knows about.
+     *
+     * @return (long) the size, in bytes.
+     */
+    public synchronized long getBytecodeSize() {
+        long size = 0;
+        for (InternalBytecode bytecode : this.internalClasses.values()) {
+            size += bytecode.getBytes().length;
+        }
+
+        return size;
+    }
+
+
+    /**
+     * Returns the bytecode this loader would define a class from.
+     *
+     * @param name (String) the binary name of the class.
+     * @return (byte[]) the bytecode; or null, if this loader doesn't know the class.
+     */
+    public synchronized byte[] getBytecode(String name) {
+        InternalBytecode bytecode = this.internalClasses.get(name);
+        return bytecode == null ? null : bytecode.getBytes().clone();
+    }
+
+
+    /**
+     * Creates a throwaway loader that defines all of this loader's classes again, from
+     * the same bytecode. Classes loaded through it are distinct from (and don't share
+     * static fields with) the ones loaded through this loader.
+     *
+     * @return (InternalClassLoader) the fork.
+     */
+    public InternalClassLoader fork() {
+        return new InternalClassLoader(this);
+    }
+
+
+    /**
+     * Returns a copy of the given class with freshly initialized static fields, if it
+     * was compiled by {@link InternalCompiler}. Classes it refers to are copied along
+     * with it.
+     *
+     * @param clazz (Class<?>) the class to copy.
+     * @return (Class<?>) the copy; or the class itself, if it wasn't compiled
+     *         internally.
+     */
+    public static Class<?> freshCopy(Class<?> clazz) {
+        if (!(clazz.getClassLoader() instanceof InternalClassLoader)) {
+            return clazz;
+        }
+
+        InternalClassLoader loader = (InternalClassLoader) clazz.getClassLoader();
+
+        long start = Timings.start();
+        try {
+            return loader.fork().loadClass(clazz.getName());
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalStateException("Could not reload " + clazz.getName(), e);
+        } finally {
+            Timings.record(Timings.Phase.CLASS_LOADING, start);
         }
     }
 
@@ -93,21 +184,29 @@ public class InternalClassLoader extends ClassLoader {
     @Override
     protected Class<?> loadClass(String name, boolean resolve)
             throws ClassNotFoundException {
-        if (!internalClasses.containsKey(name)) {
+        InternalBytecode bytecode;
+        synchronized (this) {
+            bytecode = this.internalClasses.get(name);
+        }
+
+        if (bytecode == null) {
             return super.loadClass(name, resolve);
         }
 
-        InternalBytecode bytecode = internalClasses.get(name);
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> clazz = findLoadedClass(name);
 
-        byte[] data = bytecode.getBytes();
+            if (clazz == null) {
+                byte[] data = bytecode.getBytes();
+                clazz = defineClass(name, data, 0, data.length);
+            }
 
-        Class clazz = defineClass(name, data, 0, data.length);
+            if (resolve) {
+                super.resolveClass(clazz);
+            }
 
-        if (resolve) {
-            super.resolveClass(clazz);
+            return clazz;
         }
-
-        return clazz;
     }
 
 }
@@ -28,12 +28,14 @@
 package grader.reflect;
 
 import grader.backend.ManualGradingError;
+import grader.backend.Timings;
+import grader.jfr.SubmissionCompiled;
+import grader.metrics.Metrics;
+import grader.util.Helper;
 
 import javax.tools.JavaCompiler;
 import javax.tools.ToolProvider;
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 
@@ -55,36 +57,33 @@ import static javax.tools.JavaCompiler.CompilationTask;
  */
 public class InternalCompiler {
 
-    private static InternalClassLoader classLoader = new InternalClassLoader();
-
+    /**
+     * Compiles a .java file and loads the class it declares. Each call gets a class
+     * loader of its own, which the returned class keeps alive; nothing is shared
+     * between calls, so submissions can be compiled from several threads at once.
+     */
     public static Class<?> compile(File file, String... javacArgs)
             throws ManualGradingError {
+        long start = Timings.start();
+        SubmissionCompiled event = SubmissionCompiled.start();
+        InternalClassLoader classLoader = new InternalClassLoader();
         try {
             if (!file.getName().endsWith(".java")) {
                 throw new RuntimeException("Attempted to compile some non-.java file!");
             }
 
-
-        classLoader = new InternalClassLoader();
-
-        String[] oldNameElements = file.getName().split("/");
-        String oldName = oldNameElements[oldNameElements.length - 1];
-
-        String newName = SourceUtilities.determineCorrectClassName(file) + ".java";
-
-        File newFile = new File(file.getAbsoluteFile().getParent()
-                + "/" + newName);
-
-        boolean deletionRequired = !oldName.equals(newName);
-
-        if (deletionRequired && newFile.exists()) {
-            newFile.delete();
-        }
-
-        try {
-            Files.copy(file.toPath(), newFile.toPath());
-        } catch (final IOException e) {
-            //
+        /**
+         * The source is compiled straight out of memory under its correct class name,
+         * so nothing needs to be copied or renamed on disk first. This is also what
+         * lets submissions be compiled straight out of an archive.
+         */
+        String className = SourceUtilities.determineCorrectClassName(file);
+        String code = Helper.join("\n", SourceUtilities.getLines(file, true));
+        InternalSource source = new InternalSource(className, code);
+
+        if (event != null) {
+            event.file = file.getName();
+            event.sourceBytes = code.length();
         }
 
         JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
@@ -101,28 +100,33 @@ public class InternalCompiler {
         }
 
         ArrayList<InternalSource> sources = new ArrayList<>();
-        sources.add(new InternalSource(newFile));
+        sources.add(source);
 
         CompilationTask compile = javac.getTask(null, manager, null,
                 argsList, null, sources);
 
 
-        if (!compile.call()) {
-            if (deletionRequired) {
-                newFile.delete();
-            }
+        boolean compiled = compile.call();
+        Timings.record(Timings.Phase.COMPILATION, start);
 
+        if (!compiled) {
+            Metrics.compileError();
             throw new ManualGradingError("Unable to compile class " + file.getName());
         }
 
-        if (deletionRequired) {
-            newFile.delete();
-        }
-
+        start = Timings.start();
         try {
-            return classLoader.loadClass(sources.get(0).getFullName(), true);
+            Class<?> loaded = classLoader.loadClass(sources.get(0).getFullName(), true);
+
+            if (event != null) {
+                event.succeeded = true;
+            }
+
+            return loaded;
         } catch (final ClassNotFoundException e) {
             throw new ManualGradingError("Unable to load class " + file.getName());
+        } finally {
+            Timings.record(Timings.Phase.CLASS_LOADING, start);
         }
 
         }
@@ -134,6 +138,14 @@ public class InternalCompiler {
         catch (final Throwable t) {
             throw new ManualGradingError("Unable to compile class " + file.getName());
         }
+
+        finally {
+            if (event != null) {
+                event.classCount = classLoader.getClassCount();
+                event.bytecodeBytes = classLoader.getBytecodeSize();
+                event.commit();
+            }
+        }
     }
 
 
@@ -34,7 +34,7 @@ import grader.util.Helper;
 import javax.tools.SimpleJavaFileObject;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.net.URI;
 
 /**
  * @author  Sahir Shahryar
@@ -48,12 +48,24 @@ public class InternalSource
     private String name;
 
     public InternalSource(File file) throws ManualGradingError {
-        super(file.toURI(), Kind.SOURCE);
-        
-        this.name = ReflectionAssistant.determineCorrectClassName(file);
+        this(ReflectionAssistant.determineCorrectClassName(file),
+             Helper.join("\n", SourceUtilities.getLines(file, true)));
+    }
+
+
+    /**
+     * Creates a source that exists only in memory. The URI it reports is named after
+     * the class, so javac never needs the source to be in a correctly named file.
+     *
+     * @param name    (String) the name of the class.
+     * @param content (String) the class's source code.
+     */
+    public InternalSource(String name, String content) {
+        super(URI.create("string:///" + name.replace('.', '/')
+                         + Kind.SOURCE.extension), Kind.SOURCE);
 
-        ArrayList<String> lines = SourceUtilities.getLines(file, true);
-        this.content = Helper.join("\n", lines);
+        this.name = name;
+        this.content = content;
     }
 
 
@@ -29,6 +29,10 @@ package grader.reflect;
 
 import grader.AutoGrade;
 import grader.backend.ManualGradingError;
+import grader.backend.Timings;
+import grader.jfr.TestInvoked;
+import grader.jfr.TestTimedOut;
+import grader.metrics.Metrics;
 
 import java.io.*;
 import java.lang.reflect.*;
@@ -101,7 +105,8 @@ public final class ReflectionAssistant {
         // TODO: Rewrite using SourceUtilities#getLines() method.
         if (editPackage) {
             try {
-                BufferedReader stream = new BufferedReader(new FileReader(file));
+                BufferedReader stream
+                        = new BufferedReader(SourceUtilities.openReader(file));
 
                 String fileContents = "";
                 String line;
@@ -330,6 +335,7 @@ public final class ReflectionAssistant {
     private static <C> C constructObject(int timeout, Class<C> clazz, Object... args)
             throws IllegalArgumentException, InvocationTargetException, TimeoutException {
 
+        long start = Timings.start();
         Constructor<C> constructorRef = null;
         try {
             Class[] paramTypes = new Class[args.length];
@@ -382,6 +388,16 @@ public final class ReflectionAssistant {
                     " was interrupted internally");
         }
 
+        catch (final TimeoutException e) {
+            TestTimedOut.emit(clazz, "<init>", timeout);
+            Metrics.timeout();
+            throw e;
+        }
+
+        finally {
+            Timings.record(Timings.Phase.CONSTRUCTION, start);
+        }
+
     }
 
 
@@ -452,6 +468,9 @@ public final class ReflectionAssistant {
                                       Class<R> returnType, String name, Object... args)
             throws IllegalArgumentException, InvocationTargetException, TimeoutException {
 
+        long start = Timings.start();
+        TestInvoked event = TestInvoked.start();
+        String outcome = "missing";
         Method methodRef = null;
         boolean isStatic = false;
         try {
@@ -477,22 +496,26 @@ public final class ReflectionAssistant {
                 method.setAccessible(true);
             }
 
+            R returnValue;
             if (timeout == -1) {
                 @SuppressWarnings("unchecked")
-                R returnValue = (R) method.invoke(object, args);
+                R result = (R) method.invoke(object, args);
 
-                return returnValue;
+                returnValue = result;
             } else {
                 /**
                  * Unfortunately no lambda expression allowed here :(
                  */
-                return executeReturningThread(new ReturningThread<R>() {
+                returnValue = executeReturningThread(new ReturningThread<R>() {
                     @SuppressWarnings("unchecked")
                     public void runInternal() throws Throwable {
                         value = (R) method.invoke(object, args);
                     }
                 }, timeout);
             }
+
+            outcome = "returned";
+            return returnValue;
         }
 
         catch (final NoSuchMethodException e) {
@@ -502,16 +525,44 @@ public final class ReflectionAssistant {
         }
 
         catch (final SecurityException | IllegalAccessException e) {
+            outcome = "inaccessible";
             throw new IllegalArgumentException("The method " +
                     generateMethodSignature(clazz, name, isStatic, args)
                     + " is " + determineAccess(methodRef.getModifiers()));
         }
 
         catch (final InterruptedException e) {
+            outcome = "interrupted";
             throw new TimeoutException("Execution of the method " +
                     generateMethodSignature(clazz, name, isStatic, args)
                     + " was interrupted internally");
         }
+
+        catch (final InvocationTargetException e) {
+            Throwable cause = getTrueException(e);
+            outcome = cause == null ? "threw an exception"
+                                    : "threw " + cause.getClass().getSimpleName();
+            Metrics.exception(cause);
+            throw e;
+        }
+
+        catch (final TimeoutException e) {
+            outcome = "timed out";
+            TestTimedOut.emit(clazz, name, timeout);
+            Metrics.timeout();
+            throw e;
+        }
+
+        finally {
+            Timings.record(Timings.Phase.TEST_METHOD, start);
+
+            if (event != null) {
+                event.className = clazz.getName();
+                event.method = name;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
     }
 
 
@@ -622,12 +673,14 @@ public final class ReflectionAssistant {
      */
     private static <R> R executeReturningThread(ReturningThread<R> runnable, int timeout)
             throws InterruptedException, TimeoutException, InvocationTargetException {
+        long start = Timings.start();
         Thread thread = new Thread(runnable);
         thread.start();
         thread.join(timeout * 1000L);
 
         if (thread.isAlive()) {
             thread.interrupt();
+            Timings.record(Timings.Phase.TIMEOUT, start);
             throw new TimeoutException();
         }
 
@@ -27,6 +27,7 @@
 package grader.reflect;
 
 import grader.backend.Feedback;
+import grader.backend.Oracle;
 import grader.util.Helper;
 import grader.backend.ManualGradingError;
 
@@ -188,8 +189,12 @@ public class ScriptStaples {
                 }
             }
 
-            else {
+            else if (!expectedReturnValue.equals(actualReturnValue)) {
+                feedbackMessage = feedbackMessage.replace("%ERROR%",
+                        "expected = " + expectedReturnValue + ", actual = "
+                        + actualReturnValue);
 
+                feedback.deductPoints(penalty, feedbackMessage);
             }
         }
 
@@ -214,5 +219,39 @@ public class ScriptStaples {
     }
 
 
+    /**
+     * Like {@link #compareValues(Feedback, float, String, Object, Class, Object, String,
+     * Object...)}, but the expected value comes from a reference solution. The reference
+     * solution only runs the first time it sees a given set of parameters; every other
+     * student's submission is compared against the remembered answer.
+     *
+     * @param feedback
+     * @param penalty
+     * @param feedbackMessage
+     * @param oracle
+     * @param clazz
+     * @param objectInstance
+     * @param method
+     * @param params
+     * @param <C>
+     * @throws ManualGradingError
+     */
+    public static <C> void compareValues(Feedback feedback, float penalty,
+                                         String feedbackMessage, Oracle oracle,
+                                         Class<C> clazz, Object objectInstance,
+                                         String method, Object... params)
+            throws ManualGradingError {
+        Object expected = oracle.expect(params);
+
+        if (expected == null) {
+            throw new ManualGradingError("The reference solution " + oracle.getName()
+                    + " returned null, which can't be compared");
+        }
+
+        compareValues(feedback, penalty, feedbackMessage, expected, clazz,
+                      objectInstance, method, params);
+    }
+
+
 
 }
@@ -28,10 +28,15 @@
 package grader.reflect;
 
 import grader.AutoGrade;
+import grader.backend.ArchivedFile;
 import grader.backend.ManualGradingError;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 
 /**
  * @author  Sahir Shahryar
@@ -72,6 +77,10 @@ public class SourceUtilities {
     };
 
 
+    private static final HashSet<String> KEYWORDS
+            = new HashSet<>(Arrays.asList(JAVA_KEYWORDS));
+
+
     /**
      *
      * @param line
@@ -173,12 +182,29 @@ public class SourceUtilities {
     public static ArrayList<String> getLines(File file, boolean fixPackage)
             throws ManualGradingError {
         try {
-            return getLines(new FileReader(file), fixPackage);
-        } catch (final FileNotFoundException e) {
+            return getLines(openReader(file), fixPackage);
+        } catch (final IOException e) {
             throw new ManualGradingError(e.getMessage());
         }
     }
 
+
+    /**
+     * Opens a file for reading, whether it's on disk or inside an archive. Like a
+     * FileReader, this decodes using the platform's default charset.
+     *
+     * @param file (File) the file to open.
+     * @return (Reader) a reader over the file's contents.
+     * @throws IOException thrown if the file cannot be opened.
+     */
+    public static Reader openReader(File file) throws IOException {
+        InputStream stream = (file instanceof ArchivedFile)
+                ? new ByteArrayInputStream(((ArchivedFile) file).getContents())
+                : Files.newInputStream(file.toPath());
+
+        return new InputStreamReader(stream, Charset.defaultCharset());
+    }
+
     /**
      *
      * @param file
@@ -278,6 +304,25 @@ public class SourceUtilities {
                 continue;
             }
 
+            /**
+             * Comments that open and close on the same line are cut out first;
+             * otherwise, everything after them would be treated as a comment.
+             */
+            while (containsSyntacticElement(line, "/*")) {
+                int start = line.indexOf("/*"),
+                    end   = line.indexOf("*/", start + 2);
+
+                if (end < 0) {
+                    break;
+                }
+
+                line = line.substring(0, start) + " " + line.substring(end + 2);
+            }
+
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
             /**
              * We use the containsSyntacticElement() method to avoid potential trickery
              * that can be done by putting /* inside a string literal, as demonstrated
@@ -335,6 +380,151 @@ public class SourceUtilities {
     }
 
 
+    /**
+     * Reduces a source file to just its code: comments and blank lines are removed, and
+     * whitespace outside of string and character literals is dropped, except for the
+     * single spaces needed to keep words (or operators, like '- -') apart. Two files
+     * that only differ in comments, indentation or spacing normalize to the same
+     * string.
+     *
+     * @param file (File) the source file.
+     * @return (String) the normalized source.
+     *
+     * @throws ManualGradingError thrown if the file cannot be read.
+     */
+    public static String normalize(File file) throws ManualGradingError {
+        StringBuilder normalized = new StringBuilder();
+        char last = ' ';
+        boolean spaced = false;
+
+        for (String line : getSource(file, false, false)) {
+            boolean inString = false, inChar = false;
+
+            for (int i = 0; i < line.length(); ++i) {
+                char ch = line.charAt(i);
+
+                if (inString || inChar) {
+                    normalized.append(ch);
+
+                    if (ch == '\\' && i + 1 < line.length()) {
+                        normalized.append(line.charAt(++i));
+                    } else if ((inString && ch == '"') || (inChar && ch == '\'')) {
+                        inString = inChar = false;
+                    }
+
+                    last = ch;
+                    continue;
+                }
+
+                if (Character.isWhitespace(ch)) {
+                    spaced = true;
+                    continue;
+                }
+
+                if (spaced && joins(last, ch)) {
+                    normalized.append(' ');
+                }
+
+                inString = ch == '"';
+                inChar = ch == '\'';
+                spaced = false;
+
+                normalized.append(ch);
+                last = ch;
+            }
+
+            spaced = true;
+        }
+
+        return normalized.toString();
+    }
+
+
+    /**
+     * Splits a source file into tokens for comparing the structure of submissions.
+     * Comments, imports and the package declaration are left out, and every token that
+     * could be changed without changing the program's structure is replaced by its kind:
+     * names (other than keywords) become "$id", number literals "$num", string literals
+     * "$str" and character literals "$chr". Operators and punctuation are kept, one
+     * character per token.
+     *
+     * @param file (File) the source file.
+     * @return (ArrayList<String>) the tokens.
+     *
+     * @throws ManualGradingError thrown if the file cannot be read.
+     */
+    public static ArrayList<String> tokenize(File file) throws ManualGradingError {
+        ArrayList<String> tokens = new ArrayList<>();
+
+        for (String line : getSource(file, true, false)) {
+            int i = 0;
+
+            while (i < line.length()) {
+                char ch = line.charAt(i);
+
+                if (Character.isWhitespace(ch)) {
+                    ++i;
+                }
+
+                else if (Character.isJavaIdentifierStart(ch)) {
+                    int end = i + 1;
+                    while (end < line.length()
+                            && Character.isJavaIdentifierPart(line.charAt(end))) {
+                        ++end;
+                    }
+
+                    String word = line.substring(i, end);
+                    tokens.add(KEYWORDS.contains(word) ? word : "$id");
+                    i = end;
+                }
+
+                else if (Character.isDigit(ch)) {
+                    int end = i + 1;
+                    while (end < line.length()
+                            && (Character.isLetterOrDigit(line.charAt(end))
+                                || line.charAt(end) == '.'
+                                || line.charAt(end) == '_')) {
+                        ++end;
+                    }
+
+                    tokens.add("$num");
+                    i = end;
+                }
+
+                else if (ch == '"' || ch == '\'') {
+                    int end = i + 1;
+                    while (end < line.length() && line.charAt(end) != ch) {
+                        end += line.charAt(end) == '\\' ? 2 : 1;
+                    }
+
+                    tokens.add(ch == '"' ? "$str" : "$chr");
+                    i = end + 1;
+                }
+
+                else {
+                    tokens.add(String.valueOf(ch));
+                    ++i;
+                }
+            }
+        }
+
+        return tokens;
+    }
+
+
+    /**
+     * Determines whether two characters would run together into a different token if
+     * the whitespace between them were removed.
+     */
+    private static boolean joins(char before, char after) {
+        String operators = "+-*/%&|^!~<>=?:";
+
+        return (Character.isJavaIdentifierPart(before)
+                    && Character.isJavaIdentifierPart(after))
+            || (operators.indexOf(before) >= 0 && operators.indexOf(after) >= 0);
+    }
+
+
     /**
      *
      * @param file
@@ -27,6 +27,8 @@
 package grader.stepthrough;
 
 import grader.frontend.Channel;
+import grader.jfr.OutputCaptured;
+import grader.metrics.Metrics;
 
 import java.io.OutputStream;
 import java.io.PrintStream;
@@ -68,6 +70,11 @@ public class CaptivePrintStream
     }
 
     public void stopCollecting(boolean dump) {
+        if (collect) {
+            OutputCaptured.emit(storedContent);
+            Metrics.captured(storedContent);
+        }
+
         if (dump) {
             dump();
         }
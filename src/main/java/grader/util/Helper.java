@@ -30,6 +30,8 @@ package grader.util;
 import grader.frontend.Color;
 import grader.frontend.CommandHandler;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 /**
@@ -515,6 +517,26 @@ public final class Helper {
     }
 
 
+    /**
+     * Computes the SHA-256 hash of the given data.
+     *
+     * @param data (byte[]...) the data to hash, in order.
+     * @return (byte[]) the 32-byte hash.
+     */
+    public static byte[] sha256(byte[]... data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] chunk : data) {
+                digest.update(chunk);
+            }
+
+            return digest.digest();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is unavailable", e);
+        }
+    }
+
+
     /**
      *
      * @param a
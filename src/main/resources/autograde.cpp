@@ -24,32 +24,515 @@
  * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
  * IN THE SOFTWARE.
  */
+#include <arpa/inet.h>
+#include <cerrno>
+#include <csignal>
+#include <cstdint>
+#include <cstdio>
 #include <cstdlib>
-#include <stdlib.h>
+#include <cstring>
+#include <climits>
+#include <poll.h>
+#include <pwd.h>
 #include <string>
+#include <sys/ioctl.h>
+#include <sys/socket.h>
+#include <sys/stat.h>
+#include <sys/un.h>
+#include <unistd.h>
+#include <vector>
 
 using namespace std;
 
 /**
- * Joins an array of strings (char **) together.
+ * Remaps the clunky 'java -jar AutoGrade.jar [args...]' to the very clean and easy
+ * 'autograde [args...]'.
+ *
+ * If an AutoGrade daemon is running ('autograde --daemon'), the run is handed to it
+ * over a Unix domain socket instead, which skips starting a JVM. The wire format is
+ * described in grader/daemon/Connection.java. If no daemon answers, or it's busy with
+ * another run, AutoGrade is started the usual way.
+ *
+ * When AutoGrade is started the usual way, the class-data-sharing archive that the
+ * build leaves next to the jar (AutoGrade.jsa; see cds.sh) is used if it fits.
+ */
+
+static const uint32_t MAGIC = 0x41473032;
+
+/**
+ * The environment variables that the daemon is told about; see Daemon.getenv().
+ */
+static const char * const FORWARDED[] = { "COLUMNS", "LINES", "TERM" };
+
+/**
+ * How many times we've been interrupted (by Ctrl-C, say) while the daemon was running.
+ */
+static volatile sig_atomic_t interrupts = 0;
+
+
+/**
+ * Where the daemon listens. This must match Daemon.defaultSocket().
+ */
+string socketPath() {
+    const char * override = getenv("AUTOGRADE_SOCKET");
+    if (override != NULL && *override != '\0') {
+        return override;
+    }
+
+    const char * base = getenv("XDG_RUNTIME_DIR");
+    if (base == NULL || *base == '\0') {
+        base = getenv("TMPDIR");
+    }
+
+    string directory = (base != NULL && *base != '\0') ? base : "/tmp";
+    if (directory[directory.size() - 1] != '/') {
+        directory += '/';
+    }
+
+    const char * user = getenv("USER");
+    if (user == NULL || *user == '\0') {
+        struct passwd * entry = getpwuid(getuid());
+        user = entry != NULL ? entry->pw_name : "unknown";
+    }
+
+    return directory + "autograde-" + user + "/daemon.sock";
+}
+
+
+/**
+ * Whether the socket at the given path can be trusted to be our daemon's: it has to be
+ * a socket of ours, in a directory of ours that nobody else can get into. Otherwise,
+ * somebody else's "daemon" could be handed our arguments and input, and could print
+ * whatever it likes.
+ */
+bool trustworthy(const string & path) {
+    size_t slash = path.find_last_of('/');
+    string directory = slash == string::npos ? "."
+                     : slash == 0            ? "/"
+                     : path.substr(0, slash);
+
+    struct stat info;
+    if (lstat(directory.c_str(), &info) != 0 || !S_ISDIR(info.st_mode)
+            || info.st_uid != getuid() || (info.st_mode & 077) != 0) {
+        return false;
+    }
+
+    return lstat(path.c_str(), &info) == 0 && S_ISSOCK(info.st_mode)
+           && info.st_uid == getuid();
+}
+
+
+/**
+ * The canonical form of a path, or an empty string if it doesn't exist.
+ */
+string canonical(const string & path) {
+    char resolved[PATH_MAX];
+    return realpath(path.c_str(), resolved) != NULL ? resolved : "";
+}
+
+
+/**
+ * The home directory of the Java that execvp() will find on the PATH, or an empty
+ * string if there isn't one.
+ */
+string javaHome() {
+    const char * path = getenv("PATH");
+    string entries = path != NULL ? path : "";
+
+    size_t start = 0;
+    while (start <= entries.size()) {
+        size_t end = entries.find(':', start);
+        if (end == string::npos) {
+            end = entries.size();
+        }
+
+        string directory = entries.substr(start, end - start);
+        string java = (directory.empty() ? "." : directory) + "/java";
+        if (access(java.c_str(), X_OK) == 0) {
+            string binary = canonical(java);
+            const string suffix = "/bin/java";
+            if (binary.size() > suffix.size()
+                    && binary.compare(binary.size() - suffix.size(), suffix.size(),
+                                      suffix) == 0) {
+                return binary.substr(0, binary.size() - suffix.size());
+            }
+
+            return "";
+        }
+
+        start = end + 1;
+    }
+
+    return "";
+}
+
+
+/**
+ * Finds the class-data-sharing archive for the given jar (its canonical path). The
+ * archive is only any good if it was made from this jar, at this path, by the same
+ * Java that's about to run, all of which cds.sh writes down in AutoGrade.jsa.info.
+ * Java checks all that again itself, but only after starting and with a warning.
+ *
+ * Returns an empty string if there's no usable archive.
+ */
+string sharedArchive(const string & jar) {
+    const string extension = ".jar";
+    if (jar.size() <= extension.size()
+            || jar.compare(jar.size() - extension.size(), extension.size(),
+                           extension) != 0) {
+        return "";
+    }
+
+    string archive = jar.substr(0, jar.size() - extension.size()) + ".jsa";
+    struct stat jarStat, archiveStat;
+    if (stat(jar.c_str(), &jarStat) != 0 || stat(archive.c_str(), &archiveStat) != 0
+            || archiveStat.st_mtime < jarStat.st_mtime) {
+        return "";
+    }
+
+    FILE * info = fopen((archive + ".info").c_str(), "r");
+    if (info == NULL) {
+        return "";
+    }
+
+    string home, madeFrom;
+    char line[PATH_MAX + 32];
+    while (fgets(line, sizeof line, info) != NULL) {
+        string entry = line;
+        entry.erase(entry.find_last_not_of("\r\n") + 1);
+
+        if (entry.compare(0, 10, "java.home=") == 0) {
+            home = entry.substr(10);
+        } else if (entry.compare(0, 4, "jar=") == 0) {
+            madeFrom = entry.substr(4);
+        }
+    }
+
+    fclose(info);
+
+    if (madeFrom != jar || home.empty() || canonical(home) != javaHome()) {
+        return "";
+    }
+
+    return archive;
+}
+
+
+/**
+ * Starts AutoGrade in a JVM of its own. Only returns if Java can't be started.
+ */
+int runJava(int argc, char ** argv) {
+    const char * override = getenv("AUTOGRADE_JAR");
+    string jar = override != NULL && *override != '\0' ? override : "AutoGrade.jar";
+
+    /**
+     * The archive only matches the jar's path exactly as it was archived, so the jar
+     * has to be given by its canonical path when the archive is used.
+     */
+    string archive, archiveOption;
+    string canonicalJar = canonical(jar);
+    if (!canonicalJar.empty()) {
+        archive = sharedArchive(canonicalJar);
+    }
+
+    vector<char *> command;
+    command.push_back((char *) "java");
+    if (!archive.empty()) {
+        archiveOption = "-XX:SharedArchiveFile=" + archive;
+        jar = canonicalJar;
+
+        command.push_back((char *) archiveOption.c_str());
+        command.push_back((char *) "-Xshare:auto");
+        command.push_back((char *) "-Xlog:cds=off");
+        command.push_back((char *) "-Xlog:cds+dynamic=off");
+    }
+
+    command.push_back((char *) "-jar");
+    command.push_back((char *) jar.c_str());
+
+    for (int i = 1; i < argc; ++i) {
+        command.push_back(argv[i]);
+    }
+
+    command.push_back(NULL);
+    signal(SIGPIPE, SIG_DFL);
+    execvp("java", command.data());
+
+    perror("autograde: could not start java");
+    return 127;
+}
+
+
+bool writeFully(int fd, const void * data, size_t length) {
+    const char * bytes = (const char *) data;
+    while (length > 0) {
+        ssize_t written = write(fd, bytes, length);
+        if (written < 0) {
+            if (errno == EINTR) {
+                continue;
+            }
+
+            return false;
+        }
+
+        bytes += written;
+        length -= written;
+    }
+
+    return true;
+}
+
+
+bool readFully(int fd, void * data, size_t length) {
+    char * bytes = (char *) data;
+    while (length > 0) {
+        ssize_t got = read(fd, bytes, length);
+        if (got < 0 && errno == EINTR) {
+            continue;
+        }
+
+        if (got <= 0) {
+            return false;
+        }
+
+        bytes += got;
+        length -= got;
+    }
+
+    return true;
+}
+
+
+void appendInt(string & buffer, uint32_t value) {
+    uint32_t big = htonl(value);
+    buffer.append((const char *) &big, 4);
+}
+
+
+void appendString(string & buffer, const string & value) {
+    appendInt(buffer, (uint32_t) value.size());
+    buffer.append(value);
+}
+
+
+/**
+ * Reads one frame from the daemon.
  */
-string join(int argc, char ** argv) {
-    string result("");
+bool readFrame(int fd, char & type, string & data) {
+    char header[5];
+    if (!readFully(fd, header, 5)) {
+        return false;
+    }
+
+    uint32_t length;
+    memcpy(&length, header + 1, 4);
+    length = ntohl(length);
+
+    type = header[0];
+    data.resize(length);
+    return length == 0 || readFully(fd, &data[0], length);
+}
+
+
+/**
+ * Connects to the daemon, if one is listening.
+ *
+ * @return the socket, or -1 if there's no daemon.
+ */
+int connectToDaemon() {
+    string path = socketPath();
+
+    struct sockaddr_un address;
+    memset(&address, 0, sizeof(address));
+    address.sun_family = AF_UNIX;
+    if (path.size() >= sizeof(address.sun_path) || !trustworthy(path)) {
+        return -1;
+    }
+
+    strncpy(address.sun_path, path.c_str(), sizeof(address.sun_path) - 1);
+
+    int fd = socket(AF_UNIX, SOCK_STREAM, 0);
+    if (fd < 0) {
+        return -1;
+    }
 
-    for (int i = 0; i < argc; ++i) {
-    	result.append(" ").append(argv[i]);
+    if (connect(fd, (struct sockaddr *) &address, sizeof(address)) < 0) {
+        close(fd);
+        return -1;
     }
 
-    return result;
+    return fd;
+}
+
+
+void interrupted(int) {
+    interrupts = interrupts + 1;
 }
 
 
 /**
- * Quick and dirty way to remap the clunky 'java -jar AutoGrade.jar [args...]' to the
- * very clean and easy 'autograde [args...]'.
+ * Hands the run over to the daemon: sends the request, then forwards standard input
+ * and prints what comes back until the daemon sends the exit status.
+ *
+ * @return the exit status, or -1 if the daemon turned the run down.
  */
+int runInDaemon(int fd, int argc, char ** argv) {
+    char cwd[4096];
+    if (getcwd(cwd, sizeof(cwd)) == NULL) {
+        return -1;
+    }
+
+    string request;
+    appendInt(request, MAGIC);
+    appendInt(request, (uint32_t) argc);
+    appendString(request, cwd);
+    for (int i = 1; i < argc; ++i) {
+        appendString(request, argv[i]);
+    }
+
+    /**
+     * Most shells don't export COLUMNS and LINES, and the daemon can't see our
+     * terminal, so its size is sent in their place.
+     */
+    vector<string> environment;
+    struct winsize size;
+    bool measured = false;
+    for (int stream : { STDOUT_FILENO, STDERR_FILENO, STDIN_FILENO }) {
+        if (!measured && ioctl(stream, TIOCGWINSZ, &size) == 0 && size.ws_col > 0) {
+            measured = true;
+        }
+    }
+
+    for (const char * name : FORWARDED) {
+        const char * value = getenv(name);
+        if (value != NULL) {
+            environment.push_back(string(name) + "=" + value);
+        } else if (measured && strcmp(name, "COLUMNS") == 0) {
+            environment.push_back("COLUMNS=" + to_string(size.ws_col));
+        } else if (measured && strcmp(name, "LINES") == 0) {
+            environment.push_back("LINES=" + to_string(size.ws_row));
+        }
+    }
+
+    appendInt(request, (uint32_t) environment.size());
+    for (const string & variable : environment) {
+        appendString(request, variable);
+    }
+
+    char type;
+    string data;
+    if (!writeFully(fd, request.data(), request.size())
+            || !readFrame(fd, type, data) || type != 'A') {
+        return -1;
+    }
+
+    /**
+     * Ctrl-C asks the daemon to stop the run, and a second one stops waiting for it.
+     * poll() has to be woken up by the signal, so it mustn't be restarted.
+     */
+    struct sigaction action;
+    memset(&action, 0, sizeof(action));
+    action.sa_handler = interrupted;
+    sigemptyset(&action.sa_mask);
+    sigaction(SIGINT, &action, NULL);
+
+    bool inputOpen = true, cancelled = false;
+    while (true) {
+        if (interrupts > 0 && !cancelled) {
+            const char cancel[5] = { 'C', 0, 0, 0, 0 };
+            if (!writeFully(fd, cancel, 5)) {
+                break;
+            }
+
+            cancelled = true;
+        }
+
+        if (interrupts > 1) {
+            fprintf(stderr, "\nautograde: stopped waiting for the daemon\n");
+            return 130;
+        }
+
+        struct pollfd watched[2];
+        watched[0].fd = fd;
+        watched[0].events = POLLIN;
+        watched[1].fd = STDIN_FILENO;
+        watched[1].events = POLLIN;
+
+        if (poll(watched, inputOpen ? 2 : 1, -1) < 0) {
+            if (errno == EINTR) {
+                continue;
+            }
+
+            break;
+        }
+
+        if (inputOpen && (watched[1].revents & (POLLIN | POLLHUP | POLLERR))) {
+            char buffer[4096];
+            ssize_t got = read(STDIN_FILENO, buffer + 5, sizeof(buffer) - 5);
+            if (got < 0 && errno == EINTR) {
+                continue;
+            }
+
+            /**
+             * An empty frame tells the daemon that input has run out.
+             */
+            uint32_t length = htonl(got > 0 ? (uint32_t) got : 0);
+            buffer[0] = 'I';
+            memcpy(buffer + 1, &length, 4);
+            if (!writeFully(fd, buffer, 5 + (got > 0 ? got : 0))) {
+                break;
+            }
+
+            inputOpen = got > 0;
+        }
+
+        if (watched[0].revents & (POLLIN | POLLHUP | POLLERR)) {
+            if (!readFrame(fd, type, data)) {
+                break;
+            }
+
+            if (type == 'O') {
+                writeFully(STDOUT_FILENO, data.data(), data.size());
+            } else if (type == 'E') {
+                writeFully(STDERR_FILENO, data.data(), data.size());
+            } else if (type == 'X' && data.size() == 4) {
+                uint32_t status;
+                memcpy(&status, data.data(), 4);
+                return (int) ntohl(status);
+            }
+        }
+    }
+
+    fprintf(stderr, "autograde: lost the connection to the daemon\n");
+    return 1;
+}
+
+
 int main(int argc, char ** argv) {
-	const char * command = string("java -jar AutoGrade.jar")
-	                       .append(join(argc - 1, argv + 1)).c_str();
-	return system(command);
-}
\ No newline at end of file
+    /**
+     * The daemon itself always needs a JVM of its own.
+     */
+    bool daemon = false;
+    for (int i = 1; i < argc; ++i) {
+        daemon = daemon || strcmp(argv[i], "--daemon") == 0;
+    }
+
+    if (!daemon) {
+        /**
+         * A busy daemon hangs up right away, which mustn't kill us mid-request.
+         */
+        signal(SIGPIPE, SIG_IGN);
+
+        int fd = connectToDaemon();
+        if (fd >= 0) {
+            int status = runInDaemon(fd, argc, argv);
+            close(fd);
+
+            if (status >= 0) {
+                return status;
+            }
+        }
+    }
+
+    return runJava(argc, argv);
+}
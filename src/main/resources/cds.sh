@@ -0,0 +1,52 @@
+#!/bin/sh
+#
+# This file is part of AutoGrade, licensed under the MIT License (MIT).
+#
+# Builds AutoGrade.jsa, an application class-data-sharing (AppCDS) archive, next to
+# AutoGrade.jar. The archive holds every class a grading session loads (AutoGrade's own,
+# javac's and the JDK's) already parsed and verified, so that later runs can map them
+# in instead of loading them one by one. It's made by grading the cohort in training/
+# once with -XX:ArchiveClassesAtExit, which needs Java 13 or later.
+#
+# An archive only works with the JDK that made it, and only for the jar at the path it
+# was made with, so AutoGrade.jsa.info records both. The 'autograde' launcher checks
+# them before using the archive; rerun this after moving the jar or changing JDKs.
+#
+#     sh cds.sh [path/to/AutoGrade.jar]
+#
+# Both the makefile and 'mvn package' run this.
+#
+
+here=$(cd "$(dirname "$0")" && pwd -P)
+jar=${1:-AutoGrade.jar}
+
+if [ ! -f "$jar" ]; then
+    echo "cds.sh: $jar doesn't exist; build it first." >&2
+    exit 1
+fi
+
+# The archive remembers the jar's path exactly, so use its canonical one.
+jar="$(cd "$(dirname "$jar")" && pwd -P)/$(basename "$jar")"
+archive="${jar%.jar}.jsa"
+home=$(java -XshowSettings:properties -version 2>&1 | sed -n 's/^ *java.home = //p')
+
+rm -f "$archive" "$archive.info"
+
+# Grade a copy, since AutoGrade leaves grades.txt and its saved results behind.
+work=$(mktemp -d "${TMPDIR:-/tmp}/autograde-cds.XXXXXX")
+trap 'rm -rf "$work"' EXIT
+cp -R "$here/training/." "$work"
+
+(cd "$work" && java -XX:ArchiveClassesAtExit="$archive" -jar "$jar" \
+     TrainingScript.java submissions --auto-quit --no-color --no-help \
+     --no-warnings > training.log 2>&1)
+
+if [ ! -f "$archive" ]; then
+    echo "cds.sh: no archive was made (this needs Java 13 or later); AutoGrade will" \
+         "just start a little slower." >&2
+    sed 's/^/    /' "$work/training.log" >&2
+    exit 0
+fi
+
+printf 'java.home=%s\njar=%s\n' "$home" "$jar" > "$archive.info"
+echo "Wrote $archive ($(( $(wc -c < "$archive") / 1048576 )) MB)."
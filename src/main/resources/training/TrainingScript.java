@@ -0,0 +1,122 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.backend.TestCase;
+import grader.backend.TestSuite;
+import grader.stepthrough.ExecutionInspector;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The grading script for the training session that cds.sh runs at build time. The
+ * session is only there to load the classes a typical run needs, so that they can be
+ * archived; its grades are thrown away. It uses the same parts of AutoGrade that most
+ * scripts do: compiling itself, reflective calls, an exception, a submission that
+ * doesn't compile, and stepping through main().
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class TrainingScript implements TestSuite {
+
+    @Override
+    public boolean fileBelongs(File file) {
+        return file.getName().endsWith(".java");
+    }
+
+
+    @Override
+    public boolean fileBelongsToStudent(File file) {
+        return file.getName().endsWith("Calculator.java");
+    }
+
+
+    @Override
+    public List<TestCase> listTestCases() {
+        return Arrays.asList(
+            TestCase.named("add")
+                    .describeAs("add(2, 3) should return 5.")
+                    .worth(20)
+                    .withInputs(2, 3)
+                    .concurrent()
+                    .checks(c -> Integer.valueOf(5).equals(
+                            c.call(null, Integer.class, "add", 2, 3))),
+
+            TestCase.named("factorial")
+                    .describeAs("factorial(5) should return 120.")
+                    .worth(20)
+                    .withInputs(5)
+                    .concurrent()
+                    .checks(c -> Integer.valueOf(120).equals(
+                            c.call(null, Integer.class, "factorial", 5))),
+
+            TestCase.named("factorial-zero")
+                    .describeAs("factorial(0) should return 1.")
+                    .worth(20)
+                    .withInputs(0)
+                    .concurrent()
+                    .checks(c -> Integer.valueOf(1).equals(
+                            c.call(null, Integer.class, "factorial", 0))),
+
+            TestCase.named("reverse")
+                    .describeAs("reverse(\"grader\") should return \"redarg\".")
+                    .worth(20)
+                    .withInputs("grader")
+                    .concurrent()
+                    .checks(c -> "redarg".equals(
+                            c.call(null, String.class, "reverse", "grader"))),
+
+            TestCase.named("main")
+                    .describeAs("Entering 5 should print 5! = 120.")
+                    .worth(20)
+                    .withInputs("5")
+                    .exclusive()
+                    .checks(c -> {
+                        InputStream in = System.in;
+                        PrintStream out = System.out;
+                        ExecutionInspector inspector = new ExecutionInspector(
+                                c.getSubject(), Collections.singletonList("5"));
+
+                        try {
+                            inspector.run();
+                        } finally {
+                            System.setIn(in);
+                            System.setOut(out);
+                        }
+
+                        return inspector.getOutputCapture().peek().contains("120");
+                    })
+        );
+    }
+
+}
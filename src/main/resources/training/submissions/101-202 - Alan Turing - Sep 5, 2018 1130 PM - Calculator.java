@@ -0,0 +1,35 @@
+/*
+ * Calculator.java
+ * CSCI 1301 Project 2
+ */
+import java.util.Scanner;
+
+public class Calculator {
+
+    // Adds two numbers.
+    public static Integer add(Integer a, Integer b) {
+        return a - b;
+    }
+
+    // Computes n!
+    public static Integer factorial(Integer n) {
+        int result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+
+    // Reverses a string.
+    public static String reverse(String text) {
+        return new StringBuilder(text).reverse().toString();
+    }
+
+    public static void main(String[] args) {
+        Scanner in = new Scanner(System.in);
+        System.out.print("Enter a number: ");
+        int n = in.nextInt();
+        System.out.println(n + "! = " + factorial(n));
+    }
+
+}
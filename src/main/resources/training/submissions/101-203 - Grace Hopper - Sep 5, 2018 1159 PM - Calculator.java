@@ -0,0 +1,36 @@
+/*
+ * Calculator.java
+ * CSCI 1301 Project 2
+ */
+import java.util.Scanner;
+
+public class Calculator {
+
+    // Adds two numbers.
+    public static Integer add(Integer a, Integer b) {
+        return a + b;
+    }
+
+    // Computes n!
+    public static Integer factorial(Integer n) {
+        int[] products = new int[n];
+        products[0] = 1;
+        for (int i = 1; i < n; ++i) {
+            products[i] = products[i - 1] * (i + 1);
+        }
+        return products[n - 1];
+    }
+
+    // Reverses a string.
+    public static String reverse(String text) {
+        return new StringBuilder(text).reverse().toString();
+    }
+
+    public static void main(String[] args) {
+        Scanner in = new Scanner(System.in);
+        System.out.print("Enter a number: ");
+        int n = in.nextInt();
+        System.out.println(n + "! = " + factorial(n));
+    }
+
+}
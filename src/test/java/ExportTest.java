@@ -0,0 +1,102 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.AutoGrade;
+import grader.backend.ELCSubmission;
+import grader.backend.Feedback;
+import grader.backend.Student;
+import grader.frontend.ResultExporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class ExportTest {
+
+    public static void main(String[] args) throws IOException {
+        ArrayList<Student> students = new ArrayList<>();
+
+        String[] names = { "Ada Lovelace", "Grace Brewster Hopper", "Alan Turing" };
+        for (int i = 0; i < names.length; ++i) {
+            File file = new File("1234-" + i + " - " + names[i]
+                    + " - Sep 4, 2018 1012 PM - Main.java");
+            Student student = new Student(new ELCSubmission(file));
+
+            if (i < 2) {
+                Feedback feedback = new Feedback("Tests");
+                feedback.deductPoints(7.5, "Missed the \"empty\" case, again");
+                feedback.setSource("Style");
+                feedback.addNote("Nice comments");
+                student.setScore(feedback);
+            }
+
+            students.add(student);
+        }
+
+        Path directory = Files.createTempDirectory("export");
+        Path text = directory.resolve("grades.txt");
+        Path csv = directory.resolve("grades.csv");
+
+        /**
+         * Censoring is for the screen; the exports should still have real names.
+         */
+        AutoGrade.CENSOR = true;
+        new ResultExporter().exportToFile(text, students);
+        new ResultExporter().asCSV(true).gradeItem("Lab 3").exportToFile(csv, students);
+        AutoGrade.CENSOR = false;
+
+        System.out.println(new String(Files.readAllBytes(text), "UTF-8"));
+        System.out.println(new String(Files.readAllBytes(csv), "UTF-8"));
+
+        try {
+            new ResultExporter().exportToFile(text, students);
+            System.out.println("Expected the second export to be refused!");
+        } catch (final IOException e) {
+            System.out.println("Refused to overwrite: " + e.getMessage());
+        }
+
+        new ResultExporter().gradesOnly(true).overwrite(true)
+                            .exportToFile(text, students);
+        System.out.println("Overwritten:\n"
+                           + new String(Files.readAllBytes(text), "UTF-8"));
+        System.out.println(Files.exists(directory.resolve("grades.txt.tmp"))
+                           + " (expected no temporary file left behind: false)");
+
+        new ResultExporter().withSourceNames(false)
+                            .exportToDirectory(directory.resolve("separate"), students);
+        System.out.println(Files.list(directory.resolve("separate")).count()
+                           + " separate files (expected 3)");
+    }
+
+}
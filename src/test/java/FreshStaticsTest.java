@@ -0,0 +1,98 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.backend.TestCase;
+import grader.reflect.InternalClassLoader;
+import grader.reflect.InternalCompiler;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class FreshStaticsTest {
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("fresh");
+        File source = directory.resolve("Counter.java").toFile();
+        Files.writeString(source.toPath(), "public class Counter {\n"
+                + "    private static int count = 0;\n"
+                + "    static class Helper {\n"
+                + "        static int twice(int n) { return 2 * n; }\n"
+                + "    }\n"
+                + "    public static Integer next() { return Helper.twice(++count); }\n"
+                + "}\n");
+
+        Class<?> counter = InternalCompiler.compile(source);
+        next(counter);
+        next(counter);
+        System.out.println("Shared class after two calls: " + next(counter)
+                           + " (expected 6)");
+
+        /**
+         * Asking the same loader for the class again must not define it twice.
+         */
+        Class<?> again = counter.getClassLoader().loadClass("Counter");
+        System.out.println("Same class from the same loader: " + (again == counter)
+                           + " (expected true)");
+
+        Class<?> fresh = InternalClassLoader.freshCopy(counter);
+        System.out.println("Fresh copy, first call: " + next(fresh) + " (expected 2)");
+        System.out.println("Original is untouched: " + next(counter) + " (expected 8)");
+
+        int copies = 1000;
+        long start = System.nanoTime();
+        for (int i = 0; i < copies; ++i) {
+            next(InternalClassLoader.freshCopy(counter));
+        }
+
+        long micros = (System.nanoTime() - start) / 1000 / copies;
+        System.out.println("Average fresh copy and call: " + micros + " us");
+
+        /**
+         * Tests share the student's statics only when they run one at a time, which
+         * they do unless they ask not to.
+         */
+        TestCase plain = TestCase.named("plain");
+        TestCase concurrent = TestCase.named("concurrent").concurrent();
+        System.out.println("Plain test runs alone, with shared statics: "
+                           + (plain.isExclusive() && !plain.wantsFreshStatics())
+                           + " (expected true)");
+        System.out.println("Concurrent test gets fresh statics: "
+                           + concurrent.wantsFreshStatics() + " (expected true)");
+    }
+
+
+    private static int next(Class<?> counter) throws Exception {
+        return (Integer) counter.getMethod("next").invoke(null);
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.AutoGrade;
+import grader.backend.ELCSubmission;
+import grader.backend.Feedback;
+import grader.backend.GradeTable;
+import grader.backend.Student;
+import grader.frontend.SortOrder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.BitSet;
+
+/**
+ * @author  Sahir Shahryar
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class GradeTableTest {
+
+    public static void main(String[] args) {
+        String[] names = { "Ada Lovelace", "Alan Turing", "Grace Hopper", "Edsger Dijkstra" };
+        double[] grades = { 92.5, 92.4, 100.0, -1 };
+
+        for (int i = 0; i < names.length; ++i) {
+            File file = new File("1234-" + i + " - " + names[i]
+                    + " - Sep 4, 2018 1012 PM - Main.java");
+            Student student = new Student(new ELCSubmission(file));
+            AutoGrade.enroll(student);
+
+            if (grades[i] >= 0) {
+                Feedback feedback = new Feedback("GradeTableTest");
+                feedback.assignGrade(grades[i]);
+                student.setScore(feedback);
+            }
+        }
+
+        GradeTable table = AutoGrade.accessGradeTable();
+
+        for (SortOrder order : SortOrder.values()) {
+            ArrayList<String> sorted = new ArrayList<>();
+            for (Student student : order.sort(table.everyone())) {
+                sorted.add(student.getTrueName());
+            }
+
+            System.out.println(order + ": " + sorted);
+        }
+
+        BitSet above = table.above(92.45, false);
+        System.out.println(">92.45: " + above + " (expected {0, 2})");
+        System.out.println("<=92.4: " + table.below(92.4, true) + " (expected {1})");
+        System.out.println("=100: " + table.equalTo(100.0) + " (expected {2})");
+        System.out.println("@complete: " + table.complete() + " (expected {0, 1, 2})");
+        System.out.println(table.summarize(table.everyone()));
+
+        int before = table.modifications();
+        Feedback regrade = new Feedback("GradeTableTest");
+        regrade.assignGrade(50.0);
+        AutoGrade.accessRoster().get(2).setScore(regrade);
+
+        ArrayList<String> resorted = new ArrayList<>();
+        for (Student student : SortOrder.GRADE_DESC.sort(table.everyone())) {
+            resorted.add(student.getTrueName());
+        }
+
+        System.out.println("regraded: " + (table.modifications() != before) + " "
+                + resorted + " (expected true, Grace Hopper"
+                + " after Alan Turing)");
+
+        /**
+         * Enough students, with enough tied grades, for the merge passes to matter.
+         */
+        for (int i = 0; i < 300; ++i) {
+            File file = new File("1234-" + (100 + i) + " - Student " + i
+                    + " - Sep 4, 2018 1012 PM - Main.java");
+            Student student = new Student(new ELCSubmission(file));
+            AutoGrade.enroll(student);
+
+            Feedback feedback = new Feedback("GradeTableTest");
+            feedback.assignGrade((i * 37) % 11);
+            student.setScore(feedback);
+        }
+
+        ArrayList<Student> roster = AutoGrade.accessRoster();
+        int[] byGrade = table.byGrade();
+        boolean ordered = byGrade.length == table.graded().cardinality();
+        for (int i = 1; i < byGrade.length; ++i) {
+            double previous = roster.get(byGrade[i - 1]).getFeedback().getGrade();
+            double current = roster.get(byGrade[i]).getFeedback().getGrade();
+            ordered &= previous < current
+                       || (previous == current && byGrade[i - 1] < byGrade[i]);
+        }
+
+        System.out.println("303 graded students in grade order, ties by index: "
+                           + ordered + " (expected true)");
+    }
+
+}
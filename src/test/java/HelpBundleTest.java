@@ -0,0 +1,85 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.AutoGrade;
+import grader.articles.ArticleManager;
+
+import java.io.File;
+
+/**
+ * Checks that the help articles loaded from help.bundle read the same as the ones
+ * parsed straight from help.txt. Run it with target/classes (where the build puts the
+ * bundle) on the class path, from the top-level folder.
+ *
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class HelpBundleTest {
+
+    public static void main(String[] args) {
+        String[] names = {
+            "delete", "deselect", "exit", "export", "file", "help", "list", "run", "save",
+            "select", "similar", "sort", "stats", "view"
+        };
+
+        for (boolean colors : new boolean[] { true, false }) {
+            AutoGrade.reset();
+            AutoGrade.SHOW_COLORS = colors;
+
+            ArticleManager bundled = AutoGrade.getArticles();
+            ArticleManager parsed = new ArticleManager();
+            parsed.addFile(new File("src/main/resources/help.txt"), false);
+
+            int same = 0;
+            for (String name : names) {
+                String expected = render(parsed, name);
+                if (expected.equals(render(bundled, name))) {
+                    ++same;
+                } else {
+                    System.out.println("'" + name + "' differs (colors " + colors + ")");
+                }
+            }
+
+            System.out.println("Colors " + colors + ": " + same + " of " + names.length
+                               + " articles match (expected " + names.length + ")");
+        }
+    }
+
+
+    /**
+     * Some articles refer to maps that don't exist (yet), which is an error either way.
+     */
+    private static String render(ArticleManager articles, String name) {
+        try {
+            return articles.getElement("ARTICLE:" + name);
+        } catch (final IllegalArgumentException e) {
+            return "Error: " + e.getMessage();
+        }
+    }
+
+}
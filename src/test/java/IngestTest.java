@@ -0,0 +1,157 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.backend.ArchivedFile;
+import grader.backend.ELCSubmission;
+import grader.backend.Feedback;
+import grader.backend.Script;
+import grader.backend.Student;
+import grader.backend.SubmissionIngester;
+import grader.reflect.InternalCompiler;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class IngestTest {
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("ingest");
+        String[] files = {
+            "1234-1 - Ada Lovelace - Sep 4, 2018 1012 PM - Main.java",
+            "1234-2 - Ada Lovelace - Sep 4, 2018 912 AM - Main.java",
+            "1234-3 - Ada Lovelace - Sep 5, 2018 108 am - Main.java",
+            "1234-4 - Ada Lovelace - Sep 4, 2018 1012 PM - Helper.java",
+            "1234-5 - Alan Turing - Dec 12, 2018 1159 PM - Main.java",
+            "Notes.java",
+        };
+
+        for (String file : files) {
+            Files.createFile(directory.resolve(file));
+        }
+
+        SubmissionIngester ingester = new SubmissionIngester(JAVA_FILES).ingest(directory);
+
+        for (Student student : ingester.getStudents()) {
+            System.out.print(student.getTrueName() + ":");
+            for (ELCSubmission submission : student.getSubmissions()) {
+                System.out.print(" " + submission.getFileName() + " @ "
+                                 + submission.getTimestamp());
+            }
+
+            System.out.println();
+        }
+
+        System.out.println(ingester.getSupersededCount() + " superseded (expected 2)");
+        System.out.println(ingester.getUnassociatedFiles().size()
+                           + " unassociated (expected 1)");
+
+        File zip = directory.resolve("submissions.zip").toFile();
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("index.html"));
+            out.putNextEntry(new ZipEntry(files[0]));
+            out.write(("public class Greeter {\n"
+                       + "    public static String greet() { return \"hi\"; }\n"
+                       + "}\n").getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        SubmissionIngester archived = new SubmissionIngester(JAVA_FILES);
+        try (FileSystem archive = archived.ingestArchive(zip)) {
+            Student student = archived.getStudents().iterator().next();
+            File file = student.getSubmissions().get(0).getFile();
+
+            System.out.println(student.getTrueName() + " from archive: "
+                               + (file instanceof ArchivedFile) + ", "
+                               + Files.exists(archive.getPath(files[0]))
+                               + " (expected true, true)");
+
+            Class<?> greeter = InternalCompiler.compile(file);
+            System.out.println(greeter.getSimpleName() + ".greet() = "
+                               + greeter.getMethod("greet").invoke(null)
+                               + " (expected hi)");
+
+            /**
+             * Scripts read and compile archived files where they are.
+             */
+            try (Scanner scanner = new Scanner(student.openSubmission("Main.java"))) {
+                System.out.println("Scanner read: " + scanner.nextLine()
+                                   + " (expected public class Greeter {)");
+            }
+
+            File submission = student.getSubmission("Main.java");
+            greeter = InternalCompiler.compile(submission);
+            System.out.println(greeter.getSimpleName() + ".greet() = "
+                               + greeter.getMethod("greet").invoke(null)
+                               + " from archive: " + (submission instanceof ArchivedFile)
+                               + " (expected hi from archive: true)");
+
+            /**
+             * Only editors get a copy on disk, and it's gone once the student is let go.
+             */
+            File copy = ArchivedFile.onDisk(submission);
+            boolean copied = copy.isFile();
+            student.release();
+            System.out.println("Editor copy made: " + copied + ", deleted on release: "
+                               + !copy.getParentFile().exists()
+                               + " (expected true, true)");
+
+            student.saveSubmissions();
+            student.deleteSubmissions();
+            System.out.println("Saved copy extracted: "
+                               + new File(directory.toFile(), "submissions/" + files[0])
+                                         .exists());
+        }
+    }
+
+
+    private static final Script JAVA_FILES = new Script() {
+        public boolean fileBelongs(File f) {
+            return f.getName().endsWith(".java") || f.getName().endsWith(".html");
+        }
+
+        public boolean fileBelongsToStudent(File f) {
+            return f.getName().endsWith(".java");
+        }
+
+        public Feedback gradeSubmission(Student student) {
+            return null;
+        }
+    };
+
+}
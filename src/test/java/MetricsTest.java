@@ -0,0 +1,82 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.AutoGrade;
+import grader.metrics.Metrics;
+
+/**
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class MetricsTest {
+
+    public static void main(String[] args) throws Exception {
+        /**
+         * Nothing is counted until metrics are turned on.
+         */
+        Metrics.timeout();
+        System.out.println("Timeouts while off: " + Metrics.getTimeouts()
+                           + " (expected 0)");
+
+        AutoGrade.METRICS = true;
+
+        /**
+         * Count from several threads at once; nothing should go missing.
+         */
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100_000; ++j) {
+                    Metrics.timeout();
+                    Metrics.exception(new ArithmeticException());
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.println("Timeouts: " + Metrics.getTimeouts() + " (expected 800000)");
+        System.out.println("Exceptions: " + Metrics.getExceptions()
+                           + " (expected {java.lang.ArithmeticException=800000})");
+
+        /**
+         * "é" is two bytes in UTF-8, and the emoji is four.
+         */
+        Metrics.captured("abcé😀");
+        System.out.println("Captured bytes: " + Metrics.getCapturedBytes()
+                           + " (expected 9)");
+
+        Metrics.exception(new Error() { });
+        System.out.println();
+        System.out.println(Metrics.toPrometheus());
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.AutoGrade;
+import grader.backend.Feedback;
+import grader.backend.Oracle;
+import grader.reflect.ScriptStaples;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class OracleTest {
+
+    public static Integer square(Integer n) {
+        return n * n;
+    }
+
+    public static Integer wrongSquare(Integer n) {
+        return n + n;
+    }
+
+    public static double area(double width, double height) {
+        return width * height;
+    }
+
+    public static String describe(Object value) {
+        return "an object";
+    }
+
+    public static String describe(String value) {
+        return "a string";
+    }
+
+
+    public static void main(String[] args) throws Exception {
+        AutoGrade.WORKING_DIRECTORY = Files.createTempDirectory("oracle").toFile();
+
+        AtomicInteger calls = new AtomicInteger();
+        Oracle oracle = Oracle.of("square", in -> {
+            calls.incrementAndGet();
+            return (Integer) in[0] * (Integer) in[0];
+        }).persisted();
+
+        /**
+         * 600 "students" asking about the same 10 inputs from 8 threads at once.
+         */
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int student = 0; student < 600; ++student) {
+            int n = student % 10;
+            pool.submit(() -> oracle.expect(n));
+        }
+
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        System.out.println("Reference ran " + calls.get() + " times (expected 10)");
+
+        Oracle.saveAll();
+        calls.set(0);
+
+        Oracle reloaded = Oracle.of("square", in -> {
+            calls.incrementAndGet();
+            return (Integer) in[0] * (Integer) in[0];
+        }).persisted();
+        System.out.println("After reloading, 7 squared is " + reloaded.expect(7)
+                           + " with " + calls.get() + " reference runs (expected 49, 0)");
+
+        Oracle edited = Oracle.of("square", in -> -1).revision(2).persisted();
+        System.out.println("A new revision recomputes: " + edited.expect(7)
+                           + " (expected -1)");
+
+        Oracle reference = Oracle.of(OracleTest.class, "square");
+        Feedback feedback = new Feedback("Tests");
+        ScriptStaples.compareValues(feedback, 5, "square() is wrong (%ERROR%).",
+                reference, OracleTest.class, null, "square", 4);
+        ScriptStaples.compareValues(feedback, 5, "wrongSquare() is wrong (%ERROR%).",
+                reference, OracleTest.class, null, "wrongSquare", 4);
+        System.out.println("Grade " + feedback.getGrade() + ", notes "
+                           + feedback.getNotes("Tests"));
+        System.out.println("(expected 95.0 with one note: expected = 16, actual = 8)");
+
+        Oracle area = Oracle.of(OracleTest.class, "area");
+        Oracle describe = Oracle.of(OracleTest.class, "describe");
+        System.out.println("Primitive parameters: " + area.expect(3.0, 4.0)
+                           + "; overloads: " + describe.expect("x") + ", "
+                           + describe.expect(1) + ", " + describe.expect((Object) null)
+                           + " (expected 12.0; a string, an object, a string)");
+
+        /**
+         * One student's test mangling its answer mustn't change anyone else's.
+         */
+        Oracle list = Oracle.of("list", in -> new ArrayList<>(Arrays.asList(1, 2)))
+                            .persisted();
+        List<?> mangled = list.expect(List.class);
+        mangled.clear();
+        System.out.println("Answer after a caller cleared it: " + list.expect(List.class)
+                           + " (expected [1, 2])");
+
+        Oracle unsaveable = Oracle.of("unsaveable",
+                in -> new ArrayList<>(Arrays.asList(new Object()))).persisted();
+        unsaveable.expect();
+        Oracle.saveAll();
+
+        File[] leftovers = AutoGrade.stateDirectory().listFiles(
+                (directory, name) -> name.endsWith(".tmp"));
+        System.out.println("Temporary files left behind: " + leftovers.length
+                           + " (expected 0)");
+
+        /**
+         * The daemon forgets one session's oracles before the next one saves its own.
+         */
+        Oracle.of("forgotten", in -> 1).persisted().expect();
+        Oracle.forgetAll();
+        Oracle.saveAll();
+        System.out.println("Forgotten oracle saved: "
+                           + new File(AutoGrade.stateDirectory(), "oracle-forgotten.bin")
+                                     .exists()
+                           + " (expected false)");
+    }
+
+}
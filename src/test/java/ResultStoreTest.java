@@ -0,0 +1,113 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.backend.ELCSubmission;
+import grader.backend.Feedback;
+import grader.backend.ManualGradingError;
+import grader.backend.ResultStore;
+import grader.backend.Student;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+
+/**
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class ResultStoreTest {
+
+    public static void main(String[] args) throws Exception {
+        ArrayList<Student> students = new ArrayList<>();
+
+        String[] names = { "Ada Lovelace", "Alan Turing" };
+        for (int i = 0; i < names.length; ++i) {
+            students.add(new Student(new ELCSubmission(new File("1234-" + i + " - "
+                    + names[i] + " - Sep 4, 2018 1012 PM - Main.java"))));
+        }
+
+        Feedback feedback = new Feedback("Tests");
+        feedback.deductPoints(5, "Off by one");
+        feedback.setSource("Style");
+        feedback.addNote("Tidy");
+        students.get(0).setScore(feedback);
+        students.get(1).appendException(new ManualGradingError("Did not compile"));
+
+        Path file = Files.createTempDirectory("store").resolve("results.bin");
+        ResultStore store = new ResultStore(file);
+        store.rewrite(students);
+
+        /**
+         * A later record for the same student replaces the earlier one.
+         */
+        Feedback regrade = new Feedback("Tests");
+        regrade.assignGrade(88);
+        students.get(1).appendException(null);
+        students.get(1).setScore(regrade);
+        store.append(Collections.singletonList(students.get(1)), true);
+
+        print(store.load(File::new));
+        System.out.println("(expected Ada 95.0 with 2 sources, Alan 88.0, no errors)");
+
+        /**
+         * Chop the last record in half, as if AutoGrade died while writing it.
+         */
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.setLength(raw.length() - 10);
+        }
+
+        print(store.load(File::new));
+        System.out.println("(expected Alan back to his error)");
+
+        /**
+         * Deleted submissions don't take their results with them.
+         */
+        print(store.load(name -> null));
+        System.out.println("missing: " + store.getMissingSubmissions()
+                           + " (expected both, still with their results)");
+    }
+
+
+    private static void print(LinkedHashMap<String, Student> students) {
+        for (Student student : students.values()) {
+            Feedback feedback = student.getFeedback();
+            Throwable error = student.getError();
+
+            System.out.println(student.getTrueName() + ": "
+                    + (feedback == null ? "-" : feedback.getGrade() + " "
+                                                + feedback.getAllSources())
+                    + (error == null ? "" : " error=" + error.getMessage())
+                    + " saved=" + student.isSaved());
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.backend.TestCase;
+import grader.backend.TestMemo;
+import grader.reflect.CheckSource;
+import grader.reflect.InternalCompiler;
+import grader.util.Helper;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class TestMemoTest {
+
+    public static void main(String[] args) throws Exception {
+        TestCase add = TestCase.named("add").describeAs("add() is wrong.").worth(5)
+                               .withInputs(2, 3, 5);
+        TestCase edited = TestCase.named("add").describeAs("add() is wrong.").worth(5)
+                                  .withInputs(2, 3, 5).revision(1);
+
+        System.out.println("Same definition, same hash: "
+                + Arrays.equals(add.hash(), TestCase.named("add")
+                        .describeAs("add() is wrong.").worth(5).withInputs(2, 3, 5)
+                        .hash()) + " (expected true)");
+        System.out.println("New revision, new hash: "
+                + !Arrays.equals(add.hash(), edited.hash()) + " (expected true)");
+
+        byte[] ada = new byte[32], alan = new byte[32];
+        alan[0] = 1;
+
+        Path file = Files.createTempDirectory("memo").resolve("tests.bin");
+        TestMemo memo = new TestMemo(file);
+        memo.remember(add.hash(), ada, new TestCase.Outcome(true, null));
+        memo.remember(add.hash(), alan, new TestCase.Outcome(false, "add() is wrong."));
+        memo.close();
+
+        /**
+         * A half-written record at the end is ignored, and cut off by the next write.
+         */
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(raw.length());
+            raw.writeInt(1000);
+        }
+
+        TestMemo reloaded = new TestMemo(file);
+        print("Ada", reloaded.recall(add.hash(), ada));
+        print("Alan", reloaded.recall(add.hash(), alan));
+        print("Ada, edited test", reloaded.recall(edited.hash(), ada));
+        reloaded.remember(edited.hash(), ada, new TestCase.Outcome(true, null));
+        reloaded.close();
+
+        TestMemo again = new TestMemo(file);
+        print("Ada, edited test", again.recall(edited.hash(), ada));
+        System.out.println("Reused " + again.getReusedCount() + " (expected 1)");
+        System.out.println("(expected Ada passed, Alan failed, edited test missing " +
+                "then passed)");
+
+        /**
+         * A timeout may just mean the machine was busy, so it's never remembered.
+         */
+        byte[] grace = new byte[32];
+        grace[0] = 2;
+
+        again.remember(add.hash(), grace, new TestCase.Outcome(false,
+                "add() is wrong. (your program loops infinitely)", true));
+        print("Timed out", again.recall(add.hash(), grace));
+        print("Alan", again.recall(add.hash(), alan));
+        System.out.println("(expected timed out not run, Alan still failed)");
+        again.close();
+
+        editOneTest();
+    }
+
+
+    /**
+     * Editing one test's check, and adding another test above it, leaves the results
+     * of the untouched test memoised.
+     */
+    private static void editOneTest() throws Exception {
+        String before = "import grader.backend.TestCase;\n"
+                + "import java.util.Arrays;\n"
+                + "import java.util.List;\n"
+                + "public class Suite {\n"
+                + "    public static List<TestCase> tests() {\n"
+                + "        return Arrays.asList(\n"
+                + "%s"
+                + "            TestCase.named(\"add\").worth(5)\n"
+                + "                    .checks(c -> c.getSubject() != null),\n"
+                + "            TestCase.named(\"sub\").worth(5)\n"
+                + "                    .checks(c -> {\n"
+                + "                        return %s;\n"
+                + "                    }));\n"
+                + "    }\n"
+                + "}\n";
+
+        List<TestCase> original = load(String.format(before, "", "true"));
+        List<TestCase> edited = load(String.format(before,
+                "            TestCase.named(\"mul\").worth(5)\n"
+                + "                    .checks(c -> false),\n", "false"));
+
+        byte[] ada = new byte[32];
+        TestMemo memo = new TestMemo(null);
+        for (TestCase test : original) {
+            memo.remember(key(test), ada, new TestCase.Outcome(true, null));
+        }
+
+        for (TestCase test : edited) {
+            print(test.getId() + ", after editing sub", memo.recall(key(test), ada));
+        }
+
+        System.out.println("(expected mul not run, add passed, sub not run)");
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static List<TestCase> load(String code) throws Exception {
+        File source = Files.createTempDirectory("suite").resolve("Suite.java").toFile();
+        Files.writeString(source.toPath(), code);
+
+        Class<?> suite = InternalCompiler.compile(source);
+        CheckSource.register(suite, source);
+        return (List<TestCase>) suite.getMethod("tests").invoke(null);
+    }
+
+
+    /**
+     * The part of TestRunner's key that depends on the test itself.
+     */
+    private static byte[] key(TestCase test) {
+        return Helper.sha256(CheckSource.hash(test.getCheck()), test.hash());
+    }
+
+
+    private static void print(String label, TestCase.Outcome outcome) {
+        if (outcome == null) {
+            System.out.println(label + ": not run");
+        } else if (outcome.passed()) {
+            System.out.println(label + ": passed");
+        } else {
+            System.out.println(label + ": failed (" + outcome.getNote() + ")");
+        }
+    }
+
+}
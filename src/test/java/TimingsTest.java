@@ -0,0 +1,79 @@
+/*
+ * This file is part of AutoGrade, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Sahir Shahryar <https://github.com/sahirshahryar>
+ *                              <sahirshahryar@uga.edu>
+ *
+ * Designed for use by the Computer Science Department at the University of Georgia,
+ * but free of proprietary technologies and solutions to class assignments.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+import grader.backend.Timings;
+
+/**
+ * @author  Sahir Shahryar <sahirshahryar@uga.edu>
+ * @since   Monday, October 19, 2026
+ * @version 1.0.0
+ */
+public class TimingsTest {
+
+    public static void main(String[] args) throws Exception {
+        Timings.Histogram histogram = Timings.get(Timings.Phase.TEST_METHOD);
+        Timings.reset();
+
+        /**
+         * 1..1000 microseconds, so p50 is about 500 us and p95 about 950 us.
+         */
+        for (long micros = 1; micros <= 1000; ++micros) {
+            histogram.add(micros * 1000);
+        }
+
+        long p50 = histogram.getPercentile(0.5), p95 = histogram.getPercentile(0.95);
+        System.out.println("Count: " + histogram.getCount() + " (expected 1000)");
+        System.out.println("p50: " + Timings.format(p50) + " (expected about 0.50 ms)"
+                           + (Math.abs(p50 - 500_000) <= 500_000 / 16 ? "" : " WRONG"));
+        System.out.println("p95: " + Timings.format(p95) + " (expected about 0.95 ms)"
+                           + (Math.abs(p95 - 950_000) <= 950_000 / 16 ? "" : " WRONG"));
+        System.out.println("Max: " + Timings.format(histogram.getMax())
+                           + " (expected 1.00 ms)");
+
+        /**
+         * Hammer one histogram from several threads; no samples should go missing.
+         */
+        Timings.reset();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100_000; ++j) {
+                    Timings.record(Timings.Phase.TEST_METHOD, Timings.start());
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.println("Concurrent count: " + histogram.getCount()
+                           + " (expected 800000)");
+    }
+
+}